@@ -0,0 +1,123 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.config.SecurityConfig;
+import com.cardboardgarden.entity.User;
+import com.cardboardgarden.repository.UserRepository;
+import com.cardboardgarden.service.AuthService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication costs paid per request or per login: issuing and verifying a JWT with
+ * {@link AuthService} (HS512), and BCrypt hashing with the encoder from {@link SecurityConfig}.
+ *
+ * BCrypt is deliberately slow, so its scores are in milliseconds; a login pays one matches().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthBenchmark {
+    
+    /** 64 bytes, the minimum key size for HS512 */
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-sec";
+    
+    private static final String PASSWORD = "correct horse battery staple";
+    
+    private AuthService authService;
+    private BCryptPasswordEncoder passwordEncoder;
+    private User user;
+    private String token;
+    private String passwordHash;
+    
+    @Setup
+    public void setUp() {
+        user = user();
+        authService = authService(user);
+        token = authService.generateToken(user);
+        passwordEncoder = new SecurityConfig().passwordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+    
+    @Benchmark
+    public String issueToken() {
+        return authService.generateToken(user);
+    }
+    
+    /**
+     * Verification as JwtAuthenticationFilter does it: one verified parse, subject from its claims
+     */
+    @Benchmark
+    public String verifyToken() {
+        Claims claims = authService.parseToken(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String bcryptEncode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+    
+    /**
+     * An active, verified user
+     */
+    static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@cardboard.garden");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setIsActive(true);
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return user;
+    }
+    
+    /**
+     * AuthService wired like the application, with a user repository that only knows one user
+     */
+    static AuthService authService(User user) {
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsernameOrEmail")) {
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        AuthService authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", users);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", new SecurityConfig().passwordEncoder());
+        ReflectionTestUtils.setField(authService, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(authService, "jwtExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(authService, "meterRegistry", new SimpleMeterRegistry());
+        authService.init();
+        return authService;
+    }
+}
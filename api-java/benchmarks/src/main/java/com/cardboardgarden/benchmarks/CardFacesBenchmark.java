@@ -0,0 +1,85 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.catalog.CardFace;
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting a card's faces: parsing the card_faces JSON (per card at snapshot build time,
+ * or per request if a caller parsed it itself) versus reading the snapshot's face table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardFacesBenchmark {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Card> faced = new ArrayList<>();
+    private final List<Integer> ordinals = new ArrayList<>();
+    private CatalogSnapshotBuilder builder;
+    private CatalogSnapshot snapshot;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        List<Card> cards = SyntheticCards.generate(10_000, 42);
+        CatalogSnapshotBuilder catalog = new CatalogSnapshotBuilder();
+        cards.forEach(catalog::add);
+        snapshot = catalog.build(1);
+        for (Card card : cards) {
+            if (card.getCardFaces() != null) {
+                faced.add(card);
+                ordinals.add(snapshot.ordinalOf(card.getId()));
+            }
+        }
+        builder = new CatalogSnapshotBuilder();
+    }
+    
+    /**
+     * Generic tree parse, what re-parsing card_faces on every request would cost
+     */
+    @Benchmark
+    public JsonNode parseTree() throws Exception {
+        return objectMapper.readTree(nextCard().getCardFaces());
+    }
+    
+    /**
+     * Parse into faces as the snapshot builder does once per catalog version
+     */
+    @Benchmark
+    public CatalogSnapshotBuilder parseFaces() {
+        Card card = nextCard();
+        return builder.addFaces(card.getId(), card.getCardFaces());
+    }
+    
+    @Benchmark
+    public List<CardFace> faceTable() {
+        next = (next + 1) % ordinals.size();
+        return snapshot.getFaces(ordinals.get(next));
+    }
+    
+    private Card nextCard() {
+        next = (next + 1) % faced.size();
+        return faced.get(next);
+    }
+}
@@ -0,0 +1,117 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.dto.CardEnvelope;
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.protobuf.CardProtobufCodec;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a card page in each response format (JSON, CBOR, Smile, Protobuf).
+ * Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardFormatBenchmark {
+    
+    @Param({"100"})
+    public int pageSize;
+    
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private CardEnvelope envelope;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+    private byte[] smileBytes;
+    private byte[] protobufBytes;
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PageBody {
+        public boolean success;
+        public List<Card> cards;
+    }
+    
+    @Setup
+    public void setUp() throws Exception {
+        json = SyntheticCards.applicationObjectMapper();
+        cbor = SyntheticCards.applicationObjectMapper(new CBORFactory());
+        smile = SyntheticCards.applicationObjectMapper(new SmileFactory());
+        envelope = CardEnvelope.success()
+                .with("cards", SyntheticCards.generate(pageSize, 7))
+                .with("totalElements", 90_000L)
+                .with("totalPages", 90_000 / pageSize)
+                .with("currentPage", 0)
+                .with("pageSize", pageSize);
+        
+        jsonBytes = encodeJson();
+        cborBytes = encodeCbor();
+        smileBytes = encodeSmile();
+        protobufBytes = encodeProtobuf();
+        System.out.printf("%nPayload bytes for %d cards: json=%d cbor=%d smile=%d protobuf=%d%n",
+                pageSize, jsonBytes.length, cborBytes.length, smileBytes.length, protobufBytes.length);
+    }
+    
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return json.writeValueAsBytes(envelope);
+    }
+    
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cbor.writeValueAsBytes(envelope);
+    }
+    
+    @Benchmark
+    public byte[] encodeSmile() throws Exception {
+        return smile.writeValueAsBytes(envelope);
+    }
+    
+    @Benchmark
+    public byte[] encodeProtobuf() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        CardProtobufCodec.writeEnvelope(envelope, out);
+        return out.toByteArray();
+    }
+    
+    @Benchmark
+    public List<Card> decodeJson() throws Exception {
+        return json.readValue(jsonBytes, PageBody.class).cards;
+    }
+    
+    @Benchmark
+    public List<Card> decodeCbor() throws Exception {
+        return cbor.readValue(cborBytes, PageBody.class).cards;
+    }
+    
+    @Benchmark
+    public List<Card> decodeSmile() throws Exception {
+        return smile.readValue(smileBytes, PageBody.class).cards;
+    }
+    
+    @Benchmark
+    public List<Card> decodeProtobuf() throws Exception {
+        return CardProtobufCodec.readCards(protobufBytes);
+    }
+}
@@ -0,0 +1,111 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.dto.CardEnvelope;
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.cardjson.CardJsonEnvelope;
+import com.cardboardgarden.service.cardjson.CardJsonSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request serialization cost of card responses: live Jackson (what CardController used to do)
+ * versus assembling the body from the pre-rendered {@link CardJsonSnapshot}.
+ *
+ * Run with -prof gc to see allocation per request as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardSerializationBenchmark {
+    
+    @Param({"20"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private List<Card> cards;
+    private CardJsonSnapshot snapshot;
+    private int next;
+    
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = SyntheticCards.applicationObjectMapper();
+        writer = objectMapper.writer();
+        cards = SyntheticCards.generate(10_000, 42);
+        snapshot = CardJsonSnapshot.build(1, cards.iterator(), writer, true, card -> { });
+    }
+    
+    @Benchmark
+    public byte[] detailJackson() throws Exception {
+        Card card = nextCard();
+        return objectMapper.writeValueAsBytes(CardEnvelope.success().with("card", card));
+    }
+    
+    @Benchmark
+    public byte[] detailPreRendered() {
+        Card card = nextCard();
+        return CardJsonEnvelope.card(snapshot.getJson(card.getId()));
+    }
+    
+    @Benchmark
+    public byte[] detailPreRenderedGzip() {
+        return snapshot.getDetailGzip(nextCard().getId());
+    }
+    
+    @Benchmark
+    public byte[] pageJackson() throws Exception {
+        List<Card> page = nextPage();
+        // Same envelope, keys and order as CardController.cardsResponse
+        return objectMapper.writeValueAsBytes(CardEnvelope.success()
+                .with("cards", page)
+                .with("totalElements", 10_000L)
+                .with("totalPages", 10_000 / pageSize)
+                .with("currentPage", 3)
+                .with("pageSize", pageSize));
+    }
+    
+    @Benchmark
+    public byte[] pagePreRendered() throws Exception {
+        List<Card> page = nextPage();
+        List<byte[]> rendered = new ArrayList<>(page.size());
+        for (Card card : page) {
+            rendered.add(snapshot.getJson(card.getId()));
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("totalElements", 10_000L);
+        fields.put("totalPages", 10_000 / pageSize);
+        fields.put("currentPage", 3);
+        fields.put("pageSize", pageSize);
+        return CardJsonEnvelope.cards(rendered, fields, writer);
+    }
+    
+    private Card nextCard() {
+        next = (next + 7919) % cards.size();
+        return cards.get(next);
+    }
+    
+    private List<Card> nextPage() {
+        next = (next + 7919) % (cards.size() - pageSize);
+        return cards.subList(next, next + pageSize);
+    }
+}
@@ -0,0 +1,522 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic generator for a production-shaped database: cards, users, collection and card_prices.
+ *
+ * Printings are drawn from a pool of unique oracle cards with a Zipf distribution, so staples are
+ * reprinted dozens of times under the same name and oracle_id while most cards have one or two
+ * printings. Sets mix small promo/commander products, regular expansions and large core or masters
+ * sets; about 4% of oracle cards are double-faced. The same seed and volumes always give the same rows.
+ *
+ * Loads into an embedded database (see {@link PerformanceSuite}) or, through {@link #main}, into an
+ * empty local MySQL schema:
+ * {@code java -cp target/benchmarks.jar com.cardboardgarden.benchmarks.CatalogDataGenerator jdbc:mysql://localhost:3306/cardboard_garden root password 1}
+ */
+public final class CatalogDataGenerator {
+    
+    /** Password of every generated user */
+    public static final String PASSWORD = "password123";
+    
+    private static final int GAME_ID = 2;
+    private static final int CONDITIONS = 7;
+    private static final double NAME_SKEW = 1.1;
+    private static final double COLLECTION_SKEW = 0.9;
+    private static final int BATCH_SIZE = 1000;
+    
+    private static final String[] RARITIES = {"common", "uncommon", "rare", "mythic"};
+    private static final int[] RARITY_WEIGHTS = {50, 30, 16, 4};
+    private static final String[] TYPES = {
+        "Creature — Human Wizard", "Creature — Elf Druid", "Creature — Dragon", "Creature — Zombie",
+        "Legendary Creature — Angel", "Instant", "Sorcery", "Artifact", "Artifact — Equipment",
+        "Enchantment", "Enchantment — Aura", "Land", "Basic Land — Forest", "Planeswalker — Jace"
+    };
+    private static final String[] FIRST = {
+        "Ancient", "Storm", "Grove", "Shadow", "Ember", "Tidal", "Garden", "Oracle", "Warden", "Blight",
+        "Sky", "Iron", "Verdant", "Hollow", "Crown", "Relic", "Spire", "Mire", "Dawn", "Thorn",
+        "Ashen", "Gilded", "Feral", "Silent", "Molten", "Frost", "Sunlit", "Grim", "Wild", "Arcane",
+        "Bone", "Crystal", "Dread", "Elder", "Glimmer", "Howling", "Lunar", "Rune", "Vault", "Wicked"
+    };
+    private static final String[] SECOND = {
+        "Sentinel", "Harbinger", "Colossus", "Familiar", "Invoker", "Reclaimer", "Tactician", "Wurm", "Seer", "Drake",
+        "Bloom", "Rebuke", "Charm", "Ritual", "Command", "Tutor", "Signet", "Totem", "Hydra", "Knight",
+        "Sphinx", "Revenant", "Archivist", "Marauder", "Shepherd", "Trickster", "Behemoth", "Acolyte", "Mystic", "Reaver",
+        "Bulwark", "Lantern", "Lullaby", "Obelisk", "Pact", "Rampart", "Sanctum", "Tome", "Vigil", "Wisp"
+    };
+    private static final String[] PLACES = {
+        "", " of the Mire", " of the Spire", " of Dawn", " of the Deep", " of Ruin", " of the Wilds", " of Embers",
+        " of the Vault", " of the Grove", " of Thorns", " of the Tides", " of the Crown", " of Ash", " of Frost",
+        " of the Hollow", " of Storms", " of Bones", " of the Moon", " of Runes"
+    };
+    
+    private final long seed;
+    private final Volumes volumes;
+    
+    public CatalogDataGenerator(long seed, Volumes volumes) {
+        this.seed = seed;
+        this.volumes = volumes;
+    }
+    
+    /**
+     * Row counts to generate
+     *
+     * @param cards             printings in the cards table
+     * @param users             active, verified users
+     * @param collectionPerUser mean collection rows per user (actual counts are skewed)
+     * @param priceDays         days of card_prices history per card, ending today
+     */
+    public record Volumes(int cards, int users, int collectionPerUser, int priceDays) {
+        
+        /**
+         * Production-sized volumes times a scale factor (1 = production, 10 = ten times production)
+         */
+        public static Volumes production(double scale) {
+            return new Volumes((int) (90_000 * scale), (int) (2_000 * scale), 150, 30);
+        }
+        
+        public Volumes withPriceDays(int days) {
+            return new Volumes(cards, users, collectionPerUser, days);
+        }
+    }
+    
+    /**
+     * Rows written by {@link #load(JdbcTemplate)}
+     */
+    public record Summary(int cards, int oracleCards, int sets, int users, long collectionEntries, long prices) {
+    }
+    
+    /**
+     * Printings with ids 1..cards, grouped into sets in release order
+     */
+    public List<Card> cards() {
+        Random random = new Random(seed);
+        int oracleCount = Math.max(1, volumes.cards() / 3);
+        String[] oracleIds = new String[oracleCount];
+        for (int i = 0; i < oracleCount; i++) {
+            oracleIds[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        
+        // Every oracle card is printed once; the remaining printings are Zipf-distributed reprints
+        ZipfSampler reprints = new ZipfSampler(oracleCount, NAME_SKEW);
+        int[] oracles = new int[volumes.cards()];
+        for (int i = 0; i < oracles.length; i++) {
+            oracles[i] = i < oracleCount ? i : reprints.sample(random);
+        }
+        shuffle(random, oracles);
+        
+        List<Card> cards = new ArrayList<>(volumes.cards());
+        LocalDateTime firstRelease = LocalDateTime.of(1993, 8, 5, 0, 0);
+        int set = 0;
+        while (cards.size() < volumes.cards()) {
+            int size = Math.min(setSize(random), volumes.cards() - cards.size());
+            String setCode = setCode(set);
+            LocalDateTime released = firstRelease.plusDays(set * 11L);
+            
+            for (int number = 1; number <= size; number++) {
+                int oracle = oracles[cards.size()];
+                Card card = printing(random, oracle, oracleIds[oracle]);
+                card.setId((long) cards.size() + 1);
+                card.setSetCode(setCode);
+                card.setSetName("Generated Set " + set);
+                card.setCollectorNumber(String.valueOf(number));
+                card.setReleasedAt(released);
+                card.setCreatedAt(released);
+                card.setUpdatedAt(released);
+                card.setScryfallUri("https://scryfall.com/card/" + setCode + "/" + number);
+                cards.add(card);
+            }
+            set++;
+        }
+        return cards;
+    }
+    
+    /**
+     * Insert every table; the target tables must be empty
+     */
+    public Summary load(JdbcTemplate jdbcTemplate) {
+        List<Card> cards = cards();
+        insertCards(jdbcTemplate, cards);
+        updateGameplay(jdbcTemplate, cards);
+        int sets = (int) cards.stream().map(Card::getSetCode).distinct().count();
+        int oracleCards = (int) cards.stream().map(Card::getOracleId).distinct().count();
+        
+        insertUsers(jdbcTemplate);
+        long collection = insertCollection(jdbcTemplate);
+        long prices = insertPrices(jdbcTemplate);
+        return new Summary(cards.size(), oracleCards, sets, volumes.users(), collection, prices);
+    }
+    
+    /**
+     * Batch insert cards with explicit ids (card_faces is passed as JSON text)
+     */
+    public static void insertCards(JdbcTemplate jdbcTemplate, List<Card> cards) {
+        String faces = isH2(jdbcTemplate) ? "? FORMAT JSON" : "?";
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO cards (id, name, mana_cost, type_line, oracle_text, flavor_text, power, toughness, " +
+            "oracle_id, set_code, set_name, collector_number, rarity, artist, image_uri_small, image_uri_normal, " +
+            "image_uri_large, scryfall_uri, released_at, created_at, updated_at, layout, card_faces) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " + faces + ")",
+            cards, BATCH_SIZE, (statement, card) -> {
+                statement.setLong(1, card.getId());
+                statement.setString(2, card.getName());
+                statement.setString(3, card.getManaCost());
+                statement.setString(4, card.getTypeLine());
+                statement.setString(5, card.getOracleText());
+                statement.setString(6, card.getFlavorText());
+                statement.setString(7, card.getPower());
+                statement.setString(8, card.getToughness());
+                statement.setString(9, card.getOracleId());
+                statement.setString(10, card.getSetCode());
+                statement.setString(11, card.getSetName());
+                statement.setString(12, card.getCollectorNumber());
+                statement.setString(13, card.getRarity());
+                statement.setString(14, card.getArtist());
+                statement.setString(15, card.getImageUriSmall());
+                statement.setString(16, card.getImageUriNormal());
+                statement.setString(17, card.getImageUriLarge());
+                statement.setString(18, card.getScryfallUri());
+                statement.setTimestamp(19, Timestamp.valueOf(card.getReleasedAt()));
+                statement.setTimestamp(20, Timestamp.valueOf(card.getCreatedAt()));
+                statement.setTimestamp(21, Timestamp.valueOf(card.getUpdatedAt()));
+                statement.setString(22, card.getLayout());
+                statement.setString(23, card.getCardFaces());
+            });
+    }
+    
+    /**
+     * Add the columns the sync script writes but the Card entity does not map (cmc, color_identity,
+     * legalities) to a cards table created from the entities; H2 only
+     */
+    public static void addGameplayColumns(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("ALTER TABLE cards ADD COLUMN IF NOT EXISTS cmc DECIMAL(10, 2)");
+        jdbcTemplate.execute("ALTER TABLE cards ADD COLUMN IF NOT EXISTS color_identity VARCHAR(64)");
+        jdbcTemplate.execute("ALTER TABLE cards ADD COLUMN IF NOT EXISTS legalities VARCHAR(2048)");
+    }
+    
+    /**
+     * Mana value and color identity from each card's mana cost, and format legalities that are
+     * the same for every printing of an oracle card
+     */
+    private static void updateGameplay(JdbcTemplate jdbcTemplate, List<Card> cards) {
+        jdbcTemplate.batchUpdate(
+            "UPDATE cards SET cmc = ?, color_identity = ?, legalities = ? WHERE id = ?",
+            cards, BATCH_SIZE, (statement, card) -> {
+                int manaValue = 0;
+                StringBuilder identity = new StringBuilder("[");
+                for (String symbol : card.getManaCost().substring(1, card.getManaCost().length() - 1).split("\\}\\{")) {
+                    if (Character.isDigit(symbol.charAt(0))) {
+                        manaValue += Integer.parseInt(symbol);
+                    } else {
+                        manaValue++;
+                        identity.append(identity.length() > 1 ? "," : "").append('"').append(symbol).append('"');
+                    }
+                }
+                statement.setBigDecimal(1, BigDecimal.valueOf(manaValue));
+                statement.setString(2, identity.append(']').toString());
+                statement.setString(3, legalities(card));
+                statement.setLong(4, card.getId());
+            });
+    }
+    
+    private static String legalities(Card card) {
+        // Newer oracle cards are legal in more of the rotating formats
+        int age = Math.floorMod(card.getOracleId().hashCode(), 100);
+        return String.format(Locale.ROOT,
+                "{\"standard\":\"%s\",\"pioneer\":\"%s\",\"modern\":\"%s\",\"legacy\":\"legal\","
+                        + "\"vintage\":\"legal\",\"commander\":\"legal\",\"pauper\":\"%s\"}",
+                legal(age < 15), legal(age < 40), legal(age < 75), legal("common".equals(card.getRarity())));
+    }
+    
+    private static String legal(boolean legal) {
+        return legal ? "legal" : "not_legal";
+    }
+    
+    private void insertUsers(JdbcTemplate jdbcTemplate) {
+        // One hash for everyone: BCrypt per user would dominate the load time
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Timestamp created = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<Integer> ids = range(volumes.users());
+        
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (id, username, email, password_hash, first_name, last_name, created_at, updated_at, " +
+            "is_active, email_verified) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            ids, BATCH_SIZE, (statement, id) -> {
+                statement.setLong(1, id);
+                statement.setString(2, username(id));
+                statement.setString(3, username(id) + "@example.test");
+                statement.setString(4, passwordHash);
+                statement.setString(5, "Generated");
+                statement.setString(6, "User " + id);
+                statement.setTimestamp(7, created);
+                statement.setTimestamp(8, created);
+                statement.setBoolean(9, true);
+                statement.setBoolean(10, true);
+            });
+    }
+    
+    private long insertCollection(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(seed + 1);
+        ZipfSampler popularity = new ZipfSampler(volumes.cards(), COLLECTION_SKEW);
+        int[] shuffled = shuffledIds(random, volumes.cards());
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long total = 0;
+        
+        for (int user = 1; user <= volumes.users(); user++) {
+            // Exponential sizes: many small collections, a few very large ones
+            int entries = (int) Math.min(volumes.collectionPerUser() * 20L,
+                    Math.round(-Math.log(1 - random.nextDouble()) * volumes.collectionPerUser()));
+            for (int i = 0; i < entries; i++) {
+                int cardId = shuffled[popularity.sample(random)];
+                BigDecimal price = random.nextInt(3) == 0 ? null
+                        : BigDecimal.valueOf(5 + random.nextInt(5000), 2);
+                batch.add(new Object[] {
+                    user, GAME_ID, cardId, 1 + random.nextInt(CONDITIONS), 1 + (random.nextInt(10) == 0 ? random.nextInt(4) : 0),
+                    price, price != null ? Date.valueOf(today.minusDays(random.nextInt(1500))) : null,
+                    random.nextInt(10) == 0, false, random.nextInt(4) == 0 ? "Binder " + (1 + random.nextInt(6)) : null
+                });
+                if (batch.size() == BATCH_SIZE) {
+                    total += flushCollection(jdbcTemplate, batch);
+                }
+            }
+        }
+        return total + flushCollection(jdbcTemplate, batch);
+    }
+    
+    private static int flushCollection(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO collection (user_id, game_id, external_card_id, condition_id, quantity, purchase_price, " +
+            "purchase_date, is_foil, is_first_edition, location, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+    
+    private long insertPrices(JdbcTemplate jdbcTemplate) {
+        if (volumes.priceDays() <= 0) {
+            return 0;
+        }
+        Random random = new Random(seed + 2);
+        LocalDate first = LocalDate.now().minusDays(volumes.priceDays() - 1);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long total = 0;
+        
+        for (int card = 1; card <= volumes.cards(); card++) {
+            // Log-normal prices: mostly bulk, with a long tail of expensive cards
+            double usd = Math.max(0.02, Math.exp(random.nextGaussian() * 1.4 - 1));
+            boolean foil = random.nextInt(10) < 3;
+            for (int day = 0; day < volumes.priceDays(); day++) {
+                usd = Math.max(0.02, usd * (1 + random.nextGaussian() * 0.02));
+                Date date = Date.valueOf(first.plusDays(day));
+                batch.add(new Object[] {card, "scryfall", "usd", cents(usd), date});
+                if (foil) {
+                    batch.add(new Object[] {card, "scryfall", "usd_foil", cents(usd * 2.5), date});
+                }
+                if (batch.size() >= BATCH_SIZE) {
+                    total += flushPrices(jdbcTemplate, batch);
+                }
+            }
+        }
+        return total + flushPrices(jdbcTemplate, batch);
+    }
+    
+    private static int flushPrices(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO card_prices (card_id, price_source, price_type, price_value, price_date, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+    
+    private Card printing(Random random, int oracle, String oracleId) {
+        // Everything that defines the oracle card comes from its own seed, so reprints agree
+        Random oracleRandom = new Random(seed * 31 + oracle);
+        Card card = new Card();
+        card.setName(oracleName(oracle));
+        card.setOracleId(oracleId);
+        card.setManaCost("{" + (1 + oracleRandom.nextInt(5)) + "}" + "{G}{U}{B}{R}{W}".substring(0, 3 * (1 + oracleRandom.nextInt(2))));
+        card.setTypeLine(TYPES[oracleRandom.nextInt(TYPES.length)]);
+        card.setOracleText("When this enters the battlefield, draw a card. "
+                + "{T}: Add one mana of any color. Flying, trample. ".repeat(1 + oracleRandom.nextInt(3)));
+        card.setPower(String.valueOf(oracleRandom.nextInt(8)));
+        card.setToughness(String.valueOf(1 + oracleRandom.nextInt(8)));
+        card.setLayout("normal");
+        
+        card.setRarity(weighted(random, RARITIES, RARITY_WEIGHTS));
+        card.setFlavorText(random.nextBoolean() ? "The garden remembers every seed it was ever given." : null);
+        card.setArtist("Artist " + random.nextInt(800));
+        String image = "https://cards.scryfall.io/normal/front/" + new UUID(random.nextLong(), random.nextLong()) + ".jpg";
+        card.setImageUriSmall(image.replace("normal", "small"));
+        card.setImageUriNormal(image);
+        card.setImageUriLarge(image.replace("normal", "large"));
+        
+        if (oracleRandom.nextInt(25) == 0) {
+            String back = FIRST[oracle % FIRST.length] + " Awakened" + PLACES[oracle % PLACES.length];
+            card.setCardFaces(SyntheticCards.cardFaces(card, back));
+            card.setName(card.getName() + " // " + back);
+            card.setLayout("transform");
+        }
+        return card;
+    }
+    
+    /**
+     * Unique name per oracle card; rank 0 is the most reprinted
+     */
+    static String oracleName(int oracle) {
+        int combinations = FIRST.length * SECOND.length * PLACES.length;
+        int index = oracle % combinations;
+        String name = FIRST[index % FIRST.length] + " " + SECOND[index / FIRST.length % SECOND.length]
+                + PLACES[index / (FIRST.length * SECOND.length)];
+        return oracle < combinations ? name : name + " " + (oracle / combinations + 1);
+    }
+    
+    /**
+     * Set sizes as released: promo and commander products, regular expansions, core and masters sets
+     */
+    private static int setSize(Random random) {
+        int kind = random.nextInt(10);
+        if (kind < 4) {
+            return 10 + random.nextInt(90);
+        }
+        if (kind < 8) {
+            return 250 + random.nextInt(60);
+        }
+        return 300 + random.nextInt(200);
+    }
+    
+    private static String setCode(int set) {
+        StringBuilder code = new StringBuilder();
+        int value = set;
+        do {
+            code.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        while (code.length() < 3) {
+            code.append('x');
+        }
+        return code.reverse().toString();
+    }
+    
+    static String username(int id) {
+        return "user" + id;
+    }
+    
+    private static <T> T weighted(Random random, T[] values, int[] weights) {
+        int total = Arrays.stream(weights).sum();
+        int pick = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+    
+    private static int[] shuffledIds(Random random, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        shuffle(random, ids);
+        return ids;
+    }
+    
+    private static void shuffle(Random random, int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+    
+    private static List<Integer> range(int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+    
+    private static BigDecimal cents(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private static boolean isH2(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("h2");
+    }
+    
+    /**
+     * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^skew
+     */
+    static final class ZipfSampler {
+        
+        private final double[] cumulative;
+        
+        ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, skew);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+        
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+    
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: CatalogDataGenerator <jdbcUrl> <user> <password> [scale=1] [seed=42]");
+            System.exit(2);
+        }
+        double scale = args.length > 3 ? Double.parseDouble(args[3]) : 1;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(args[0], args[1], args[2]));
+        
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards", Integer.class);
+        if (existing != null && existing > 0) {
+            System.err.println("The cards table already has " + existing + " rows; generate into an empty schema");
+            System.exit(1);
+        }
+        
+        long start = System.currentTimeMillis();
+        Summary summary = new CatalogDataGenerator(seed, Volumes.production(scale)).load(jdbcTemplate);
+        System.out.printf("Generated %s in %d ms%n", summary, System.currentTimeMillis() - start);
+    }
+}
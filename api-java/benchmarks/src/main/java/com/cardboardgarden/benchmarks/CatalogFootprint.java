@@ -0,0 +1,98 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Prints the heap taken by the catalog as Card entities versus as a columnar {@link CatalogSnapshot}.
+ *
+ * Strings of the generated cards are copied per card, the way rows come back from JDBC, so
+ * repeated values (rarity, set name, artist) are not shared. The snapshot holds only the columns it
+ * indexes (no image URIs or flavor text), which the report lists next to the numbers.
+ *
+ * Run with {@code java -cp target/benchmarks.jar com.cardboardgarden.benchmarks.CatalogFootprint [cards]}.
+ */
+public final class CatalogFootprint {
+    
+    private CatalogFootprint() {
+    }
+    
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 90_000;
+        
+        long baseline = usedHeap();
+        List<Card> cards = SyntheticCards.generate(count, 11);
+        cards.forEach(CatalogFootprint::unshareStrings);
+        long entityBytes = usedHeap() - baseline;
+        
+        CatalogSnapshotBuilder builder = new CatalogSnapshotBuilder();
+        cards.forEach(builder::add);
+        cards = null;
+        CatalogSnapshot snapshot = builder.build(1);
+        builder = null;
+        long snapshotBytes = usedHeap() - baseline;
+        
+        System.out.printf("Cards:                %,d%n", snapshot.size());
+        System.out.printf("Card entities (heap): %,d KB%n", entityBytes / 1024);
+        System.out.printf("Catalog snapshot:     %,d KB heap, %,d KB of buffers%n",
+                snapshotBytes / 1024, bufferBytes(snapshot) / 1024);
+        System.out.printf("Snapshot columns:     %s%n", snapshot.getColumns().keySet());
+        System.out.printf("Snapshot text/flags:  %s %s%n", snapshot.getTexts().keySet(), snapshot.getFlags().keySet());
+        System.out.printf("Dictionary sizes:     %s%n", dictionarySizes(snapshot));
+    }
+    
+    private static long bufferBytes(CatalogSnapshot snapshot) {
+        long bytes = (long) snapshot.getIds().capacity() * Long.BYTES;
+        for (var dictionary : snapshot.getDictionaries().values()) {
+            bytes += dictionary.getData().capacity() + (long) dictionary.getOffsets().capacity() * Integer.BYTES;
+        }
+        for (var column : snapshot.getColumns().values()) {
+            bytes += (long) column.capacity() * Integer.BYTES;
+        }
+        for (var text : snapshot.getTexts().values()) {
+            bytes += text.getData().capacity() + (long) text.getOffsets().capacity() * Integer.BYTES;
+        }
+        for (var flag : snapshot.getFlags().values()) {
+            bytes += (long) flag.getWords().capacity() * Long.BYTES;
+        }
+        for (var index : snapshot.getIndexes().values()) {
+            bytes += (long) (index.getStarts().capacity() + index.getOrdinals().capacity()) * Integer.BYTES;
+        }
+        return bytes;
+    }
+    
+    private static String dictionarySizes(CatalogSnapshot snapshot) {
+        StringBuilder sizes = new StringBuilder();
+        snapshot.getDictionaries().forEach((name, dictionary) ->
+                sizes.append(sizes.length() > 0 ? ", " : "").append(name).append('=').append(dictionary.size()));
+        return sizes.toString();
+    }
+    
+    private static void unshareStrings(Card card) {
+        card.setName(copy(card.getName()));
+        card.setManaCost(copy(card.getManaCost()));
+        card.setTypeLine(copy(card.getTypeLine()));
+        card.setOracleText(copy(card.getOracleText()));
+        card.setFlavorText(copy(card.getFlavorText()));
+        card.setSetCode(copy(card.getSetCode()));
+        card.setSetName(copy(card.getSetName()));
+        card.setRarity(copy(card.getRarity()));
+        card.setArtist(copy(card.getArtist()));
+        card.setLayout(copy(card.getLayout()));
+    }
+    
+    private static String copy(String value) {
+        return value != null ? new String(value.toCharArray()) : null;
+    }
+    
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,114 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotBuilder;
+import com.cardboardgarden.service.catalog.ScalarFilterKernel;
+import com.cardboardgarden.service.catalog.ScanPredicate;
+import com.cardboardgarden.service.catalog.VectorFilterKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-predicate scan over the full catalog (mana value 2-4, identity within blue-green, legal in
+ * commander, rare or mythic): Vector API kernel, scalar kernel, and the same test over Card
+ * entities. The database path is measured separately by {@link SqlSearchBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class CatalogKernelBenchmark {
+    
+    static final int CARDS = 90_000;
+    
+    private static final String[] LEGALITIES = {
+        "{\"commander\":\"legal\",\"modern\":\"legal\",\"legacy\":\"legal\"}",
+        "{\"commander\":\"legal\",\"modern\":\"not_legal\"}",
+        "{\"commander\":\"banned\",\"vintage\":\"restricted\"}",
+        "{\"standard\":\"legal\",\"commander\":\"legal\"}"
+    };
+    private static final String[] IDENTITIES = {"", "W", "U", "G", "UG", "B", "R", "WUBRG", "BR", "GW"};
+    
+    private List<Card> cards;
+    private int[] manaValues;
+    private String[] identities;
+    private String[] legalities;
+    private CatalogSnapshot snapshot;
+    private ScanPredicate predicate;
+    private final ScalarFilterKernel scalar = new ScalarFilterKernel();
+    private VectorFilterKernel vector;
+    
+    @Setup
+    public void setUp() {
+        cards = SyntheticCards.generate(CARDS, 13);
+        Random random = new Random(13);
+        manaValues = new int[CARDS];
+        identities = new String[CARDS];
+        legalities = new String[CARDS];
+        CatalogSnapshotBuilder builder = new CatalogSnapshotBuilder();
+        for (int i = 0; i < CARDS; i++) {
+            Card card = cards.get(i);
+            manaValues[i] = random.nextInt(9);
+            identities[i] = IDENTITIES[random.nextInt(IDENTITIES.length)];
+            legalities[i] = LEGALITIES[random.nextInt(LEGALITIES.length)];
+            builder.add(card).addGameplay(card.getId(), (double) manaValues[i], identities[i], legalities[i]);
+        }
+        snapshot = builder.build(1);
+        
+        int[] rarities = {
+            snapshot.getDictionary(CatalogSnapshot.RARITIES).find("rare"),
+            snapshot.getDictionary(CatalogSnapshot.RARITIES).find("mythic")
+        };
+        int excluded = 0b11111 & ~CatalogSnapshot.colorMask("UG");
+        int commander = 1 << CatalogSnapshot.FORMATS.indexOf("commander");
+        predicate = new ScanPredicate(2, 4, excluded, 0, commander, rarities);
+        vector = new VectorFilterKernel();
+        
+        if (!Arrays.equals(scalarKernel(), vectorKernel())) {
+            throw new IllegalStateException("Vector and scalar kernels disagree");
+        }
+        System.out.printf("%nMatches: %d of %d (%s)%n", entityLoop(), CARDS, vector.getName());
+    }
+    
+    @Benchmark
+    public long[] vectorKernel() {
+        return vector.scan(snapshot.getScanColumns(), snapshot.size(), predicate);
+    }
+    
+    @Benchmark
+    public long[] scalarKernel() {
+        return scalar.scan(snapshot.getScanColumns(), snapshot.size(), predicate);
+    }
+    
+    @Benchmark
+    public int entityLoop() {
+        int matches = 0;
+        for (int i = 0; i < CARDS; i++) {
+            Card card = cards.get(i);
+            String rarity = card.getRarity();
+            if (manaValues[i] >= 2 && manaValues[i] <= 4
+                    && identities[i].chars().allMatch(c -> c == 'U' || c == 'G')
+                    && legalities[i].contains("\"commander\":\"legal\"")
+                    && ("rare".equals(rarity) || "mythic".equals(rarity))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
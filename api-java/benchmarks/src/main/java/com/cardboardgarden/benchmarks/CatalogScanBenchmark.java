@@ -0,0 +1,72 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.catalog.CatalogFilter;
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-catalog filter throughput, reported in rows per second: "rarity = mythic AND type contains
+ * Dragon" (and an oracle text variant) over the columnar snapshot, compared with the same test over
+ * a list of Card entities.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(CatalogScanBenchmark.CARDS)
+public class CatalogScanBenchmark {
+    
+    static final int CARDS = 90_000;
+    
+    private List<Card> cards;
+    private CatalogSnapshot snapshot;
+    
+    @Setup
+    public void setUp() {
+        cards = SyntheticCards.generate(CARDS, 11);
+        CatalogSnapshotBuilder builder = new CatalogSnapshotBuilder();
+        cards.forEach(builder::add);
+        snapshot = builder.build(1);
+    }
+    
+    @Benchmark
+    public long[] columnarRarityAndType() {
+        return new CatalogFilter().rarity("mythic").type("Dragon").scan(snapshot);
+    }
+    
+    @Benchmark
+    public long[] columnarRarityAndText() {
+        return new CatalogFilter().rarity("mythic").text("trample").scan(snapshot);
+    }
+    
+    @Benchmark
+    public int objectsRarityAndType() {
+        int matches = 0;
+        for (Card card : cards) {
+            if ("mythic".equalsIgnoreCase(card.getRarity())
+                    && card.getTypeLine() != null
+                    && card.getTypeLine().toLowerCase(Locale.ROOT).contains("dragon")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
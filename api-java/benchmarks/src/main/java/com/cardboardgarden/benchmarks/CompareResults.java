@@ -0,0 +1,87 @@
+package com.cardboardgarden.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} (e.g. the last release and the
+ * current build) and prints one line per benchmark and parameter set: both scores, the change,
+ * and whether the change is larger than the two error margins combined.
+ *
+ * Run with {@code java -cp target/benchmarks.jar com.cardboardgarden.benchmarks.CompareResults baseline.json current.json}.
+ * The exit code is 1 when a benchmark got significantly slower, so a release script can stop on it.
+ */
+public final class CompareResults {
+    
+    private CompareResults() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> current = read(Path.of(args[1]));
+        boolean regressed = false;
+        
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Units");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue().path("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey())
+                    ? baseline.get(entry.getKey()).path("primaryMetric") : null;
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.path("score").asDouble(),
+                        "new", now.path("scoreUnit").asText());
+                continue;
+            }
+            
+            double was = before.path("score").asDouble();
+            double is = now.path("score").asDouble();
+            double change = was == 0 ? 0 : (is - was) / was * 100;
+            boolean significant = Math.abs(is - was) > error(before) + error(now);
+            // Throughput scores (ops/time) get better as they grow, average times as they shrink
+            boolean higherIsBetter = now.path("scoreUnit").asText().startsWith("ops/");
+            boolean slower = significant && (higherIsBetter ? is < was : is > was);
+            regressed |= slower;
+            
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), was, is, change,
+                    now.path("scoreUnit").asText(), slower ? "  SLOWER" : significant ? "  faster" : "");
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf("%-70s %14s %14s %9s%n", removed, "", "-", "removed");
+            }
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+    
+    /**
+     * Results by benchmark name plus parameters, e.g. "RepositoryBenchmark.findById(cardCount=90000)"
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            String name = result.path("benchmark").asText().replace("com.cardboardgarden.benchmarks.", "");
+            Map<String, String> params = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = result.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            results.put(params.isEmpty() ? name : name + params.toString().replace('{', '(').replace('}', ')'), result);
+        }
+        return results;
+    }
+    
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.config.JwtAuthenticationFilter;
+import com.cardboardgarden.entity.User;
+import com.cardboardgarden.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthenticationFilter} end to end on a mock request: header parsing, token validation,
+ * user lookup (an in-memory repository, so database time is excluded) and security context setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+    
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    
+    @Setup
+    public void setUp() {
+        User user = AuthBenchmark.user();
+        AuthService authService = AuthBenchmark.authService(user);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "authService", authService);
+        authorization = "Bearer " + authService.generateToken(user);
+    }
+    
+    @Benchmark
+    public Authentication authenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/collection");
+        request.addHeader("Authorization", authorization);
+        return filter(request);
+    }
+    
+    @Benchmark
+    public Authentication anonymous() throws Exception {
+        return filter(new MockHttpServletRequest("GET", "/api/cards/search"));
+    }
+    
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
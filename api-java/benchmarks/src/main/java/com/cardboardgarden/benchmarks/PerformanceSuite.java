@@ -0,0 +1,362 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.CardboardGardenApiApplication;
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.CatalogSyncMonitor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Performance regression suite for the card and auth endpoints.
+ *
+ * Boots the whole application on an embedded H2 database (MySQL mode) filled by
+ * {@link CatalogDataGenerator}, sends real HTTP requests to each endpoint and records latency
+ * percentiles and SQL statements per request (counted at the JDBC layer, so JPA, JdbcTemplate and
+ * background work triggered by the request are all included). Results are checked against
+ * perf-thresholds.properties; the exit code is 1 when any endpoint is over budget.
+ *
+ * {@code java -cp target/benchmarks.jar com.cardboardgarden.benchmarks.PerformanceSuite --scale=1 --requests=200}
+ */
+public final class PerformanceSuite {
+    
+    private static final String JWT_SECRET = "performance-suite-secret-performance-suite-secret-performance-suite";
+    
+    private static final String[] RARITIES = {"common", "uncommon", "rare", "mythic"};
+    
+    private static final AtomicLong statements = new AtomicLong();
+    
+    private PerformanceSuite() {
+    }
+    
+    /**
+     * One endpoint under test; the request function gets the iteration number to vary inputs
+     */
+    record Endpoint(String name, int expectedStatus, IntFunction<HttpRequest> request) {
+    }
+    
+    record Result(String name, double p50Ms, double p95Ms, double maxMs, double queries, String failure) {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        double scale = Double.parseDouble(options.getOrDefault("scale", "1"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "200"));
+        int priceDays = Integer.parseInt(options.getOrDefault("price-days", "7"));
+        Properties thresholds = thresholds(options.get("thresholds"));
+        
+        CatalogDataGenerator generator = new CatalogDataGenerator(seed,
+                CatalogDataGenerator.Volumes.production(scale).withPriceDays(priceDays));
+        ConfigurableApplicationContext context = start();
+        int failures;
+        try {
+            long start = System.currentTimeMillis();
+            CatalogDataGenerator.Summary summary = generator.load(context.getBean(JdbcTemplate.class));
+            // Publishes CatalogSyncedEvent; every catalog-derived cache rebuilds on the async executor
+            context.getBean(CatalogSyncMonitor.class).poll();
+            awaitIdle(context.getBean("applicationTaskExecutor", ThreadPoolTaskExecutor.class));
+            System.out.printf("Loaded %s in %d ms%n%n", summary, System.currentTimeMillis() - start);
+            
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            List<Result> results = new ArrayList<>();
+            HttpClient client = HttpClient.newHttpClient();
+            for (Endpoint endpoint : endpoints(baseUrl, generator.cards())) {
+                results.add(measure(client, endpoint, warmup, requests, thresholds));
+            }
+            failures = report(results);
+        } finally {
+            context.close();
+        }
+        System.exit(failures > 0 ? 1 : 0);
+    }
+    
+    /**
+     * The application with its own configuration, except for the database and background polling.
+     * The schema comes from the entities, plus the gameplay columns the sync script writes.
+     */
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CardboardGardenApiApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new StatementCounter()))
+                // Before ApplicationReadyEvent, which starts the first catalog snapshot build
+                .listeners((ApplicationListener<ApplicationStartedEvent>) event ->
+                        CatalogDataGenerator.addGameplayColumns(event.getApplicationContext().getBean(JdbcTemplate.class)))
+                .run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:suite;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+                        + "INIT=CREATE ALIAS IF NOT EXISTS JSON_TYPE FOR 'com.cardboardgarden.benchmarks.PerformanceSuite.jsonType'",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.properties.hibernate.dialect=",
+                    "--app.jwt.secret=" + JWT_SECRET,
+                    "--app.jwt.expiration=3600000",
+                    "--app.verification.expiration=24",
+                    "--app.base-url=http://localhost",
+                    "--spring.mail.from=suite@example.test",
+                    "--app.catalog.snapshot.persist=false",
+                    "--app.catalog.poll-interval-ms=3600000",
+                    "--app.stats.price-poll-ms=3600000",
+                    "--app.warmup.enabled=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.cardboardgarden=WARN",
+                    "--logging.level.org.springframework.security=WARN",
+                    "--logging.level.org.springframework.web=WARN"
+                );
+    }
+    
+    private static void awaitIdle(ThreadPoolTaskExecutor executor) throws InterruptedException {
+        do {
+            Thread.sleep(200);
+        } while (executor.getActiveCount() > 0 || executor.getThreadPoolExecutor().getQueue().size() > 0);
+    }
+    
+    /**
+     * Inputs differ on every iteration, so list responses come from the database rather than the
+     * HTTP response cache
+     */
+    private static List<Endpoint> endpoints(String baseUrl, List<Card> cards) {
+        String[] words = {"storm", "grove", "ember", "oracle", "spire", "thorn", "warden", "hydra"};
+        List<String> sets = cards.stream().map(Card::getSetCode).distinct().toList();
+        long[] doubleFaced = cards.stream().filter(card -> card.getCardFaces() != null).mapToLong(Card::getId).toArray();
+        int count = cards.size();
+        String login = "{\"username_or_email\":\"%s\",\"password\":\"%s\"}";
+        
+        return List.of(
+            new Endpoint("cards.search", 200, i -> get(baseUrl + "/api/cards/search?name=" + words[i % words.length] + "&page=" + i / words.length)),
+            new Endpoint("cards.search-fuzzy", 200, i -> get(baseUrl + "/api/cards/search?fuzzy=true&name=" + encode(CatalogDataGenerator.oracleName(i) + "x"))),
+            new Endpoint("cards.suggest", 200, i -> get(baseUrl + "/api/cards/suggest?name=" + words[i % words.length].substring(0, 3) + "&limit=" + (1 + i % 20))),
+            new Endpoint("cards.alternative", 200, i -> get(baseUrl + "/api/cards/search/alternative?name=" + encode(CatalogDataGenerator.oracleName(i)))),
+            new Endpoint("cards.detail", 200, i -> get(baseUrl + "/api/cards/" + (i * 7919L % count + 1))),
+            new Endpoint("cards.faces", 200, i -> get(baseUrl + "/api/cards/" + doubleFaced[i % doubleFaced.length] + "/faces")),
+            new Endpoint("cards.batch", 200, i -> post(baseUrl + "/api/cards/batch", batch(i, count))),
+            new Endpoint("cards.set", 200, i -> get(baseUrl + "/api/cards/set/" + sets.get(i % sets.size()) + "?page=" + i / sets.size())),
+            new Endpoint("cards.rarity", 200, i -> get(baseUrl + "/api/cards/rarity/" + RARITIES[i % RARITIES.length] + "?page=" + i / RARITIES.length)),
+            new Endpoint("cards.filter", 200, i -> get(baseUrl + "/api/cards/filter?rarity=rare&type=creature&name=" + words[i % words.length]
+                    + "&manaValueMax=" + (3 + i % 4) + "&page=" + i / words.length)),
+            new Endpoint("cards.list", 200, i -> get(baseUrl + "/api/cards?page=" + i)),
+            new Endpoint("auth.login", 200, i -> post(baseUrl + "/api/auth/login",
+                    String.format(Locale.ROOT, login, CatalogDataGenerator.username(1 + i % 100), CatalogDataGenerator.PASSWORD))),
+            new Endpoint("auth.login-rejected", 401, i -> post(baseUrl + "/api/auth/login",
+                    String.format(Locale.ROOT, login, CatalogDataGenerator.username(1 + i % 100), "wrong-password"))),
+            new Endpoint("auth.verify-email", 400, i -> get(baseUrl + "/api/auth/verify-email?token=unknown-" + i)),
+            new Endpoint("auth.health", 200, i -> get(baseUrl + "/api/auth/health"))
+        );
+    }
+    
+    private static Result measure(HttpClient client, Endpoint endpoint, int warmup, int requests, Properties thresholds)
+            throws IOException, InterruptedException {
+        for (int i = 0; i < warmup; i++) {
+            send(client, endpoint, i);
+        }
+        
+        long[] nanos = new long[requests];
+        long before = statements.get();
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            int status = send(client, endpoint, warmup + i);
+            nanos[i] = System.nanoTime() - start;
+            if (status != endpoint.expectedStatus()) {
+                return new Result(endpoint.name(), 0, 0, 0, 0,
+                        "status " + status + ", expected " + endpoint.expectedStatus());
+            }
+        }
+        double queries = (double) (statements.get() - before) / requests;
+        
+        Arrays.sort(nanos);
+        double p50 = percentile(nanos, 0.50);
+        double p95 = percentile(nanos, 0.95);
+        double max = nanos[nanos.length - 1] / 1e6;
+        
+        List<String> failures = new ArrayList<>();
+        String p95Budget = thresholds.getProperty(endpoint.name() + ".p95-ms");
+        if (p95Budget != null && p95 > Double.parseDouble(p95Budget)) {
+            failures.add(String.format(Locale.ROOT, "p95 %.1f ms > %s ms", p95, p95Budget));
+        }
+        String queryBudget = thresholds.getProperty(endpoint.name() + ".queries");
+        if (queryBudget != null && queries > Double.parseDouble(queryBudget)) {
+            failures.add(String.format(Locale.ROOT, "%.2f queries > %s", queries, queryBudget));
+        }
+        if (p95Budget == null && queryBudget == null) {
+            failures.add("no thresholds");
+        }
+        return new Result(endpoint.name(), p50, p95, max, queries, failures.isEmpty() ? null : String.join(", ", failures));
+    }
+    
+    private static int report(List<Result> results) {
+        int failures = 0;
+        System.out.printf("%-22s %10s %10s %10s %9s  %s%n", "Endpoint", "p50 ms", "p95 ms", "max ms", "queries", "Result");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-22s %10.2f %10.2f %10.2f %9.2f  %s%n", result.name(), result.p50Ms(),
+                    result.p95Ms(), result.maxMs(), result.queries(), result.failure() == null ? "ok" : "FAIL: " + result.failure());
+            if (result.failure() != null) {
+                failures++;
+            }
+        }
+        System.out.printf("%n%d of %d endpoints within budget%n", results.size() - failures, results.size());
+        return failures;
+    }
+    
+    private static int send(HttpClient client, Endpoint endpoint, int iteration) throws IOException, InterruptedException {
+        return client.send(endpoint.request().apply(iteration), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+    
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Accept-Encoding", "gzip").GET().build();
+    }
+    
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+    
+    private static String batch(int iteration, int count) {
+        StringBuilder ids = new StringBuilder("{\"ids\":[");
+        for (int i = 0; i < 20; i++) {
+            ids.append(i == 0 ? "" : ",").append(((long) iteration * 20 + i) * 4099 % count + 1);
+        }
+        return ids.append("]}").toString();
+    }
+    
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+    
+    private static Properties thresholds(String file) throws IOException {
+        Properties thresholds = new Properties();
+        if (file != null) {
+            try (InputStream in = Files.newInputStream(Path.of(file))) {
+                thresholds.load(in);
+            }
+        } else {
+            try (InputStream in = PerformanceSuite.class.getResourceAsStream("/perf-thresholds.properties")) {
+                if (in == null) {
+                    throw new UncheckedIOException(new IOException("perf-thresholds.properties not on the classpath"));
+                }
+                thresholds.load(in);
+            }
+        }
+        return thresholds;
+    }
+    
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+    
+    /**
+     * MySQL's JSON_TYPE for H2 (registered in the JDBC URL), enough for the catalog snapshot queries
+     */
+    public static String jsonType(String json) {
+        if (json == null) {
+            return null;
+        }
+        String value = json.strip();
+        if (value.startsWith("[")) {
+            return "ARRAY";
+        }
+        if (value.startsWith("{")) {
+            return "OBJECT";
+        }
+        return value.startsWith("\"") ? "STRING" : "SCALAR";
+    }
+    
+    /**
+     * Wraps the application's DataSource so every executed statement is counted
+     */
+    private static final class StatementCounter implements BeanPostProcessor {
+        
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource) {
+                return proxy(DataSource.class, bean);
+            }
+            return bean;
+        }
+        
+        private static Object proxy(Class<?> type, Object target) {
+            return Proxy.newProxyInstance(PerformanceSuite.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        statements.incrementAndGet();
+                    } else if (method.getName().equals("setFetchSize") && (int) args[0] == Integer.MIN_VALUE) {
+                        // MySQL's row streaming hint; H2 rejects negative fetch sizes
+                        return null;
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Connection connection) {
+                        return proxy(Connection.class, connection);
+                    }
+                    if (result instanceof Statement statement) {
+                        return proxy(statementType(statement), statement);
+                    }
+                    return result;
+                });
+        }
+        
+        private static Class<?> statementType(Statement statement) {
+            if (statement instanceof CallableStatement) {
+                return CallableStatement.class;
+            }
+            if (statement instanceof PreparedStatement) {
+                return PreparedStatement.class;
+            }
+            return Statement.class;
+        }
+    }
+}
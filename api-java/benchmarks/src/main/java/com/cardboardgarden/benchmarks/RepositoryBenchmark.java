@@ -0,0 +1,154 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.repository.CardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CardRepository} queries behind the card endpoints, through Spring Data JPA and Hibernate,
+ * against an embedded H2 database (MySQL mode) loaded with a synthetic catalog.
+ *
+ * Absolute numbers differ from MySQL, but the mapping, paging (content plus count query) and
+ * query-shape costs are the application's own, so regressions there show up between runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+    
+    private static final String[] SEARCH_TERMS = {"storm", "grove", "ember", "oracle", "spire", "thorn"};
+    
+    @Param({"90000"})
+    public int cardCount;
+    
+    private ConfigurableApplicationContext context;
+    private CardRepository cardRepository;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RepositoryContext.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(
+                    // Ignore the API's application.properties (MySQL, schema validation)
+                    "--spring.config.name=benchmark",
+                    "--spring.datasource.url=jdbc:h2:mem:catalog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.open-in-view=false",
+                    "--logging.level.root=WARN",
+                    "--spring.autoconfigure.exclude="
+                        + "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration"
+                );
+        cardRepository = context.getBean(CardRepository.class);
+        load(context.getBean(JdbcTemplate.class), SyntheticCards.generate(cardCount, 42));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    /**
+     * GET /api/cards/search?name=...: LIKE scan, sort and count
+     */
+    @Benchmark
+    public Page<Card> searchByName() {
+        return cardRepository.findByNameContainingIgnoreCase(SEARCH_TERMS[nextIndex(SEARCH_TERMS.length)],
+                PageRequest.of(0, 20));
+    }
+    
+    /**
+     * GET /api/cards/set/{setCode}
+     */
+    @Benchmark
+    public Page<Card> listSet() {
+        String setCode = "s" + Integer.toString(nextIndex(cardCount / 200), 36);
+        return cardRepository.findBySetCodeIgnoreCase(setCode, PageRequest.of(0, 50));
+    }
+    
+    /**
+     * GET /api/cards/{id} on a card cache miss
+     */
+    @Benchmark
+    public Card findById() {
+        return cardRepository.findById((long) nextIndex(cardCount) + 1).orElse(null);
+    }
+    
+    /**
+     * POST /api/cards/batch with 20 ids not in the card cache: one IN query
+     */
+    @Benchmark
+    public List<Card> findBatch() {
+        List<Long> ids = new ArrayList<>(20);
+        int start = nextIndex(cardCount);
+        for (int i = 0; i < 20; i++) {
+            ids.add((long) (start + i * 4099) % cardCount + 1);
+        }
+        return cardRepository.findAllById(ids);
+    }
+    
+    /**
+     * Advanced search (set, rarity and type line) as one JPQL query
+     */
+    @Benchmark
+    public List<Card> advancedSearch() {
+        String setCode = "s" + Integer.toString(nextIndex(cardCount / 200), 36);
+        return cardRepository.searchCards(null, setCode, "rare", "creature");
+    }
+    
+    private int nextIndex(int bound) {
+        next = next * 1_103_515_245 + 12_345;
+        return (next >>> 1) % bound;
+    }
+    
+    private static void load(JdbcTemplate jdbcTemplate, List<Card> cards) {
+        CatalogDataGenerator.insertCards(jdbcTemplate, cards);
+        // Secondary indexes a production catalog has
+        for (String column : List.of("name", "set_code", "oracle_id", "rarity")) {
+            jdbcTemplate.execute(String.format(Locale.ROOT, "CREATE INDEX idx_%s ON cards (%s)", column, column));
+        }
+    }
+    
+    /**
+     * Only the JPA slice of the application: entities, repositories and Boot's data source setup
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Card.class)
+    @EnableJpaRepositories(basePackageClasses = CardRepository.class)
+    static class RepositoryContext {
+    }
+}
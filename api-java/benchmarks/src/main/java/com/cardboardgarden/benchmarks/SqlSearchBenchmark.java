@@ -0,0 +1,79 @@
+package com.cardboardgarden.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link CatalogKernelBenchmark} predicate as SQL against a real cards table, for comparison
+ * with the in-memory kernels. Needs a database, so it only runs when given one:
+ * {@code -p jdbcUrl=jdbc:mysql://localhost:3306/cardboard_garden -p user=... -p password=...}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlSearchBenchmark {
+    
+    private static final String SQL = "SELECT id FROM cards WHERE cmc BETWEEN 2 AND 4 "
+            + "AND color_identity NOT REGEXP '[WBR]' "
+            + "AND JSON_UNQUOTE(JSON_EXTRACT(legalities, '$.commander')) = 'legal' "
+            + "AND rarity IN ('rare', 'mythic')";
+    
+    @Param({""})
+    public String jdbcUrl;
+    
+    @Param({"root"})
+    public String user;
+    
+    @Param({""})
+    public String password;
+    
+    private Connection connection;
+    private PreparedStatement statement;
+    
+    @Setup
+    public void setUp() throws SQLException {
+        if (jdbcUrl.isBlank()) {
+            throw new IllegalStateException("SqlSearchBenchmark needs -p jdbcUrl=...");
+        }
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        statement = connection.prepareStatement(SQL);
+    }
+    
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+    
+    @Benchmark
+    public int sqlScan() throws SQLException {
+        int matches = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
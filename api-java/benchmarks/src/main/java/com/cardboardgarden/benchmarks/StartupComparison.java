@@ -0,0 +1,234 @@
+package com.cardboardgarden.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Startup comparison of the three ways the API can be built: the executable jar ("jvm", default
+ * build), the AOT-processed thin jar with its AppCDS archive ("cds", mvn -Pcds package) and the GraalVM
+ * native image ("native", mvn -Pnative native:compile). Variants whose artifacts are missing from
+ * the build directory are skipped.
+ *
+ * Each variant is started --runs times as a separate process. Reported are the medians of the
+ * startup time Spring logs, the wall-clock time from launching the process to the first successful
+ * response, and the resident set size right after that response (Linux only).
+ *
+ * {@code java -cp target/benchmarks.jar com.cardboardgarden.benchmarks.StartupComparison --runs=5 -- --spring.datasource.url=...}
+ *
+ * Arguments after {@code --} are passed to the application, so the database and the required
+ * app.* settings can be given on the command line.
+ */
+public final class StartupComparison {
+    
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    
+    private StartupComparison() {
+    }
+    
+    record Variant(String name, List<String> command) {
+    }
+    
+    record Run(double startedSeconds, long firstRequestMs, long rssKb) {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        String[] own = separator < 0 ? args : Arrays.copyOfRange(args, 0, separator);
+        List<String> appArgs = separator < 0 ? List.of() : List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+        
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : own) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Path buildDir = Path.of(options.getOrDefault("app-dir", "../target"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "3101"));
+        String path = options.getOrDefault("path", "/api/api/auth/health");
+        String classpath = options.get("classpath");
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "120")));
+        List<String> selected = List.of(options.getOrDefault("variants", "jvm,cds,native").split(","));
+        
+        List<Variant> variants = variants(buildDir, classpath, selected);
+        if (variants.isEmpty()) {
+            System.err.println("No build artifacts found in " + buildDir.toAbsolutePath());
+            System.exit(2);
+        }
+        
+        URI uri = URI.create("http://localhost:" + port + path);
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            List<Run> measured = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                List<String> command = new ArrayList<>(variant.command());
+                command.add("--server.port=" + port);
+                command.addAll(appArgs);
+                Run run = measure(command, uri, timeout);
+                System.out.printf("%s run %d: %s%n", variant.name(), i + 1,
+                        run == null ? "no response within " + timeout.toSeconds() + " s" : run);
+                if (run != null) {
+                    measured.add(run);
+                }
+            }
+            results.put(variant.name(), measured);
+        }
+        report(results, runs);
+    }
+    
+    private static List<Variant> variants(Path buildDir, String classpath, List<String> selected) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String extra = classpath == null ? "" : System.getProperty("path.separator") + classpath;
+        List<Variant> variants = new ArrayList<>();
+        
+        Path executable = find(buildDir, "cardboard-garden-api-", "-exec.jar");
+        if (selected.contains("jvm") && executable != null) {
+            variants.add(new Variant("jvm", List.of(java, "--add-modules", "jdk.incubator.vector",
+                    "-cp", executable + extra, mainClass(executable))));
+        }
+        
+        Path archive = buildDir.resolve("app.jsa");
+        Path thin = executable == null ? null
+                : buildDir.resolve(executable.getFileName().toString().replace("-exec.jar", ".jar"));
+        if (selected.contains("cds") && thin != null && Files.exists(thin) && Files.exists(archive) && mainClass(thin) != null) {
+            // The classpath must start with the one the archive was dumped with; extra entries go after it
+            variants.add(new Variant("cds", List.of(java, "-XX:SharedArchiveFile=" + archive,
+                    "--add-modules", "jdk.incubator.vector", "-Dspring.aot.enabled=true",
+                    "-cp", thin + extra, mainClass(thin))));
+        }
+        
+        Path nativeImage = buildDir.resolve("cardboard-garden-api");
+        if (selected.contains("native") && Files.isExecutable(nativeImage)) {
+            variants.add(new Variant("native", List.of(nativeImage.toString())));
+        }
+        return variants;
+    }
+    
+    private static Path find(Path dir, String prefix, String suffix) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).findFirst().orElse(null);
+        }
+    }
+    
+    /**
+     * Main-Class of a jar, or null when it has none (the plain jar of a build without -Pcds)
+     */
+    private static String mainClass(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.getManifest() == null ? null : file.getManifest().getMainAttributes().getValue("Main-Class");
+        }
+    }
+    
+    /**
+     * Starts the process, polls until the first successful response, then stops it; null on timeout
+     */
+    private static Run measure(List<String> command, URI uri, Duration timeout) throws Exception {
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        AtomicReference<Double> started = new AtomicReference<>(Double.NaN);
+        Thread output = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        started.set(Double.parseDouble(matcher.group(1)));
+                    }
+                }
+            } catch (IOException e) {
+                // Process ended
+            }
+        });
+        output.setDaemon(true);
+        output.start();
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).build();
+        try {
+            while (System.nanoTime() - launched < timeout.toNanos() && process.isAlive()) {
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        long firstRequestMs = (System.nanoTime() - launched) / 1_000_000;
+                        long rssKb = rssKb(process.pid());
+                        // The "Started" line is logged just before the server answers; give the reader a moment
+                        output.join(200);
+                        return new Run(started.get(), firstRequestMs, rssKb);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            return null;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux
+        }
+        return -1;
+    }
+    
+    private static void report(Map<String, List<Run>> results, int runs) {
+        System.out.printf("%n%-8s %6s %12s %20s %10s%n", "Variant", "Runs", "Started (s)", "First request (ms)", "RSS (MB)");
+        for (Map.Entry<String, List<Run>> entry : results.entrySet()) {
+            List<Run> measured = entry.getValue();
+            if (measured.isEmpty()) {
+                System.out.printf("%-8s %6s %12s %20s %10s%n", entry.getKey(), "0/" + runs, "-", "-", "-");
+                continue;
+            }
+            double started = median(measured.stream().mapToDouble(Run::startedSeconds).toArray());
+            double firstRequest = median(measured.stream().mapToDouble(Run::firstRequestMs).toArray());
+            double rss = median(measured.stream().mapToDouble(Run::rssKb).toArray());
+            System.out.printf("%-8s %6s %12.2f %20.0f %10s%n", entry.getKey(), measured.size() + "/" + runs,
+                    started, firstRequest, rss < 0 ? "-" : String.format("%.0f", rss / 1024));
+        }
+    }
+    
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+}
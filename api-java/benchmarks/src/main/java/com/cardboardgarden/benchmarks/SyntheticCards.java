@@ -0,0 +1,114 @@
+package com.cardboardgarden.benchmarks;
+
+import com.cardboardgarden.entity.Card;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic, realistic-looking cards for benchmarks (no database needed)
+ */
+public final class SyntheticCards {
+    
+    private static final String[] RARITIES = {"common", "uncommon", "rare", "mythic"};
+    private static final String[] TYPES = {
+        "Creature — Human Wizard", "Instant", "Sorcery", "Legendary Creature — Elf Druid",
+        "Artifact", "Enchantment — Aura", "Land", "Planeswalker — Jace", "Creature — Dragon"
+    };
+    private static final String[] WORDS = {
+        "Ancient", "Storm", "Grove", "Shadow", "Ember", "Tidal", "Garden", "Oracle", "Warden", "Blight",
+        "Sky", "Iron", "Verdant", "Hollow", "Crown", "Relic", "Spire", "Mire", "Dawn", "Thorn"
+    };
+    
+    private SyntheticCards() {
+    }
+    
+    /**
+     * Cards with ids 1..count, ~200 per set
+     */
+    public static List<Card> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Card> cards = new ArrayList<>(count);
+        LocalDateTime released = LocalDateTime.of(1993, 8, 5, 0, 0);
+        
+        for (int i = 0; i < count; i++) {
+            int set = i / 200;
+            Card card = new Card();
+            card.setId((long) i + 1);
+            card.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            card.setManaCost("{" + (1 + random.nextInt(5)) + "}{G}{U}");
+            card.setTypeLine(TYPES[random.nextInt(TYPES.length)]);
+            card.setOracleText("When this enters the battlefield, draw a card. "
+                    + "{T}: Add one mana of any color. Flying, trample. ".repeat(1 + random.nextInt(3)));
+            card.setFlavorText(random.nextBoolean() ? "The garden remembers every seed it was ever given." : null);
+            card.setPower(String.valueOf(random.nextInt(8)));
+            card.setToughness(String.valueOf(1 + random.nextInt(8)));
+            card.setOracleId(new UUID(random.nextLong(), random.nextLong()).toString());
+            card.setSetCode("s" + Integer.toString(set, 36));
+            card.setSetName("Synthetic Set " + set);
+            card.setCollectorNumber(String.valueOf(i % 200 + 1));
+            card.setRarity(RARITIES[random.nextInt(RARITIES.length)]);
+            card.setArtist("Artist " + random.nextInt(400));
+            String image = "https://cards.scryfall.io/normal/front/" + card.getOracleId() + ".jpg";
+            card.setImageUriSmall(image.replace("normal", "small"));
+            card.setImageUriNormal(image);
+            card.setImageUriLarge(image.replace("normal", "large"));
+            card.setScryfallUri("https://scryfall.com/card/" + card.getSetCode() + "/" + card.getCollectorNumber());
+            card.setReleasedAt(released.plusDays(set * 90L));
+            card.setCreatedAt(released);
+            card.setUpdatedAt(released);
+            card.setLayout("normal");
+            if (i % 25 == 0) {
+                // About 4% of real printings are transforming or modal double-faced cards
+                String back = WORDS[i / 25 % WORDS.length] + " Awakened " + i;
+                card.setCardFaces(cardFaces(card, back));
+                card.setName(card.getName() + " // " + back);
+                card.setLayout("transform");
+            }
+            cards.add(card);
+        }
+        return cards;
+    }
+    
+    /**
+     * card_faces JSON in the shape the sync script stores (Scryfall's card_faces array)
+     */
+    public static String cardFaces(Card card, String backName) {
+        String image = card.getImageUriNormal();
+        return "[" + face(card.getName(), card.getManaCost(), card.getTypeLine(), card.getOracleText(), image)
+                + "," + face(backName, "", "Creature — Eldrazi Horror", "Flying. Transform at the beginning of each upkeep.",
+                image.replace("/front/", "/back/")) + "]";
+    }
+    
+    private static String face(String name, String manaCost, String typeLine, String oracleText, String image) {
+        return "{\"object\":\"card_face\",\"name\":\"" + name + "\",\"mana_cost\":\"" + manaCost
+                + "\",\"type_line\":\"" + typeLine + "\",\"oracle_text\":\"" + oracleText
+                + "\",\"power\":\"3\",\"toughness\":\"3\",\"image_uris\":{\"small\":\"" + image.replace("normal", "small")
+                + "\",\"normal\":\"" + image + "\",\"large\":\"" + image.replace("normal", "large") + "\"}}";
+    }
+    
+    /**
+     * ObjectMapper configured like the application (see application.properties)
+     */
+    public static ObjectMapper applicationObjectMapper() {
+        return applicationObjectMapper(new JsonFactory());
+    }
+    
+    /**
+     * Same configuration on top of another data format (CBOR, Smile)
+     */
+    public static ObjectMapper applicationObjectMapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
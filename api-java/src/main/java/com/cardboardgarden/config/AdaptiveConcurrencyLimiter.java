@@ -0,0 +1,95 @@
+package com.cardboardgarden.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits library.
+ *
+ * Each completed request compares its latency with a slowly moving baseline. While latency stays
+ * within tolerance of the baseline the limit grows by about its square root; once requests start
+ * waiting for threads, connections or CPU, latency rises and the limit shrinks in proportion.
+ * Requests beyond the limit are turned away by the caller instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    // Latency may exceed the baseline by this factor before the limit is reduced
+    private static final double TOLERANCE = 1.5;
+    
+    // Weight of a new estimate in the limit, and of a new sample in the baseline
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double BASELINE_SMOOTHING = 1.0 / 600;
+    
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double baselineNanos;
+    
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    /**
+     * Take a slot, returning the number of requests in flight including this one, or -1 when the
+     * limit is reached
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+    
+    /**
+     * Free a slot taken by {@link #tryAcquire()}; sampled requests feed their latency to the limit
+     */
+    public void release(int inFlightAtStart, long latencyNanos, boolean sampled) {
+        inFlight.decrementAndGet();
+        if (sampled && latencyNanos > 0) {
+            update(inFlightAtStart, latencyNanos);
+        }
+    }
+    
+    private synchronized void update(int inFlightAtStart, long latencyNanos) {
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+            return;
+        }
+        baselineNanos += (latencyNanos - baselineNanos) * BASELINE_SMOOTHING;
+        if (baselineNanos > 2 * latencyNanos) {
+            // Latency dropped for good (warm caches, load gone); let the baseline catch up quickly
+            baselineNanos *= 0.95;
+        }
+        if (inFlightAtStart < limit / 2) {
+            // Lightly used, so latency says nothing about how far the limit could go
+            return;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / latencyNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - LIMIT_SMOOTHING) + estimate * LIMIT_SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,43 @@
+package com.cardboardgarden.config;
+
+import com.cardboardgarden.dto.CardEnvelope;
+import com.cardboardgarden.service.protobuf.CardProtobufCodec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes card endpoint responses as Protobuf (application/x-protobuf); write-only
+ */
+public class CardProtobufHttpMessageConverter extends AbstractHttpMessageConverter<CardEnvelope> {
+    
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    
+    public CardProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CardEnvelope.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected CardEnvelope readInternal(Class<? extends CardEnvelope> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(CardEnvelope envelope, HttpOutputMessage outputMessage) throws IOException {
+        CardProtobufCodec.writeEnvelope(envelope, outputMessage.getBody());
+    }
+}
@@ -0,0 +1,336 @@
+package com.cardboardgarden.config;
+
+import com.cardboardgarden.service.CatalogSyncedEvent;
+import com.cardboardgarden.service.cardjson.CardJsonSnapshot;
+import com.cardboardgarden.service.cardjson.CardJsonStore;
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP caching for card catalog reads, driven by the published catalog version: the oldest sync
+ * time of the catalog snapshot and the card JSON store, so validators only change once the data
+ * responses are built from has been swapped in.
+ *
+ * Every successful (2xx) GET under /api/cards gets a strong ETag of the form "version-format" plus
+ * Cache-Control; errors carry neither. A matching If-None-Match is answered with 304 before
+ * authentication, queries or serialization. JSON list responses are also kept gzip-compressed per
+ * catalog version, so repeated hot searches are served from memory. Runs inside the security
+ * chain, right after CORS.
+ */
+public class CatalogCacheFilter extends OncePerRequestFilter {
+    
+    private static final String CARDS_PATH = "/api/cards";
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Autowired
+    private CardJsonStore cardJsonStore;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.http.cards.max-age-seconds:300}")
+    private long maxAgeSeconds;
+    
+    @Value("${app.http.cards.response-cache-mb:64}")
+    private long responseCacheMb;
+    
+    private Cache<String, byte[]> responses;
+    
+    @PostConstruct
+    public void init() {
+        responses = Caffeine.newBuilder()
+                .maximumWeight(responseCacheMb * 1024 * 1024)
+                .weigher((String key, byte[] body) -> key.length() * 2 + body.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "http.cards.responses");
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !path.startsWith(CARDS_PATH)
+                || path.equals(CARDS_PATH + "/health")
+                || path.endsWith("/prices");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        
+        response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+        long version = publishedVersion();
+        if (version == 0) {
+            // No snapshot published yet; serve without validators
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        String format = format(request.getHeader(HttpHeaders.ACCEPT));
+        String tag = Long.toString(version, 36) + "-" + format;
+        
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), tag)) {
+            setValidators(response, tag, false);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        boolean gzip = acceptsGzip(request);
+        String path = path(request);
+        if (!"json".equals(format) || !isListPath(path)) {
+            ValidatingResponse validating = new ValidatingResponse(response, tag);
+            filterChain.doFilter(request, validating);
+            if (!request.isAsyncStarted()) {
+                validating.applyValidators();
+            }
+            return;
+        }
+        
+        String key = tag + " " + path + "?" + request.getQueryString();
+        byte[] cached = responses.getIfPresent(key);
+        if (cached != null) {
+            writeCompressed(response, cached, gzip, tag);
+            return;
+        }
+        
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, capture);
+        
+        byte[] body = capture.getContentAsByteArray();
+        if (capture.getStatus() == HttpServletResponse.SC_OK && body.length > 0 && !request.isAsyncStarted()) {
+            byte[] compressed = gzip(body);
+            responses.put(key, compressed);
+            if (gzip) {
+                capture.resetBuffer();
+                writeCompressed(response, compressed, true, tag);
+                return;
+            }
+        }
+        if (isSuccess(capture.getStatus()) && !request.isAsyncStarted()) {
+            setValidators(response, tag, false);
+        }
+        capture.copyBodyToResponse();
+    }
+    
+    /**
+     * Catalog version both the snapshot and the card JSON store have published, or 0 before the
+     * first snapshot; a JSON store that is disabled or not built yet does not hold it back
+     */
+    private long publishedVersion() {
+        CatalogSnapshot snapshot = catalogSnapshotService.peek();
+        if (snapshot == null) {
+            return 0;
+        }
+        CardJsonSnapshot json = cardJsonStore.getSnapshot();
+        return json != null ? Math.min(snapshot.getVersion(), json.getCatalogVersion()) : snapshot.getVersion();
+    }
+    
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        responses.invalidateAll();
+    }
+    
+    /**
+     * Compressed bodies currently held for hot list responses
+     */
+    public long getCachedResponseCount() {
+        return responses.estimatedSize();
+    }
+    
+    private void writeCompressed(HttpServletResponse response, byte[] compressed, boolean gzip, String tag) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        setValidators(response, tag, gzip);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(compressed.length);
+            response.getOutputStream().write(compressed);
+        } else {
+            byte[] body;
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                body = in.readAllBytes();
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+    
+    private void setValidators(HttpServletResponse response, String tag, boolean gzip) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAgeSeconds);
+        response.setHeader(HttpHeaders.ETAG, "\"" + tag + (gzip ? "-gz" : "") + "\"");
+    }
+    
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+    
+    /**
+     * Only entity tags count; "*" would also match cards that do not exist, so it falls through
+     */
+    private static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("\"", "");
+            if (value.endsWith("-gz")) {
+                value = value.substring(0, value.length() - 3);
+            }
+            if (value.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String format(String accept) {
+        MediaType binary = ContentNegotiation.binaryType(accept);
+        if (binary == null) {
+            return "json";
+        }
+        if (binary.equalsTypeAndSubtype(CardProtobufHttpMessageConverter.PROTOBUF)) {
+            return "protobuf";
+        }
+        return binary.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) ? "cbor" : "smile";
+    }
+    
+    private static boolean isListPath(String path) {
+        return path.equals(CARDS_PATH)
+                || path.startsWith(CARDS_PATH + "/search")
+                || path.equals(CARDS_PATH + "/filter")
+                || path.startsWith(CARDS_PATH + "/set/")
+                || path.startsWith(CARDS_PATH + "/rarity/");
+    }
+    
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        return ContentNegotiation.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+    
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+    
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+    
+    /**
+     * Adds the validators just before the body is written (or when the chain returns without one),
+     * once the status is final, and only for 2xx. Gzip-encoded bodies (the pre-compressed card
+     * details) get their own ETag.
+     */
+    private final class ValidatingResponse extends HttpServletResponseWrapper {
+        
+        private final String tag;
+        private boolean gzip;
+        private boolean applied;
+        
+        ValidatingResponse(HttpServletResponse response, String tag) {
+            super(response);
+            this.tag = tag;
+        }
+        
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value);
+            onHeader(name, value);
+        }
+        
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            onHeader(name, value);
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            applyValidators();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            applyValidators();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            applyValidators();
+            super.flushBuffer();
+        }
+        
+        @Override
+        public void sendError(int sc) throws IOException {
+            applied = true;
+            super.sendError(sc);
+        }
+        
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            applied = true;
+            super.sendError(sc, msg);
+        }
+        
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            applied = true;
+            super.sendRedirect(location);
+        }
+        
+        void applyValidators() {
+            if (!applied && !isCommitted()) {
+                applied = true;
+                if (isSuccess(getStatus())) {
+                    setValidators((HttpServletResponse) getResponse(), tag, gzip);
+                }
+            }
+        }
+        
+        private void onHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) && "gzip".equalsIgnoreCase(value)) {
+                gzip = true;
+                if (applied && isSuccess(getStatus()) && !isCommitted()) {
+                    super.setHeader(HttpHeaders.ETAG, "\"" + tag + "-gz\"");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.cardboardgarden.config;
+
+import jakarta.servlet.ServletException;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.apache.coyote.ActionCode;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Gives each request a probe that tells whether its client has closed the connection, exposed as
+ * the {@link #ATTRIBUTE} request attribute.
+ *
+ * The Servlet API has no such notification for a request still being processed, so the probe asks
+ * Tomcat for a non-blocking read on the connection once the request body has been consumed. The
+ * probe is only called by {@link RequestDeadline#check()} while the request thread is inside a JDBC
+ * statement, under the same lock the statement start and finish take, so the two threads never use
+ * the connection at the same time.
+ *
+ * A read finding data is not enough: a keep-alive client may have pipelined its next request.
+ * Tomcat keeps those bytes buffered for that request and reports nothing further available while
+ * they are pending, whereas a closed connection fails every read. The client only counts as gone
+ * when two consecutive probes find the connection readable.
+ */
+public class ClientDisconnectValve extends ValveBase {
+    
+    public static final String ATTRIBUTE = ClientDisconnectValve.class.getName() + ".CLIENT_GONE";
+    
+    public ClientDisconnectValve() {
+        super(true);
+    }
+    
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        request.setAttribute(ATTRIBUTE, new Probe(request.getCoyoteRequest()));
+        getNext().invoke(request, response);
+    }
+    
+    /**
+     * Only valid while the request is being processed; {@link RequestDeadline} stops probing when it closes
+     */
+    private static class Probe implements BooleanSupplier {
+        
+        private final org.apache.coyote.Request coyoteRequest;
+        private boolean readable;
+        
+        Probe(org.apache.coyote.Request coyoteRequest) {
+            this.coyoteRequest = coyoteRequest;
+        }
+        
+        @Override
+        public boolean getAsBoolean() {
+            AtomicBoolean flag = new AtomicBoolean();
+            coyoteRequest.action(ActionCode.IS_ERROR, flag);
+            if (flag.get()) {
+                return true;
+            }
+            coyoteRequest.action(ActionCode.REQUEST_BODY_FULLY_READ, flag);
+            if (!flag.get()) {
+                // Unread body bytes would look like readable data
+                return false;
+            }
+            coyoteRequest.action(ActionCode.AVAILABLE, Boolean.TRUE);
+            boolean wasReadable = readable;
+            readable = coyoteRequest.getAvailable() > 0;
+            return wasReadable && readable;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Adaptive concurrency limits for card search, card detail and authentication requests (see
+ * {@link ConcurrencyLimitFilter}).
+ *
+ * The maximums should leave Tomcat threads (server.tomcat.threads.max, 200 by default) for the
+ * other classes when one of them is saturated.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+    
+    @Value("${app.limits.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.limits.min:2}")
+    private int minLimit;
+    
+    @Value("${app.limits.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+    
+    @Value("${app.limits.search.initial:20}")
+    private int searchInitial;
+    
+    @Value("${app.limits.search.max:100}")
+    private int searchMax;
+    
+    @Value("${app.limits.detail.initial:50}")
+    private int detailInitial;
+    
+    @Value("${app.limits.detail.max:150}")
+    private int detailMax;
+    
+    @Value("${app.limits.auth.initial:8}")
+    private int authInitial;
+    
+    @Value("${app.limits.auth.max:40}")
+    private int authMax;
+    
+    /**
+     * Runs right after the HTTP metrics filter, so rejected requests still show up in http.server.requests
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter search = limiter("search", searchInitial, searchMax, meterRegistry);
+        AdaptiveConcurrencyLimiter detail = limiter("detail", detailInitial, detailMax, meterRegistry);
+        AdaptiveConcurrencyLimiter auth = limiter("auth", authInitial, authMax, meterRegistry);
+        
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(search, detail, auth, retryAfterSeconds, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+    
+    private AdaptiveConcurrencyLimiter limiter(String name, int initial, int max, MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, initial, minLimit, max);
+        Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limit", name)
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests being served under the limit")
+                .tag("limit", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
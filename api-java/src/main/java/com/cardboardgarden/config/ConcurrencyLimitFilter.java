@@ -0,0 +1,93 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Load shedding per endpoint class: card searches, card details and authentication each get their
+ * own {@link AdaptiveConcurrencyLimiter}, so saturating one class cannot starve the others of
+ * threads and connections. A request over its class's limit is answered at once with
+ * 503 Service Unavailable and a Retry-After header.
+ *
+ * Collection endpoints, streaming exports and health checks are not limited (see {@link EndpointClass}).
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private static final byte[] REJECTED_BODY =
+            "{\"success\":false,\"message\":\"Server is busy, please retry shortly\"}".getBytes(StandardCharsets.UTF_8);
+    
+    private final AdaptiveConcurrencyLimiter search;
+    private final AdaptiveConcurrencyLimiter detail;
+    private final AdaptiveConcurrencyLimiter auth;
+    private final int retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+    
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter search, AdaptiveConcurrencyLimiter detail,
+                                  AdaptiveConcurrencyLimiter auth, int retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.search = search;
+        this.detail = detail;
+        this.auth = auth;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            reject(limiter, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Server errors are often fast failures; they would make the endpoint look faster than it is.
+            // A 504 is a request cancelled at its deadline, so its latency is exactly what the limiter should see
+            int status = response.getStatus();
+            limiter.release(inFlight, System.nanoTime() - start, completed && (status < 500 || status == 504));
+        }
+    }
+    
+    private AdaptiveConcurrencyLimiter limiterFor(String path) {
+        EndpointClass endpoint = EndpointClass.of(path);
+        if (endpoint == null) {
+            return null;
+        }
+        return switch (endpoint) {
+            case SEARCH -> search;
+            case DETAIL -> detail;
+            case AUTH -> auth;
+            case OTHER -> null;
+        };
+    }
+    
+    private void reject(AdaptiveConcurrencyLimiter limiter, HttpServletResponse response) throws IOException {
+        meterRegistry.counter("http.concurrency.rejected", "limit", limiter.getName()).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+}
@@ -0,0 +1,95 @@
+package com.cardboardgarden.config;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Accept and Accept-Encoding negotiation shared by the card endpoints and the catalog cache, so the
+ * representation a controller serves and the one its cache entry is keyed by always agree.
+ * Quality values are honoured: a coding or media type sent with q=0 is refused, not accepted.
+ */
+public final class ContentNegotiation {
+    
+    private static final List<MediaType> BINARY_TYPES = List.of(
+        MediaType.APPLICATION_CBOR,
+        new MediaType("application", "x-jackson-smile"),
+        CardProtobufHttpMessageConverter.PROTOBUF
+    );
+    
+    private ContentNegotiation() {
+    }
+    
+    /**
+     * Whether the Accept-Encoding header allows a gzip body: an explicit gzip (or x-gzip) entry wins,
+     * otherwise a "*" entry decides
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        
+        double gzip = -1;
+        double wildcard = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            double quality = quality(parts);
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : wildcard > 0;
+    }
+    
+    /**
+     * The binary type (CBOR, Smile or Protobuf) the Accept header asks for with the highest quality,
+     * the first listed on a tie as Spring's converter selection does, or null when it names none
+     * with a quality above zero
+     */
+    public static MediaType binaryType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType type : types) {
+            for (MediaType binary : BINARY_TYPES) {
+                if (binary.equalsTypeAndSubtype(type) && type.getQualityValue() > bestQuality) {
+                    best = binary;
+                    bestQuality = type.getQualityValue();
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * The q parameter of one header entry; 1 when absent, 0 when unparseable
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q') && parameter.charAt(1) == '=') {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cardboardgarden.config;
+
+/**
+ * Groups of endpoints with similar cost, shared by the concurrency limits and request deadlines.
+ */
+public enum EndpointClass {
+    
+    /** Card searches, suggestions, filters and set/rarity listings */
+    SEARCH("search"),
+    /** Card by id, its faces and prices, and batch lookups */
+    DETAIL("detail"),
+    /** Login, registration and account emails */
+    AUTH("auth"),
+    /** Everything else under /api, mostly collection reads and edits */
+    OTHER("other");
+    
+    private static final String CARDS_PATH = "/api/cards";
+    private static final String AUTH_PATH = "/api/auth/";
+    private static final String COLLECTION_PATH = "/api/collection";
+    
+    private final String tag;
+    
+    EndpointClass(String tag) {
+        this.tag = tag;
+    }
+    
+    /**
+     * Metric tag and property name ("search", "detail", ...)
+     */
+    public String getTag() {
+        return tag;
+    }
+    
+    /**
+     * Class of a path relative to the context path, or null for health checks, streaming exports,
+     * bulk imports, admin endpoints and anything outside /api
+     */
+    public static EndpointClass of(String path) {
+        if (path.startsWith(AUTH_PATH)) {
+            return path.equals(AUTH_PATH + "health") ? null : AUTH;
+        }
+        if (path.equals(COLLECTION_PATH) || path.startsWith(COLLECTION_PATH + "/")) {
+            return path.equals(COLLECTION_PATH + "/export") || path.equals(COLLECTION_PATH + "/import") ? null : OTHER;
+        }
+        if (!path.equals(CARDS_PATH) && !path.startsWith(CARDS_PATH + "/")) {
+            return path.startsWith("/api/") && !path.startsWith("/api/admin/") ? OTHER : null;
+        }
+        if (path.equals(CARDS_PATH + "/health") || path.equals(CARDS_PATH + "/export")) {
+            return null;
+        }
+        if (path.equals(CARDS_PATH)
+                || path.startsWith(CARDS_PATH + "/search")
+                || path.equals(CARDS_PATH + "/suggest")
+                || path.equals(CARDS_PATH + "/filter")
+                || path.startsWith(CARDS_PATH + "/set/")
+                || path.startsWith(CARDS_PATH + "/rarity/")) {
+            return SEARCH;
+        }
+        return DETAIL;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cardboardgarden.config;
+
+import com.cardboardgarden.service.diagnostics.RepositoryCallEvent;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Flight Recorder events for Spring Data repository calls: every repository proxy gets an
+ * interceptor emitting a {@link RepositoryCallEvent}, recorded when the call exceeds the event's
+ * threshold.
+ */
+@Configuration
+public class FlightRecorderConfig {
+    
+    /**
+     * Static and applied before initialization, so the customizer is in place when the factory
+     * bean creates its repository
+     */
+    @Bean
+    public static BeanPostProcessor repositoryCallEvents() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryCallInterceptor(information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+    
+    static class RepositoryCallInterceptor implements MethodInterceptor {
+        
+        private final String repository;
+        
+        RepositoryCallInterceptor(String repository) {
+            this.repository = repository;
+        }
+        
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            boolean failed = true;
+            try {
+                Object result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.cardboardgarden.config;
 
 import com.cardboardgarden.service.AuthService;
+import com.cardboardgarden.service.diagnostics.AuthenticationEvent;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,22 +32,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        String jwt = getJwtFromRequest(request);
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        event.outcome = "error";
         try {
-            String jwt = getJwtFromRequest(request);
-            
-            if (StringUtils.hasText(jwt) && authService.validateToken(jwt)) {
-                String username = authService.getUsernameFromToken(jwt);
-                
-                UserDetails userDetails = authService.loadUserByUsername(username);
+            long phase = System.nanoTime();
+            // Verified once; the subject comes from the claims of that same parse
+            Claims claims = StringUtils.hasText(jwt) ? authService.parseToken(jwt) : null;
+            event.verifyTime = System.nanoTime() - phase;
+            if (claims != null) {
+                phase = System.nanoTime();
+                UserDetails userDetails = authService.loadUserByUsername(claims.getSubject());
+                event.userLookupTime = System.nanoTime() - phase;
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                event.outcome = "authenticated";
+            } else {
+                event.outcome = "invalid";
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
+        if (StringUtils.hasText(jwt)) {
+            event.commit();
+        }
         
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,25 @@
+package com.cardboardgarden.config;
+
+import com.cardboardgarden.dto.CardEnvelope;
+import com.cardboardgarden.dto.PriceCandle;
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.entity.CardPrice;
+import com.cardboardgarden.entity.CollectionEntry;
+import com.cardboardgarden.service.UserCollectionStats;
+import com.cardboardgarden.service.catalog.CardFace;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * AOT hints for the native image build (mvn -Pnative native:compile); no effect on the JVM.
+ *
+ * Most responses are built as maps, so Jackson binding hints for the types put into them are
+ * registered here rather than inferred from controller signatures.
+ */
+@Configuration
+@ImportRuntimeHints(ApplicationRuntimeHints.class)
+@RegisterReflectionForBinding({Card.class, CardFace.class, CardPrice.class, CollectionEntry.class,
+        CardEnvelope.class, PriceCandle.class, UserCollectionStats.class})
+public class NativeImageConfig {
+}
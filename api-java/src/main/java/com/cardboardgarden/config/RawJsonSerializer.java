@@ -0,0 +1,50 @@
+package com.cardboardgarden.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a String that already holds JSON (such as a JSON column) as nested JSON instead of as a
+ * quoted string. JSON output copies the text verbatim; binary formats (CBOR, Smile), which cannot
+ * embed raw text, get the parsed tree. Since the text is copied unchecked, callers validate it first
+ * (see {@link #isJsonArray(String)}).
+ */
+public class RawJsonSerializer extends StdSerializer<String> {
+    
+    private static final ObjectMapper JSON = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    
+    public RawJsonSerializer() {
+        super(String.class);
+    }
+    
+    @Override
+    public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (gen.canWriteBinaryNatively()) {
+            gen.writeTree(JSON.readTree(value));
+        } else {
+            gen.writeRawValue(value);
+        }
+    }
+    
+    /**
+     * Whether the text is exactly one well-formed JSON array, so it can be embedded in a response as is
+     */
+    public static boolean isJsonArray(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        try {
+            JsonNode node = JSON.readTree(value);
+            return node != null && node.isArray();
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+}
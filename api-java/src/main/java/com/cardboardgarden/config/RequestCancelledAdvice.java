@@ -0,0 +1,33 @@
+package com.cardboardgarden.config;
+
+import com.cardboardgarden.dto.CardEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers cancelled requests: 504 Gateway Timeout when the deadline passed, 503 Service Unavailable
+ * when the client disconnected (nobody reads it, but it keeps the request out of the 500s).
+ *
+ * Cancellation is expected under load, so it is logged without a stack trace; the
+ * {@link RequestDeadlineFilter} already counts and logs each one.
+ */
+@RestControllerAdvice
+public class RequestCancelledAdvice {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RequestCancelledAdvice.class);
+    
+    @ExceptionHandler(RequestCancelledException.class)
+    public ResponseEntity<CardEnvelope> handleCancelled(RequestCancelledException e) {
+        logger.debug("{}: {}", e.getMessage(), e.getCause() != null ? e.getCause().getMessage() : null);
+        if (e.getReason() == RequestDeadline.Reason.DISCONNECT) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(CardEnvelope.error("Request cancelled"));
+        }
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(CardEnvelope.error("Request took too long, please retry"));
+    }
+}
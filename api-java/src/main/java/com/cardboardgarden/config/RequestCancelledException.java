@@ -0,0 +1,39 @@
+package com.cardboardgarden.config;
+
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Failure of a request whose statements were cancelled by its {@link RequestDeadline}, thrown from
+ * the controllers' catch blocks so the cancellation is answered by {@link RequestCancelledAdvice}
+ * instead of the endpoint's 500.
+ */
+public class RequestCancelledException extends RuntimeException {
+    
+    private final RequestDeadline.Reason reason;
+    
+    public RequestCancelledException(RequestDeadline.Reason reason, Throwable cause) {
+        super("Request cancelled (" + reason.getTag() + ")", cause);
+        this.reason = reason;
+    }
+    
+    public RequestDeadline.Reason getReason() {
+        return reason;
+    }
+    
+    /**
+     * Rethrow a failure as a {@link RequestCancelledException} when the current request was cancelled
+     * (its deadline carries a reason) or a query timed out; any other failure is left to the caller
+     */
+    public static void rethrowIfCancelled(Exception failure) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.getCancelReason() != null) {
+            throw new RequestCancelledException(deadline.getCancelReason(), failure);
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException) {
+                throw new RequestCancelledException(
+                        deadline != null ? deadline.markTimedOut() : RequestDeadline.Reason.DEADLINE, failure);
+            }
+        }
+    }
+}
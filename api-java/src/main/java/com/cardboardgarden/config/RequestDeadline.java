@@ -0,0 +1,153 @@
+package com.cardboardgarden.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Time budget of one HTTP request and the JDBC statements it is running.
+ *
+ * Bound to the request thread by {@link RequestDeadlineFilter}. {@link SqlStatementListener} caps each
+ * statement's query timeout at the remaining budget and registers it while it runs, so the filter's
+ * watchdog can cancel it once the deadline passes or the client disconnects. After that, the request
+ * cannot start further statements.
+ */
+public class RequestDeadline {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadline.class);
+    
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+    
+    /**
+     * Why a request's statements were cancelled
+     */
+    public enum Reason {
+        DEADLINE, DISCONNECT;
+        
+        public String getTag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+    
+    private final EndpointClass endpointClass;
+    private final long budgetMillis;
+    private final long deadlineNanos;
+    private final BooleanSupplier clientGone;
+    private final Set<Statement> running = new HashSet<>();
+    private volatile Reason cancelReason;
+    private boolean closed;
+    
+    private RequestDeadline(EndpointClass endpointClass, long budgetMillis, BooleanSupplier clientGone) {
+        this.endpointClass = endpointClass;
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = System.nanoTime() + budgetMillis * 1_000_000;
+        this.clientGone = clientGone;
+    }
+    
+    static RequestDeadline begin(EndpointClass endpointClass, long budgetMillis, BooleanSupplier clientGone) {
+        RequestDeadline deadline = new RequestDeadline(endpointClass, budgetMillis, clientGone);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Deadline of the request being served on this thread, or null outside a request with a budget
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+    
+    public EndpointClass getEndpointClass() {
+        return endpointClass;
+    }
+    
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+    
+    public long getRemainingMillis() {
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+    }
+    
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+    
+    /**
+     * Why the request was cancelled, or null while it may keep running
+     */
+    public Reason getCancelReason() {
+        return cancelReason;
+    }
+    
+    /**
+     * Records that the request ran out of time outside the watchdog (a JDBC timeout, or waiting on
+     * another request's query) and returns the reason it now carries
+     */
+    public Reason markTimedOut() {
+        if (cancelReason == null) {
+            cancelReason = Reason.DEADLINE;
+        }
+        return cancelReason;
+    }
+    
+    /**
+     * Reason a new statement must not start, or null if there is budget left
+     */
+    Reason checkStart() {
+        if (cancelReason == null && isExpired()) {
+            return markTimedOut();
+        }
+        return cancelReason;
+    }
+    
+    synchronized void started(Statement statement) {
+        running.add(statement);
+    }
+    
+    synchronized void finished(Statement statement) {
+        running.remove(statement);
+    }
+    
+    /**
+     * Watchdog check: cancels the running statements once the deadline has passed or the client has
+     * gone away. The client is only probed while a statement is running, since that is the work
+     * there is to save; holding this lock keeps the request thread inside the statement meanwhile, so
+     * the probe never uses the connection concurrently with it.
+     */
+    synchronized Reason check() {
+        if (closed || running.isEmpty() || cancelReason != null) {
+            return null;
+        }
+        Reason reason = isExpired() ? Reason.DEADLINE : clientGone.getAsBoolean() ? Reason.DISCONNECT : null;
+        if (reason != null) {
+            cancelReason = reason;
+            for (Statement statement : running) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    logger.debug("Could not cancel statement: {}", e.getMessage());
+                }
+            }
+        }
+        return reason;
+    }
+    
+    /**
+     * Called when the request completes; the watchdog no longer touches it (or its connection) afterwards
+     */
+    synchronized void close() {
+        closed = true;
+        running.clear();
+    }
+}
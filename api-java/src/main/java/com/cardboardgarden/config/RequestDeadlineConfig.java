@@ -0,0 +1,68 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Request deadlines per endpoint class (see {@link RequestDeadlineFilter}).
+ *
+ * A budget of 0 turns deadlines off for that class. JDBC query timeouts have one-second resolution,
+ * so budgets below a second are enforced by the watchdog, within app.deadlines.check-interval-ms.
+ */
+@Configuration
+public class RequestDeadlineConfig {
+    
+    @Value("${app.deadlines.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.deadlines.check-interval-ms:100}")
+    private long checkIntervalMs;
+    
+    @Value("${app.deadlines.search-ms:2000}")
+    private long searchMs;
+    
+    @Value("${app.deadlines.detail-ms:1000}")
+    private long detailMs;
+    
+    @Value("${app.deadlines.auth-ms:3000}")
+    private long authMs;
+    
+    @Value("${app.deadlines.other-ms:5000}")
+    private long otherMs;
+    
+    /**
+     * Starts after the concurrency limit, so time spent being admitted does not count against the budget
+     */
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(MeterRegistry meterRegistry) {
+        Map<EndpointClass, Long> budgets = new EnumMap<>(EndpointClass.class);
+        budgets.put(EndpointClass.SEARCH, searchMs);
+        budgets.put(EndpointClass.DETAIL, detailMs);
+        budgets.put(EndpointClass.AUTH, authMs);
+        budgets.put(EndpointClass.OTHER, otherMs);
+        
+        FilterRegistrationBean<RequestDeadlineFilter> registration =
+                new FilterRegistrationBean<>(new RequestDeadlineFilter(budgets, checkIntervalMs, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+    
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> clientDisconnectValve() {
+        return factory -> {
+            if (enabled) {
+                factory.addContextValves(new ClientDisconnectValve());
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * End-to-end time budget per endpoint class: every request gets a {@link RequestDeadline} that
+ * bounds the JDBC statements it runs, and a watchdog thread cancels the statements of requests that
+ * ran past their deadline or whose client disconnected (see {@link ClientDisconnectValve}), so an
+ * abandoned search stops holding a connection.
+ *
+ * A cancelled statement fails like any other database error, through the endpoint's usual error
+ * response. Streaming exports, imports and health checks have no budget.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+    
+    private static final BooleanSupplier CONNECTED = () -> false;
+    
+    private final Map<EndpointClass, Long> budgets;
+    private final long checkIntervalMillis;
+    private final MeterRegistry meterRegistry;
+    private final Set<RequestDeadline> inFlight = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService watchdog;
+    
+    public RequestDeadlineFilter(Map<EndpointClass, Long> budgets, long checkIntervalMillis, MeterRegistry meterRegistry) {
+        this.budgets = budgets;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Started by the container, so a disabled filter runs no watchdog
+     */
+    @Override
+    protected void initFilterBean() {
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-deadline-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(this::checkInFlight, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public void destroy() {
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        
+        EndpointClass endpoint = EndpointClass.of(request.getRequestURI().substring(request.getContextPath().length()));
+        Long budget = endpoint != null ? budgets.get(endpoint) : null;
+        if (budget == null || budget <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        BooleanSupplier clientGone = request.getAttribute(ClientDisconnectValve.ATTRIBUTE) instanceof BooleanSupplier probe
+                ? probe
+                : CONNECTED;
+        RequestDeadline deadline = RequestDeadline.begin(endpoint, budget, clientGone);
+        inFlight.add(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.remove(deadline);
+            deadline.close();
+            RequestDeadline.end();
+            
+            RequestDeadline.Reason reason = deadline.getCancelReason();
+            if (reason != null) {
+                meterRegistry.counter("http.requests.cancelled",
+                        "class", endpoint.getTag(), "reason", reason.getTag()).increment();
+                logger.info("{} {} cancelled ({}, budget {} ms)", request.getMethod(), request.getRequestURI(),
+                        reason.getTag(), budget);
+            }
+        }
+    }
+    
+    private void checkInFlight() {
+        for (RequestDeadline deadline : inFlight) {
+            try {
+                deadline.check();
+            } catch (RuntimeException e) {
+                logger.warn("Request deadline check failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.cardboardgarden.config;
 
-import com.cardboardgarden.service.AuthService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,24 +16,28 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
     
-    @Autowired
-    private AuthService authService;
-    
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     
+    @Value("${app.metrics.allowed-addresses:127.0.0.1/32,::1/128}")
+    private List<String> metricsAllowedAddresses;
+    
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -45,6 +53,19 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter();
     }
     
+    @Bean
+    public CatalogCacheFilter catalogCacheFilter() {
+        return new CatalogCacheFilter();
+    }
+    
+    @Bean
+    public FilterRegistrationBean<CatalogCacheFilter> catalogCacheFilterRegistration(CatalogCacheFilter filter) {
+        // Runs inside the security chain only (after CORS, before JWT lookups)
+        FilterRegistrationBean<CatalogCacheFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -52,6 +73,8 @@ public class SecurityConfig {
             .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Streaming responses finish in an async dispatch; the original request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers(
                     "/api/auth/register",
@@ -61,18 +84,38 @@ public class SecurityConfig {
                     "/api/auth/health",
                     "/api/cards/**",
                     "/health",
-                    "/actuator/health"
+                    "/actuator/health/**"
                 ).permitAll()
+                // Scraped without credentials, so only from the monitoring network; the other actuator
+                // endpoints expose the same meters and must not be open to every signed-in user
+                .requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**", "/actuator/info")
+                    .access(fromAddresses(metricsAllowedAddresses))
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             );
         
+        // Answer conditional card requests before any authentication work
+        http.addFilterAfter(catalogCacheFilter(), CorsFilter.class);
+        
         // Add JWT filter
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
     
+    /**
+     * Grants requests whose remote address is in one of the given addresses or CIDR ranges
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> fromAddresses(List<String> addresses) {
+        List<IpAddressMatcher> matchers = addresses.stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,50 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL instrumentation: the DataSource is wrapped with datasource-proxy so every
+ * statement is timed (see {@link SqlStatementListener}), and {@link SqlRequestFilter} reports the
+ * totals per controller method.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+    
+    /**
+     * Static so wrapping the DataSource does not force early creation of this configuration
+     */
+    @Bean
+    public static BeanPostProcessor sqlDataSourceProxy(ObjectProvider<MeterRegistry> meterRegistry,
+                                                       @Value("${app.sql.slow-query-ms:250}") long slowQueryMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlStatementListener(meterRegistry::getObject, slowQueryMs))
+                            .buildProxy();
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<SqlRequestFilter> sqlRequestFilter(MeterRegistry meterRegistry,
+                                                                      @Value("${app.sql.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        FilterRegistrationBean<SqlRequestFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestFilter(meterRegistry, nPlusOneThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,82 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link SqlRequestStats} around each request and reports them per controller method:
+ * statement count and database time as metrics, a debug log line with the slowest statements, and a
+ * warning when the same statement ran often enough to look like an N+1 pattern.
+ *
+ * Registered ahead of the security chain, so authentication lookups are counted too.
+ */
+public class SqlRequestFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlRequestFilter.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    
+    public SqlRequestFilter(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        
+        SqlRequestStats stats = SqlRequestStats.begin(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            report(request, stats);
+        }
+    }
+    
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        String handler = stats.getHandler();
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements executed per request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        if (stats.getStatementCount() == 0) {
+            return;
+        }
+        Timer.builder("sql.request.time")
+                .description("Time spent in SQL statements per request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        
+        Map<String, Integer> repeated = stats.getRepeated(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("sql.request.n_plus_one", "handler", handler).increment();
+            repeated.forEach((sql, count) -> logger.warn("Possible N+1 in {} ({} {}): {} executions of {}",
+                    handler, request.getMethod(), request.getRequestURI(), count, SqlStatementListener.abbreviate(sql)));
+        }
+        
+        if (logger.isDebugEnabled()) {
+            StringBuilder slowest = new StringBuilder();
+            for (SqlRequestStats.Statement statement : stats.getSlowest()) {
+                slowest.append(String.format("%n  %.1f ms  %s", statement.millis(), SqlStatementListener.abbreviate(statement.sql())));
+            }
+            logger.debug("{} {} ({}): {} statements, {} ms in SQL; slowest:{}", request.getMethod(), request.getRequestURI(),
+                    handler, stats.getStatementCount(), stats.getDbNanos() / 1_000_000, slowest);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.cardboardgarden.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL statements executed while serving one HTTP request.
+ *
+ * Bound to the request thread by {@link SqlRequestFilter} and filled by {@link SqlStatementListener};
+ * statements run on other threads (async work, scheduled jobs) are not attributed to a request.
+ */
+public class SqlRequestStats {
+    
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+    private static final int SLOWEST = 3;
+    
+    private final HttpServletRequest request;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private final List<Statement> slowest = new ArrayList<>(SLOWEST + 1);
+    private int statementCount;
+    private long dbNanos;
+    
+    private SqlRequestStats(HttpServletRequest request) {
+        this.request = request;
+    }
+    
+    static SqlRequestStats begin(HttpServletRequest request) {
+        SqlRequestStats stats = new SqlRequestStats(request);
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Stats of the request being served on this thread, or null outside a request
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+    
+    void record(String sql, long nanos, boolean batch) {
+        statementCount++;
+        dbNanos += nanos;
+        if (!batch) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+        
+        if (slowest.size() < SLOWEST || nanos > slowest.get(slowest.size() - 1).nanos()) {
+            int index = 0;
+            while (index < slowest.size() && slowest.get(index).nanos() >= nanos) {
+                index++;
+            }
+            slowest.add(index, new Statement(sql, nanos));
+            if (slowest.size() > SLOWEST) {
+                slowest.remove(SLOWEST);
+            }
+        }
+    }
+    
+    /**
+     * Controller method serving the request ("CardController.searchCards"), once the handler is resolved
+     */
+    public String getHandler() {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "unmapped";
+    }
+    
+    public int getStatementCount() {
+        return statementCount;
+    }
+    
+    public long getDbNanos() {
+        return dbNanos;
+    }
+    
+    public List<Statement> getSlowest() {
+        return slowest;
+    }
+    
+    /**
+     * Identical statements executed at least threshold times: the signature of an N+1 access pattern
+     */
+    public Map<String, Integer> getRepeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+    
+    /**
+     * Server-Timing header value, e.g. {@code db;dur=12.4;desc="5 statements"}
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements\"", dbNanos / 1e6, statementCount);
+    }
+    
+    /**
+     * An executed statement and how long it took
+     */
+    public record Statement(String sql, long nanos) {
+        
+        public double millis() {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cardboardgarden.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement (JPA and JdbcTemplate alike), attributes it to the current request's
+ * {@link SqlRequestStats} and reports statements slower than the configured threshold.
+ *
+ * Within a {@link RequestDeadline}, each statement's query timeout is capped at the remaining budget
+ * (lowering any timeout Hibernate set from its query hint) and restored afterwards. A request that
+ * is out of time or was cancelled cannot start new statements.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementListener.class);
+    
+    private static final String START = "startNanos";
+    private static final String PREVIOUS_TIMEOUT = "previousQueryTimeout";
+    private static final int MAX_LOGGED_SQL = 500;
+    
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final long slowQueryNanos;
+    
+    /**
+     * The registry is looked up on first use, since the DataSource is wrapped before metrics are set up
+     */
+    public SqlStatementListener(Supplier<MeterRegistry> meterRegistry, long slowQueryMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryMillis * 1_000_000;
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            applyDeadline(deadline, execInfo);
+        }
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : 0;
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.record(sql, nanos, execInfo.isBatch());
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            releaseDeadline(deadline, execInfo);
+        }
+        
+        if (nanos >= slowQueryNanos) {
+            String handler = stats != null ? stats.getHandler() : "background";
+            meterRegistry.get().counter("sql.slow.queries", "handler", handler).increment();
+            logger.warn("Slow SQL ({} ms{}) in {}: {}", nanos / 1_000_000,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", handler, abbreviate(sql));
+        }
+    }
+    
+    private void applyDeadline(RequestDeadline deadline, ExecutionInfo execInfo) {
+        RequestDeadline.Reason reason = deadline.checkStart();
+        if (reason != null) {
+            countCancelled(reason);
+            throw new QueryTimeoutException("Request cancelled (" + reason.getTag() + ") before the statement started");
+        }
+        Statement statement = execInfo.getStatement();
+        try {
+            int seconds = (int) Math.max(1, (deadline.getRemainingMillis() + 999) / 1000);
+            int previous = statement.getQueryTimeout();
+            if (previous == 0 || seconds < previous) {
+                statement.setQueryTimeout(seconds);
+                execInfo.addCustomValue(PREVIOUS_TIMEOUT, previous);
+            }
+        } catch (SQLException e) {
+            logger.debug("Could not set query timeout: {}", e.getMessage());
+        }
+        deadline.started(statement);
+    }
+    
+    private void releaseDeadline(RequestDeadline deadline, ExecutionInfo execInfo) {
+        Statement statement = execInfo.getStatement();
+        deadline.finished(statement);
+        Integer previous = execInfo.getCustomValue(PREVIOUS_TIMEOUT, Integer.class);
+        if (previous != null) {
+            try {
+                // Pooled statements may be reused outside this request
+                statement.setQueryTimeout(previous);
+            } catch (SQLException e) {
+                logger.debug("Could not restore query timeout: {}", e.getMessage());
+            }
+        }
+        
+        if (execInfo.getThrowable() != null) {
+            RequestDeadline.Reason reason = deadline.getCancelReason();
+            if (reason == null && execInfo.getThrowable() instanceof SQLTimeoutException) {
+                reason = deadline.markTimedOut();
+            }
+            if (reason != null) {
+                countCancelled(reason);
+            }
+        }
+    }
+    
+    private void countCancelled(RequestDeadline.Reason reason) {
+        meterRegistry.get().counter("sql.statements.cancelled", "reason", reason.getTag()).increment();
+    }
+    
+    static String abbreviate(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_LOGGED_SQL ? flat : flat.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+}
@@ -1,5 +1,6 @@
 package com.cardboardgarden.controller;
 
+import com.cardboardgarden.config.RequestCancelledException;
 import com.cardboardgarden.dto.LoginRequest;
 import com.cardboardgarden.dto.RegisterRequest;
 import com.cardboardgarden.service.AuthService;
@@ -38,6 +39,7 @@ public class AuthController {
             }
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Registration endpoint error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of(
@@ -62,6 +64,7 @@ public class AuthController {
             }
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Login endpoint error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of(
@@ -86,6 +89,7 @@ public class AuthController {
             }
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Email verification endpoint error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of(
@@ -105,6 +109,7 @@ public class AuthController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Forgot password endpoint error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of(
@@ -1,17 +1,43 @@
 package com.cardboardgarden.controller;
 
+import com.cardboardgarden.config.ContentNegotiation;
+import com.cardboardgarden.config.RequestCancelledException;
+import com.cardboardgarden.dto.CardBatchRequest;
+import com.cardboardgarden.dto.CardEnvelope;
 import com.cardboardgarden.entity.Card;
-import com.cardboardgarden.repository.CardRepository;
+import com.cardboardgarden.service.CardLookupService;
+import com.cardboardgarden.service.CardNameIndex;
+import com.cardboardgarden.service.CardQueryCoalescer;
+import com.cardboardgarden.service.CardSearchService;
+import com.cardboardgarden.service.CatalogHealthIndicator;
+import com.cardboardgarden.service.ExportService;
+import com.cardboardgarden.service.WarmupSample;
+import com.cardboardgarden.service.cardjson.CardJsonEnvelope;
+import com.cardboardgarden.service.cardjson.CardJsonStore;
+import com.cardboardgarden.service.catalog.CardFace;
+import com.cardboardgarden.service.catalog.CatalogFilter;
+import com.cardboardgarden.service.catalog.FuzzyNameIndex;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,38 +49,90 @@ public class CardController {
     
     private static final Logger logger = LoggerFactory.getLogger(CardController.class);
     
+    private static final int MAX_BATCH_SIZE = 1000;
+    
+    private static final int MAX_SUGGESTIONS = 20;
+    
+    @Autowired
+    private CardQueryCoalescer cardQueryCoalescer;
+    
+    @Autowired
+    private CardLookupService cardLookupService;
+    
+    @Autowired
+    private CardNameIndex cardNameIndex;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private CardJsonStore cardJsonStore;
+    
+    @Autowired
+    private CardSearchService cardSearchService;
+    
+    @Autowired
+    private WarmupSample warmupSample;
+    
     @Autowired
-    private CardRepository cardRepository;
+    private CatalogHealthIndicator catalogHealthIndicator;
     
     /**
-     * Search cards by name
+     * Search cards by name. A search without results is retried against every card face; with
+     * fuzzy=true it then falls back to typo-tolerant matching and returns the closest cards plus
+     * did-you-mean suggestions
      */
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> searchCards(
+    public ResponseEntity<?> searchCards(
             @RequestParam String name,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Card> cards = cardRepository.findByNameContainingIgnoreCase(name, pageable);
+            Page<Card> cards = cardQueryCoalescer.findByName(name, pageable);
+            if (cards.getTotalElements() == 0) {
+                cards = cardSearchService.searchFaces(name, pageable);
+            }
             
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "cards", cards.getContent(),
-                "totalElements", cards.getTotalElements(),
-                "totalPages", cards.getTotalPages(),
-                "currentPage", cards.getNumber(),
-                "pageSize", cards.getSize()
-            ));
+            if (fuzzy && cards.getTotalElements() == 0) {
+                return fuzzyResponse(name, pageable);
+            }
+            return cardsResponse(cards);
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Card search error for name: {}", name, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Card search failed"
-                    ));
+                    .body(CardEnvelope.error("Card search failed"));
+        }
+    }
+    
+    /**
+     * Did-you-mean candidates for a (possibly misspelled) card name, ranked by edit distance
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestCards(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        try {
+            List<Map<String, Object>> suggestions = new ArrayList<>();
+            for (FuzzyNameIndex.Match match : cardSearchService.suggest(name, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS))) {
+                Map<String, Object> suggestion = new LinkedHashMap<>();
+                suggestion.put("name", match.name());
+                suggestion.put("distance", match.distance());
+                suggestion.put("prefix", match.prefix());
+                suggestions.add(suggestion);
+            }
+            return ResponseEntity.ok(CardEnvelope.success().with("suggestions", suggestions));
+            
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Card suggestion error for name: {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(CardEnvelope.error("Card suggestion failed"));
         }
     }
     
@@ -62,31 +140,22 @@ public class CardController {
      * Search cards by alternative names using Oracle ID
      */
     @GetMapping("/search/alternative")
-    public ResponseEntity<Map<String, Object>> searchAlternativeCards(
+    public ResponseEntity<?> searchAlternativeCards(
             @RequestParam String name,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Card> cards = cardRepository.findAlternativeCardsByName(name, pageable);
+            Page<Card> cards = cardQueryCoalescer.findAlternatives(name, pageable);
             
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "cards", cards.getContent(),
-                "totalElements", cards.getTotalElements(),
-                "totalPages", cards.getTotalPages(),
-                "currentPage", cards.getNumber(),
-                "pageSize", cards.getSize()
-            ));
+            return cardsResponse(cards);
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Alternative card search error for name: {}", name, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Alternative card search failed"
-                    ));
+                    .body(CardEnvelope.error("Alternative card search failed"));
         }
     }
     
@@ -94,26 +163,126 @@ public class CardController {
      * Get card by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getCard(@PathVariable String id) {
+    public ResponseEntity<?> getCard(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
         try {
-            Optional<Card> cardOpt = cardRepository.findById(id);
+            warmupSample.recordCard(id);
+            if (acceptsBinary()) {
+                Optional<Card> cardOpt = cardLookupService.getCard(id);
+                return cardOpt.isPresent()
+                        ? ResponseEntity.ok(CardEnvelope.success().with("card", cardOpt.get()))
+                        : ResponseEntity.notFound().build();
+            }
             
-            if (cardOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
+            // Pre-rendered at sync time: no query and no serialization
+            if (ContentNegotiation.acceptsGzip(acceptEncoding)) {
+                byte[] gzip = cardJsonStore.getDetailGzip(id);
+                if (gzip != null) {
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                            .body(gzip);
+                }
+            }
+            
+            byte[] json = cardJsonStore.getJson(id);
+            if (json == null) {
+                Optional<Card> cardOpt = cardLookupService.getCard(id);
+                
+                if (cardOpt.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                json = cardJsonStore.toJson(cardOpt.get());
             }
             
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "card", cardOpt.get()
-            ));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(CardJsonEnvelope.card(json));
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Get card error for ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Failed to retrieve card"
-                    ));
+                    .body(CardEnvelope.error("Failed to retrieve card"));
+        }
+    }
+    
+    /**
+     * Faces of a split or double-faced card (name, mana cost, type line, oracle text, images),
+     * empty for single-faced cards
+     */
+    @GetMapping("/{id}/faces")
+    public ResponseEntity<?> getCardFaces(@PathVariable Long id) {
+        try {
+            List<CardFace> faces = cardSearchService.getFaces(id);
+            if (faces == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(CardEnvelope.success().with("faces", faces));
+            
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Get card faces error for ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(CardEnvelope.error("Failed to retrieve card faces"));
+        }
+    }
+    
+    /**
+     * Get many cards in one request, by ID or by name with optional set and collector number.
+     * Results keep request order (IDs first, then name references) and mark cards that were not found.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<CardEnvelope> getCardsBatch(@Valid @RequestBody CardBatchRequest request) {
+        int requested = request.getIds().size() + request.getCards().size();
+        if (requested == 0 || requested > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(CardEnvelope.error("Request between 1 and " + MAX_BATCH_SIZE + " cards"));
+        }
+        
+        try {
+            List<Long> resolvedIds = new ArrayList<>(requested);
+            resolvedIds.addAll(request.getIds());
+            for (CardBatchRequest.CardReference reference : request.getCards()) {
+                resolvedIds.add(cardNameIndex.resolve(reference.getName(), reference.getSet(), reference.getCollectorNumber()));
+            }
+            
+            Map<Long, Card> cards = cardLookupService.getCards(resolvedIds);
+            
+            List<Map<String, Object>> results = new ArrayList<>(requested);
+            int found = 0;
+            for (int i = 0; i < resolvedIds.size(); i++) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                if (i < request.getIds().size()) {
+                    result.put("id", request.getIds().get(i));
+                } else {
+                    CardBatchRequest.CardReference reference = request.getCards().get(i - request.getIds().size());
+                    result.put("name", reference.getName());
+                    result.put("set", reference.getSet());
+                    result.put("collectorNumber", reference.getCollectorNumber());
+                }
+                
+                Card card = resolvedIds.get(i) != null ? cards.get(resolvedIds.get(i)) : null;
+                result.put("found", card != null);
+                if (card != null) {
+                    result.put("card", card);
+                    found++;
+                }
+                results.add(result);
+            }
+            
+            return ResponseEntity.ok(CardEnvelope.success()
+                    .with("results", results)
+                    .with("requested", requested)
+                    .with("found", found)
+                    .with("notFound", requested - found));
+            
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Batch card lookup error for {} cards", requested, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(CardEnvelope.error("Batch card lookup failed"));
         }
     }
     
@@ -121,32 +290,22 @@ public class CardController {
      * Get cards by set
      */
     @GetMapping("/set/{setCode}")
-    public ResponseEntity<Map<String, Object>> getCardsBySet(
+    public ResponseEntity<?> getCardsBySet(
             @PathVariable String setCode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Card> cards = cardRepository.findBySetCodeIgnoreCase(setCode, pageable);
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "cards", cards.getContent(),
-                "totalElements", cards.getTotalElements(),
-                "totalPages", cards.getTotalPages(),
-                "currentPage", cards.getNumber(),
-                "pageSize", cards.getSize(),
-                "setCode", setCode
-            ));
+            Page<Card> cards = cardQueryCoalescer.findBySet(setCode, pageable);
+            
+            return cardsResponse(cards, "setCode", setCode);
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Get cards by set error for set: {}", setCode, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Failed to retrieve cards by set"
-                    ));
+                    .body(CardEnvelope.error("Failed to retrieve cards by set"));
         }
     }
     
@@ -154,32 +313,75 @@ public class CardController {
      * Get cards by rarity
      */
     @GetMapping("/rarity/{rarity}")
-    public ResponseEntity<Map<String, Object>> getCardsByRarity(
+    public ResponseEntity<?> getCardsByRarity(
             @PathVariable String rarity,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Card> cards = cardRepository.findByRarityIgnoreCase(rarity, pageable);
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "cards", cards.getContent(),
-                "totalElements", cards.getTotalElements(),
-                "totalPages", cards.getTotalPages(),
-                "currentPage", cards.getNumber(),
-                "pageSize", cards.getSize(),
-                "rarity", rarity
-            ));
+            Page<Card> cards = cardQueryCoalescer.findByRarity(rarity, pageable);
+            
+            return cardsResponse(cards, "rarity", rarity);
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Get cards by rarity error for rarity: {}", rarity, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Failed to retrieve cards by rarity"
-                    ));
+                    .body(CardEnvelope.error("Failed to retrieve cards by rarity"));
+        }
+    }
+    
+    /**
+     * Filter the whole catalog on several attributes at once (all optional, combined with AND),
+     * answered from the in-memory catalog snapshot. identity keeps cards whose color identity fits
+     * within the given colors; format keeps cards legal in that format
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterCards(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String set,
+            @RequestParam(required = false) String rarity,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String artist,
+            @RequestParam(required = false) String layout,
+            @RequestParam(required = false) String text,
+            @RequestParam(required = false) Boolean doubleFaced,
+            @RequestParam(required = false) Integer manaValueMin,
+            @RequestParam(required = false) Integer manaValueMax,
+            @RequestParam(required = false) String identity,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CatalogFilter filter;
+        try {
+            filter = new CatalogFilter()
+                    .name(name)
+                    .setCode(set)
+                    .rarity(rarity)
+                    .type(type)
+                    .artist(artist)
+                    .layout(layout)
+                    .text(text)
+                    .doubleFaced(doubleFaced)
+                    .manaValue(manaValueMin, manaValueMax)
+                    .identity(identity)
+                    .format(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(CardEnvelope.error(e.getMessage()));
+        }
+        
+        try {
+            Page<Card> cards = cardSearchService.search(filter, PageRequest.of(page, size));
+            
+            return cardsResponse(cards);
+            
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Filter cards error", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(CardEnvelope.error("Failed to filter cards"));
         }
     }
     
@@ -187,10 +389,11 @@ public class CardController {
      * Get all cards with filters
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllCards(
+    public ResponseEntity<?> getAllCards(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String setCode,
             @RequestParam(required = false) String rarity,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
@@ -199,48 +402,127 @@ public class CardController {
             Page<Card> cards;
             
             if (name != null && !name.trim().isEmpty()) {
-                cards = cardRepository.findByNameContainingIgnoreCase(name.trim(), pageable);
+                cards = cardQueryCoalescer.findByName(name.trim(), pageable);
+                if (cards.getTotalElements() == 0) {
+                    cards = cardSearchService.searchFaces(name.trim(), pageable);
+                }
+                if (fuzzy && cards.getTotalElements() == 0) {
+                    return fuzzyResponse(name.trim(), pageable);
+                }
             } else if (setCode != null && !setCode.trim().isEmpty()) {
-                cards = cardRepository.findBySetCodeIgnoreCase(setCode.trim(), pageable);
+                cards = cardQueryCoalescer.findBySet(setCode.trim(), pageable);
             } else if (rarity != null && !rarity.trim().isEmpty()) {
-                cards = cardRepository.findByRarityIgnoreCase(rarity.trim(), pageable);
+                cards = cardQueryCoalescer.findByRarity(rarity.trim(), pageable);
             } else {
-                cards = cardRepository.findAll(pageable);
+                cards = cardQueryCoalescer.findAll(pageable);
             }
             
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "cards", cards.getContent(),
-                "totalElements", cards.getTotalElements(),
-                "totalPages", cards.getTotalPages(),
-                "currentPage", cards.getNumber(),
-                "pageSize", cards.getSize()
-            ));
+            return cardsResponse(cards);
             
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Get all cards error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Failed to retrieve cards"
-                    ));
+                    .body(CardEnvelope.error("Failed to retrieve cards"));
+        }
+    }
+    
+    /**
+     * Stream the whole catalog (or one set) as newline-delimited JSON or CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String set) {
+        
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String setCode = set != null && !set.isBlank() ? set.trim() : null;
+        String filename = (setCode != null ? "cards-" + setCode : "cards") + "." + exportFormat.getExtension();
+        StreamingResponseBody body = output -> exportService.writeCards(output, exportFormat, setCode);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Paged card response: assembled from pre-rendered card JSON, or left to content
+     * negotiation when the client asked for a binary format
+     */
+    private ResponseEntity<?> cardsResponse(Page<Card> cards, Object... extraFields) throws IOException {
+        if (acceptsBinary()) {
+            CardEnvelope envelope = CardEnvelope.success()
+                    .with("cards", cards.getContent())
+                    .with("totalElements", cards.getTotalElements())
+                    .with("totalPages", cards.getTotalPages())
+                    .with("currentPage", cards.getNumber())
+                    .with("pageSize", cards.getSize());
+            for (int i = 0; i + 1 < extraFields.length; i += 2) {
+                envelope.put((String) extraFields[i], extraFields[i + 1]);
+            }
+            return ResponseEntity.ok(envelope);
+        }
+        
+        List<byte[]> rendered = new ArrayList<>(cards.getNumberOfElements());
+        for (Card card : cards.getContent()) {
+            rendered.add(cardJsonStore.toJson(card));
+        }
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("totalElements", cards.getTotalElements());
+        fields.put("totalPages", cards.getTotalPages());
+        fields.put("currentPage", cards.getNumber());
+        fields.put("pageSize", cards.getSize());
+        for (int i = 0; i + 1 < extraFields.length; i += 2) {
+            fields.put((String) extraFields[i], extraFields[i + 1]);
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(CardJsonEnvelope.cards(rendered, fields, cardJsonStore.getWriter()));
+    }
+    
+    /**
+     * Cards of the closest fuzzy name matches, with the ranked suggestions alongside
+     */
+    private ResponseEntity<?> fuzzyResponse(String name, Pageable pageable) throws IOException {
+        CardSearchService.FuzzyResult result = cardSearchService.fuzzySearch(name, MAX_SUGGESTIONS, pageable);
+        return cardsResponse(result.cards(), "fuzzy", true, "suggestions", result.suggestions());
+    }
+    
+    /**
+     * Whether the Accept header asks for CBOR, Smile or Protobuf with a quality above zero
+     */
+    private static boolean acceptsBinary() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
         }
+        return ContentNegotiation.binaryType(attributes.getRequest().getHeader(HttpHeaders.ACCEPT)) != null;
     }
     
     /**
-     * Health check endpoint
+     * Health check endpoint, answered from the cached catalog state rather than counting rows
      */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         try {
-            long cardCount = cardRepository.count();
-            return ResponseEntity.ok(Map.of(
-                "status", "OK",
-                "message", "Cards service is running",
-                "cardCount", cardCount,
-                "timestamp", System.currentTimeMillis()
-            ));
+            Health catalog = catalogHealthIndicator.health();
+            boolean up = Status.UP.equals(catalog.getStatus());
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", up ? "OK" : "ERROR");
+            response.put("message", up ? "Cards service is running" : "Card catalog is not available");
+            response.put("cardCount", catalog.getDetails().get("cards"));
+            response.put("timestamp", System.currentTimeMillis());
+            return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
         } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
             logger.error("Cards health check error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of(
@@ -0,0 +1,90 @@
+package com.cardboardgarden.controller;
+
+import com.cardboardgarden.config.RequestCancelledException;
+import com.cardboardgarden.dto.PriceCandle;
+import com.cardboardgarden.service.pricing.PriceHistoryService;
+import com.cardboardgarden.service.pricing.PriceResolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@RestController
+@RequestMapping("/api/cards/{id}/prices")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CardPriceController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CardPriceController.class);
+    
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+    
+    /**
+     * Get price history for a card, downsampled to daily/weekly/monthly candles
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "daily") String resolution,
+            @RequestParam(defaultValue = "usd") String type) {
+        
+        PriceResolution priceResolution;
+        try {
+            priceResolution = PriceResolution.fromParameter(resolution);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Resolution must be one of daily, weekly or monthly"
+            ));
+        }
+        
+        if (!PriceHistoryService.PRICE_TYPES.contains(type)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Type must be one of " + String.join(", ", new TreeSet<>(PriceHistoryService.PRICE_TYPES))
+            ));
+        }
+        
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "'from' must not be after 'to'"
+            ));
+        }
+        
+        try {
+            List<PriceCandle> candles = priceHistoryService.getCandles(id, type, start, end, priceResolution);
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "cardId", id,
+                "priceType", type,
+                "resolution", priceResolution.name().toLowerCase(),
+                "from", start,
+                "to", end,
+                "candles", candles
+            ));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Price history error for card ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to retrieve price history"
+                    ));
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.cardboardgarden.controller;
+
+import com.cardboardgarden.config.RequestCancelledException;
+import com.cardboardgarden.dto.CollectionEntryRequest;
+import com.cardboardgarden.dto.CollectionEntryUpdateRequest;
+import com.cardboardgarden.entity.CollectionEntry;
+import com.cardboardgarden.entity.User;
+import com.cardboardgarden.service.CollectionImportParser;
+import com.cardboardgarden.service.CollectionService;
+import com.cardboardgarden.service.CollectionStatsService;
+import com.cardboardgarden.service.ExportService;
+import com.cardboardgarden.service.SetCompletionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/collection")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CollectionController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CollectionController.class);
+    
+    @Autowired
+    private CollectionService collectionService;
+    
+    @Autowired
+    private CollectionStatsService collectionStatsService;
+    
+    @Autowired
+    private SetCompletionService setCompletionService;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    /**
+     * Get the current user's collection
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCollection(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        try {
+            Page<CollectionEntry> entries = collectionService.getCollection(user.getId(), PageRequest.of(page, size));
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "entries", entries.getContent(),
+                "totalElements", entries.getTotalElements(),
+                "totalPages", entries.getTotalPages(),
+                "currentPage", entries.getNumber(),
+                "pageSize", entries.getSize()
+            ));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Get collection error for user: {}", user.getId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to retrieve collection"
+                    ));
+        }
+    }
+    
+    /**
+     * Stream the current user's whole collection as newline-delimited JSON or CSV
+     * (the CSV uses the columns the importer reads)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCollection(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Long userId = user.getId();
+        StreamingResponseBody body = output -> exportService.writeCollection(output, exportFormat, userId);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"collection." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Get totals, per-game and per-set statistics for the current user's collection
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(collectionStatsService.getStats(user.getId()));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Collection stats error for user: {}", user.getId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to retrieve collection statistics"
+                    ));
+        }
+    }
+    
+    /**
+     * Get "X of Y collected" for every set the current user owns cards from
+     */
+    @GetMapping("/sets")
+    public ResponseEntity<Map<String, Object>> getSetCompletion(@AuthenticationPrincipal User user) {
+        try {
+            List<Map<String, Object>> sets = setCompletionService.getSetCompletion(user.getId());
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "sets", sets,
+                "count", sets.size()
+            ));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Set completion error for user: {}", user.getId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to retrieve set completion"
+                    ));
+        }
+    }
+    
+    /**
+     * Get the cards of a set missing from the current user's collection
+     */
+    @GetMapping("/sets/{setCode}/missing")
+    public ResponseEntity<Map<String, Object>> getMissingCards(
+            @AuthenticationPrincipal User user,
+            @PathVariable String setCode) {
+        
+        try {
+            Map<String, Object> completion = setCompletionService.getMissing(user.getId(), setCode);
+            
+            if (completion == null) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            completion.put("success", true);
+            return ResponseEntity.ok(completion);
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Missing cards error for user: {}, set: {}", user.getId(), setCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to retrieve missing cards"
+                    ));
+        }
+    }
+    
+    /**
+     * Add a card to the current user's collection
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> addEntry(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody CollectionEntryRequest request) {
+        
+        try {
+            CollectionEntry entry = collectionService.addEntry(user.getId(), request);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "entry", entry
+            ));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Add collection entry error for user: {}", user.getId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to add card to collection"
+                    ));
+        }
+    }
+    
+    /**
+     * Update a collection entry; fields left out keep their value
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> updateEntry(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            @Valid @RequestBody CollectionEntryUpdateRequest request) {
+        
+        try {
+            Optional<CollectionEntry> entry = collectionService.updateEntry(user.getId(), id, request);
+            
+            if (entry.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "entry", entry.get()
+            ));
+
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created an entry with the same card, condition and finish
+            logger.info("Update collection entry conflict for entry: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Another entry with this condition and finish already exists"
+                    ));
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Update collection entry error for entry: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to update collection entry"
+                    ));
+        }
+    }
+    
+    /**
+     * Remove a collection entry
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> deleteEntry(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id) {
+        
+        try {
+            if (!collectionService.deleteEntry(user.getId(), id)) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Collection entry removed"
+            ));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Delete collection entry error for entry: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Failed to remove collection entry"
+                    ));
+        }
+    }
+    
+    /**
+     * Bulk import a pasted decklist or a CSV export (request body is the raw text)
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importCollection(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "auto") String format,
+            HttpServletRequest request) {
+        
+        CollectionImportParser.Format importFormat;
+        try {
+            importFormat = CollectionImportParser.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Format must be one of auto, decklist or csv"
+            ));
+        }
+        
+        Charset charset;
+        try {
+            charset = request.getCharacterEncoding() != null
+                    ? Charset.forName(request.getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            // Unknown or malformed charset in the Content-Type
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Unsupported charset: " + request.getCharacterEncoding()
+            ));
+        }
+        
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            return ResponseEntity.ok(collectionService.importCollection(user.getId(), reader, importFormat));
+
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Collection import error for user: {}", user.getId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Collection import failed"
+                    ));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.cardboardgarden.controller;
+
+import com.cardboardgarden.config.RequestCancelledException;
+import com.cardboardgarden.entity.User;
+import com.cardboardgarden.service.diagnostics.FlightRecorderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Diagnostics for operators; every endpoint requires a user listed in app.admin.usernames
+ */
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+public class DiagnosticsController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsController.class);
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+    
+    @Value("${app.admin.usernames:}")
+    private List<String> adminUsernames;
+    
+    /**
+     * Download the last minutes of the continuous flight recording, for JDK Mission Control or
+     * the jfr tool
+     */
+    @GetMapping("/flight-recording")
+    public ResponseEntity<StreamingResponseBody> flightRecording(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "10") int minutes) {
+        
+        if (user == null || !adminUsernames.contains(user.getUsername())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!flightRecorderService.isRecording()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        
+        try {
+            long window = Math.min(Math.max(minutes, 1), flightRecorderService.getMaxAgeMinutes());
+            Path file = flightRecorderService.dump(Duration.ofMinutes(window));
+            long size = Files.size(file);
+            StreamingResponseBody body = output -> {
+                try {
+                    Files.copy(file, output);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            };
+            logger.info("Flight recording of the last {} minutes ({} bytes) dumped for {}", window, size, user.getUsername());
+            
+            String filename = "cardboard-garden-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(size)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                    .body(body);
+            
+        } catch (Exception e) {
+            RequestCancelledException.rethrowIfCancelled(e);
+            logger.error("Flight recording dump failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
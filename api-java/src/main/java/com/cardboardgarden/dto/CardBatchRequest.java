@@ -0,0 +1,78 @@
+package com.cardboardgarden.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CardBatchRequest {
+    
+    @Size(max = 1000, message = "At most 1000 card IDs per request")
+    private List<Long> ids = new ArrayList<>();
+    
+    @Valid
+    @Size(max = 1000, message = "At most 1000 card references per request")
+    private List<@NotNull(message = "Card references must not be null") CardReference> cards = new ArrayList<>();
+    
+    // Constructors
+    public CardBatchRequest() {}
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    // An explicit null means none, like leaving the field out
+    public void setIds(List<Long> ids) {
+        this.ids = ids != null ? ids : new ArrayList<>();
+    }
+    
+    public List<CardReference> getCards() {
+        return cards;
+    }
+    
+    public void setCards(List<CardReference> cards) {
+        this.cards = cards != null ? cards : new ArrayList<>();
+    }
+    
+    /**
+     * A card identified by name, optionally narrowed to a set and collector number
+     */
+    public static class CardReference {
+        
+        @Size(max = 255, message = "Name must not exceed 255 characters")
+        private String name;
+        
+        private String set;
+        
+        private String collectorNumber;
+        
+        public CardReference() {}
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public String getSet() {
+            return set;
+        }
+        
+        public void setSet(String set) {
+            this.set = set;
+        }
+        
+        public String getCollectorNumber() {
+            return collectorNumber;
+        }
+        
+        public void setCollectorNumber(String collectorNumber) {
+            this.collectorNumber = collectorNumber;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.cardboardgarden.dto;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Response body of the card endpoints: a plain map for JSON, CBOR and Smile,
+ * and a typed target for the Protobuf converter (see src/main/proto/card.proto).
+ */
+public class CardEnvelope extends LinkedHashMap<String, Object> {
+    
+    public static CardEnvelope success() {
+        CardEnvelope envelope = new CardEnvelope();
+        envelope.put("success", true);
+        return envelope;
+    }
+    
+    public static CardEnvelope error(String message) {
+        CardEnvelope envelope = new CardEnvelope();
+        envelope.put("success", false);
+        envelope.put("message", message);
+        return envelope;
+    }
+    
+    public CardEnvelope with(String key, Object value) {
+        put(key, value);
+        return this;
+    }
+}
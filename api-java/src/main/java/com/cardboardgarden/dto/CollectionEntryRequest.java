@@ -0,0 +1,100 @@
+package com.cardboardgarden.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class CollectionEntryRequest {
+    
+    @NotNull(message = "Card ID is required")
+    private Long cardId;
+    
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity = 1;
+    
+    private Integer conditionId;
+    
+    private Boolean foil = false;
+    
+    @DecimalMin(value = "0.00", message = "Purchase price must not be negative")
+    private BigDecimal purchasePrice;
+    
+    private LocalDate purchaseDate;
+    
+    private String notes;
+    
+    @Size(max = 100, message = "Location must not exceed 100 characters")
+    private String location;
+    
+    // Constructors
+    public CollectionEntryRequest() {}
+    
+    // Getters and Setters
+    public Long getCardId() {
+        return cardId;
+    }
+    
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public Integer getConditionId() {
+        return conditionId;
+    }
+    
+    public void setConditionId(Integer conditionId) {
+        this.conditionId = conditionId;
+    }
+    
+    public Boolean getFoil() {
+        return foil;
+    }
+    
+    public void setFoil(Boolean foil) {
+        this.foil = foil;
+    }
+    
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+    
+    public void setPurchasePrice(BigDecimal purchasePrice) {
+        this.purchasePrice = purchasePrice;
+    }
+    
+    public LocalDate getPurchaseDate() {
+        return purchaseDate;
+    }
+    
+    public void setPurchaseDate(LocalDate purchaseDate) {
+        this.purchaseDate = purchaseDate;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cardboardgarden.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Partial update of a collection entry (PUT /api/collection/{id}); fields left out or null keep
+ * their current value, and the card itself cannot be changed
+ */
+public class CollectionEntryUpdateRequest {
+    
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    private Integer conditionId;
+    
+    private Boolean foil;
+    
+    @DecimalMin(value = "0.00", message = "Purchase price must not be negative")
+    private BigDecimal purchasePrice;
+    
+    private LocalDate purchaseDate;
+    
+    private String notes;
+    
+    @Size(max = 100, message = "Location must not exceed 100 characters")
+    private String location;
+    
+    // Constructors
+    public CollectionEntryUpdateRequest() {}
+    
+    // Getters and Setters
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public Integer getConditionId() {
+        return conditionId;
+    }
+    
+    public void setConditionId(Integer conditionId) {
+        this.conditionId = conditionId;
+    }
+    
+    public Boolean getFoil() {
+        return foil;
+    }
+    
+    public void setFoil(Boolean foil) {
+        this.foil = foil;
+    }
+    
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+    
+    public void setPurchasePrice(BigDecimal purchasePrice) {
+        this.purchasePrice = purchasePrice;
+    }
+    
+    public LocalDate getPurchaseDate() {
+        return purchaseDate;
+    }
+    
+    public void setPurchaseDate(LocalDate purchaseDate) {
+        this.purchaseDate = purchaseDate;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
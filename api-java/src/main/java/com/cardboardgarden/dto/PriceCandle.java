@@ -0,0 +1,78 @@
+package com.cardboardgarden.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Open/high/low/close summary of one price bucket
+ */
+public class PriceCandle {
+    
+    private LocalDate periodStart;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private int points;
+    
+    // Constructors
+    public PriceCandle() {}
+    
+    public PriceCandle(LocalDate periodStart, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close, int points) {
+        this.periodStart = periodStart;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.points = points;
+    }
+    
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+    
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+    
+    public BigDecimal getOpen() {
+        return open;
+    }
+    
+    public void setOpen(BigDecimal open) {
+        this.open = open;
+    }
+    
+    public BigDecimal getHigh() {
+        return high;
+    }
+    
+    public void setHigh(BigDecimal high) {
+        this.high = high;
+    }
+    
+    public BigDecimal getLow() {
+        return low;
+    }
+    
+    public void setLow(BigDecimal low) {
+        this.low = low;
+    }
+    
+    public BigDecimal getClose() {
+        return close;
+    }
+    
+    public void setClose(BigDecimal close) {
+        this.close = close;
+    }
+    
+    public int getPoints() {
+        return points;
+    }
+    
+    public void setPoints(int points) {
+        this.points = points;
+    }
+}
@@ -1,7 +1,10 @@
 package com.cardboardgarden.entity;
 
+import com.cardboardgarden.config.RawJsonSerializer;
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.LocalDateTime;
 
@@ -87,9 +90,14 @@ public class Card {
     private String layout;
     
     @Column(name = "card_faces", columnDefinition = "JSON")
-    @JsonProperty("card_faces")
+    @JsonIgnore
     private String cardFaces;
     
+    // cardFaces once checked to be a JSON array, "" when it is not; null until first serialized
+    @Transient
+    @JsonIgnore
+    private volatile String cardFacesJson;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -292,5 +300,22 @@ public class Card {
     
     public void setCardFaces(String cardFaces) {
         this.cardFaces = cardFaces;
+        this.cardFacesJson = null;
+    }
+    
+    /**
+     * Faces as a JSON array in responses (the stored JSON is written as is), null for single-faced cards.
+     * The column is parsed once per loaded card; a truncated or malformed value is left out rather than
+     * breaking the whole response
+     */
+    @JsonProperty("card_faces")
+    @JsonSerialize(using = RawJsonSerializer.class)
+    public String getCardFacesJson() {
+        String json = cardFacesJson;
+        if (json == null) {
+            json = RawJsonSerializer.isJsonArray(cardFaces) ? cardFaces : "";
+            cardFacesJson = json;
+        }
+        return json.isEmpty() ? null : json;
     }
 }
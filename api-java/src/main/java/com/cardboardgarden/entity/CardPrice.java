@@ -0,0 +1,103 @@
+package com.cardboardgarden.entity;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "card_prices")
+public class CardPrice {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "card_id", nullable = false)
+    @JsonProperty("card_id")
+    private Long cardId;
+    
+    @Column(name = "price_source", nullable = false)
+    @JsonProperty("price_source")
+    private String priceSource;
+    
+    @Column(name = "price_type", nullable = false)
+    @JsonProperty("price_type")
+    private String priceType;
+    
+    @Column(name = "price_value")
+    @JsonProperty("price_value")
+    private BigDecimal priceValue;
+    
+    @Column(name = "price_date", nullable = false)
+    @JsonProperty("price_date")
+    private LocalDate priceDate;
+    
+    @Column(name = "created_at")
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCardId() {
+        return cardId;
+    }
+    
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+    
+    public String getPriceSource() {
+        return priceSource;
+    }
+    
+    public void setPriceSource(String priceSource) {
+        this.priceSource = priceSource;
+    }
+    
+    public String getPriceType() {
+        return priceType;
+    }
+    
+    public void setPriceType(String priceType) {
+        this.priceType = priceType;
+    }
+    
+    public BigDecimal getPriceValue() {
+        return priceValue;
+    }
+    
+    public void setPriceValue(BigDecimal priceValue) {
+        this.priceValue = priceValue;
+    }
+    
+    public LocalDate getPriceDate() {
+        return priceDate;
+    }
+    
+    public void setPriceDate(LocalDate priceDate) {
+        this.priceDate = priceDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,189 @@
+package com.cardboardgarden.entity;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "collection")
+public class CollectionEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    @JsonProperty("user_id")
+    private Long userId;
+    
+    @Column(name = "game_id", nullable = false)
+    @JsonProperty("game_id")
+    private Integer gameId;
+    
+    @Column(name = "external_card_id", nullable = false)
+    @JsonProperty("external_card_id")
+    private Long externalCardId;
+    
+    @Column(name = "condition_id")
+    @JsonProperty("condition_id")
+    private Integer conditionId;
+    
+    @Column(nullable = false)
+    private Integer quantity = 1;
+    
+    @Column(name = "purchase_price")
+    @JsonProperty("purchase_price")
+    private BigDecimal purchasePrice;
+    
+    @Column(name = "purchase_date")
+    @JsonProperty("purchase_date")
+    private LocalDate purchaseDate;
+    
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+    
+    @Column(name = "is_foil")
+    @JsonProperty("is_foil")
+    private Boolean isFoil = false;
+    
+    @Column(name = "is_first_edition")
+    @JsonProperty("is_first_edition")
+    private Boolean isFirstEdition = false;
+    
+    private String location;
+    
+    @Column(name = "created_at")
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Integer getGameId() {
+        return gameId;
+    }
+    
+    public void setGameId(Integer gameId) {
+        this.gameId = gameId;
+    }
+    
+    public Long getExternalCardId() {
+        return externalCardId;
+    }
+    
+    public void setExternalCardId(Long externalCardId) {
+        this.externalCardId = externalCardId;
+    }
+    
+    public Integer getConditionId() {
+        return conditionId;
+    }
+    
+    public void setConditionId(Integer conditionId) {
+        this.conditionId = conditionId;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+    
+    public void setPurchasePrice(BigDecimal purchasePrice) {
+        this.purchasePrice = purchasePrice;
+    }
+    
+    public LocalDate getPurchaseDate() {
+        return purchaseDate;
+    }
+    
+    public void setPurchaseDate(LocalDate purchaseDate) {
+        this.purchaseDate = purchaseDate;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public Boolean getIsFoil() {
+        return isFoil;
+    }
+    
+    public void setIsFoil(Boolean isFoil) {
+        this.isFoil = isFoil;
+    }
+    
+    public Boolean getIsFirstEdition() {
+        return isFirstEdition;
+    }
+    
+    public void setIsFirstEdition(Boolean isFirstEdition) {
+        this.isFirstEdition = isFirstEdition;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
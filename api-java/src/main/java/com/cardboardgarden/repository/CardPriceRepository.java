@@ -0,0 +1,26 @@
+package com.cardboardgarden.repository;
+
+import com.cardboardgarden.entity.CardPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CardPriceRepository extends JpaRepository<CardPrice, Long> {
+    
+    /**
+     * Full price history for a card, oldest first
+     */
+    @Query("SELECT p FROM CardPrice p WHERE p.cardId = :cardId ORDER BY p.priceDate, p.id")
+    List<CardPrice> findByCardIdOrderByPriceDate(@Param("cardId") Long cardId);
+    
+    /**
+     * Price history for a card recorded after the given date, oldest first
+     */
+    @Query("SELECT p FROM CardPrice p WHERE p.cardId = :cardId AND p.priceDate > :after ORDER BY p.priceDate, p.id")
+    List<CardPrice> findByCardIdAndPriceDateAfter(@Param("cardId") Long cardId, @Param("after") LocalDate after);
+}
@@ -4,14 +4,18 @@ import com.cardboardgarden.entity.Card;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, String> {
+public interface CardRepository extends JpaRepository<Card, Long> {
     
     /**
      * Search cards by name (case-insensitive, partial match) with pagination
@@ -71,7 +75,10 @@ public interface CardRepository extends JpaRepository<Card, String> {
     
     /**
      * Find cards with double faces (for maintenance)
+     *
+     * @deprecated full-table string comparison; use the doubleFaced filter or the catalog snapshot's face table
      */
+    @Deprecated
     @Query("SELECT c FROM Card c WHERE c.cardFaces IS NOT NULL AND c.cardFaces != '' AND c.cardFaces != 'null'")
     List<Card> findCardsWithFaces();
     
@@ -86,8 +93,22 @@ public interface CardRepository extends JpaRepository<Card, String> {
            "ORDER BY c.name")
     List<Card> searchCards(
         @Param("name") String name,
-        @Param("setCode") String setCode, 
+        @Param("setCode") String setCode,
         @Param("rarity") String rarity,
         @Param("typeLine") String typeLine
     );
+    
+    /**
+     * Forward-only stream over every card in ID order (MySQL row streaming; needs an open transaction)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT c FROM Card c ORDER BY c.id")
+    Stream<Card> streamAll();
+    
+    /**
+     * Forward-only stream over the cards of one set in ID order
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT c FROM Card c WHERE LOWER(c.setCode) = LOWER(:setCode) ORDER BY c.id")
+    Stream<Card> streamBySetCode(@Param("setCode") String setCode);
 }
@@ -0,0 +1,50 @@
+package com.cardboardgarden.repository;
+
+import com.cardboardgarden.entity.CollectionEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface CollectionRepository extends JpaRepository<CollectionEntry, Long> {
+    
+    /**
+     * Collection entries for a user with pagination, newest first
+     */
+    @Query("SELECT e FROM CollectionEntry e WHERE e.userId = :userId ORDER BY e.createdAt DESC, e.id DESC")
+    Page<CollectionEntry> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Find an entry only if it belongs to the user
+     */
+    Optional<CollectionEntry> findByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Find the entry matching the collection's unique key (user, game, card, condition, foil)
+     */
+    @Query("SELECT e FROM CollectionEntry e WHERE e.userId = :userId AND e.gameId = :gameId " +
+           "AND e.externalCardId = :cardId AND e.conditionId = :conditionId AND e.isFoil = :foil")
+    Optional<CollectionEntry> findByKey(
+        @Param("userId") Long userId,
+        @Param("gameId") Integer gameId,
+        @Param("cardId") Long cardId,
+        @Param("conditionId") Integer conditionId,
+        @Param("foil") Boolean foil
+    );
+    
+    /**
+     * Forward-only stream over a user's entries in ID order (needs an open transaction)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT e FROM CollectionEntry e WHERE e.userId = :userId ORDER BY e.id")
+    Stream<CollectionEntry> streamByUserId(@Param("userId") Long userId);
+}
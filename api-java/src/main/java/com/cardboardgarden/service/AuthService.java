@@ -8,6 +8,9 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +46,9 @@ public class AuthService implements UserDetailsService {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${app.jwt.secret}")
     private String jwtSecret;
     
@@ -52,6 +58,27 @@ public class AuthService implements UserDetailsService {
     @Value("${app.verification.expiration}")
     private int verificationExpiration;
     
+    // BCrypt and JWT costs, the CPU-bound part of registration, login and every authenticated request
+    private Timer passwordHashTimer;
+    private Timer passwordVerifyTimer;
+    private Timer tokenSignTimer;
+    private Timer tokenVerifyTimer;
+    
+    @PostConstruct
+    public void init() {
+        passwordHashTimer = authTimer("auth.password", "hash");
+        passwordVerifyTimer = authTimer("auth.password", "verify");
+        tokenSignTimer = authTimer("auth.jwt", "sign");
+        tokenVerifyTimer = authTimer("auth.jwt", "verify");
+    }
+    
+    private Timer authTimer(String name, String operation) {
+        return Timer.builder(name)
+                .description("Time spent in " + name.substring(5) + " " + operation)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+    
     /**
      * Register a new user
      */
@@ -77,7 +104,7 @@ public class AuthService implements UserDetailsService {
             User user = new User();
             user.setUsername(request.getUsername());
             user.setEmail(request.getEmail());
-            user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            user.setPasswordHash(passwordHashTimer.record(() -> passwordEncoder.encode(request.getPassword())));
             user.setFirstName(request.getFirstName());
             user.setLastName(request.getLastName());
             user.setEmailVerified(false);
@@ -130,7 +157,8 @@ public class AuthService implements UserDetailsService {
             User user = userOpt.get();
             
             // Check password
-            if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+            boolean matches = passwordVerifyTimer.record(() -> passwordEncoder.matches(request.getPassword(), user.getPasswordHash()));
+            if (!matches) {
                 response.put("success", false);
                 response.put("message", "Invalid credentials");
                 return response;
@@ -269,7 +297,11 @@ public class AuthService implements UserDetailsService {
     /**
      * Generate JWT token
      */
-    private String generateToken(User user) {
+    public String generateToken(User user) {
+        return tokenSignTimer.record(() -> signToken(user));
+    }
+    
+    private String signToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
@@ -286,19 +318,28 @@ public class AuthService implements UserDetailsService {
     }
     
     /**
-     * Validate JWT token
+     * Verify a JWT's signature and expiry and return its claims, or null when the token is invalid
      */
-    public boolean validateToken(String token) {
+    public Claims parseToken(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             logger.error("Invalid JWT token", e);
-            return false;
+            return null;
+        } finally {
+            sample.stop(tokenVerifyTimer);
         }
     }
     
+    /**
+     * Validate JWT token
+     */
+    public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+    
     /**
      * Get username from JWT token
      */
@@ -0,0 +1,104 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.repository.CardRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Card lookups by ID through a bounded in-memory cache.
+ *
+ * Batch lookups take everything they can from the cache and load the rest with a single
+ * findAllById (one IN query). The cache is dropped after each catalog sync.
+ */
+@Service
+public class CardLookupService {
+    
+    @Autowired
+    private CardRepository cardRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.cards.cache-size:50000}")
+    private long cacheSize;
+    
+    private Cache<Long, Card> cache;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cards.lookup");
+    }
+    
+    public Optional<Card> getCard(Long id) {
+        Card card = cache.getIfPresent(id);
+        if (card == null) {
+            card = cardRepository.findById(id).orElse(null);
+            if (card != null) {
+                cache.put(id, card);
+            }
+        }
+        return Optional.ofNullable(card);
+    }
+    
+    /**
+     * Cards for the given IDs; IDs that do not exist are absent from the result
+     */
+    public Map<Long, Card> getCards(Iterable<Long> ids) {
+        Set<Long> wanted = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                wanted.add(id);
+            }
+        }
+        
+        Map<Long, Card> found = new HashMap<>(cache.getAllPresent(wanted));
+        if (found.size() < wanted.size()) {
+            wanted.removeAll(found.keySet());
+            for (Card card : cardRepository.findAllById(wanted)) {
+                found.put(card.getId(), card);
+                cache.put(card.getId(), card);
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Put cards another query already loaded into the cache (startup warm-up)
+     */
+    public void preload(Iterable<Card> cards) {
+        for (Card card : cards) {
+            cache.put(card.getId(), card);
+        }
+    }
+    
+    public long getCachedCardCount() {
+        return cache.estimatedSize();
+    }
+    
+    public double getCacheHitRate() {
+        return cache.stats().hitRate();
+    }
+    
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        cache.invalidateAll();
+    }
+}
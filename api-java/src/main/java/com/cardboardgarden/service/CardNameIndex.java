@@ -0,0 +1,61 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Lookup from card names (optionally with set code / collector number) to card IDs.
+ *
+ * Reads the current {@link CatalogSnapshot}, so lookups never touch the database and always see
+ * one consistent catalog version.
+ */
+@Component
+public class CardNameIndex {
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    /**
+     * Resolve a card, preferring the most specific key available; returns null when unknown
+     */
+    public Long resolve(String name, String setCode, String collectorNumber) {
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        String set = setCode != null && !setCode.isBlank() ? setCode.trim().toLowerCase(Locale.ROOT) : null;
+        
+        if (set != null && collectorNumber != null && !collectorNumber.isBlank()) {
+            int ordinal = catalog.findPrinting(set, collectorNumber.trim());
+            if (ordinal >= 0) {
+                return catalog.getId(ordinal);
+            }
+        }
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        
+        // Printings come newest first; a face name ("Insectile Aberration") is the fallback
+        int[] printings = catalog.findByName(name);
+        if (printings.length == 0) {
+            printings = catalog.findByFaceName(name);
+        }
+        if (printings.length == 0) {
+            return null;
+        }
+        if (set != null) {
+            int setCodeValue = catalog.findSet(set);
+            for (int ordinal : printings) {
+                if (setCodeValue >= 0 && catalog.getSet(ordinal) == setCodeValue) {
+                    return catalog.getId(ordinal);
+                }
+            }
+        }
+        return catalog.getId(printings[0]);
+    }
+    
+    public int size() {
+        return catalogSnapshotService.current().getLookupNameCount();
+    }
+}
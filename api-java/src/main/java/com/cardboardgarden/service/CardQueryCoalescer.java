@@ -0,0 +1,192 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.config.RequestDeadline;
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.repository.CardRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight front for the card repository's paged queries.
+ *
+ * Identical queries (same method, case-normalized argument, page and size) that arrive while one
+ * is running wait for that execution and share its page instead of issuing their own query and
+ * COUNT; the finished page is then reused for app.cards.coalesce.ttl-ms. The query runs on the
+ * thread of the request that started it, and a failure is handed to every waiting request
+ * without being cached. Cached pages are dropped when the catalog is synced.
+ *
+ * Waiting requests give up when their own {@link RequestDeadline} passes. If the request running
+ * the query is cancelled (its deadline passed or its client left), the waiting requests run the
+ * query again instead of failing with it.
+ *
+ * Queries are also counted in the {@link WarmupSample} replayed at the next start.
+ */
+@Service
+public class CardQueryCoalescer {
+    
+    @Autowired
+    private CardRepository cardRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private WarmupSample warmupSample;
+    
+    @Value("${app.cards.coalesce.ttl-ms:2000}")
+    private long ttlMs;
+    
+    @Value("${app.cards.coalesce.max-entries:10000}")
+    private long maxEntries;
+    
+    private AsyncCache<QueryKey, Page<Card>> results;
+    private Counter executed;
+    private Counter joined;
+    private Counter cached;
+    
+    @PostConstruct
+    public void init() {
+        results = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxEntries)
+                .buildAsync();
+        executed = outcomeCounter("executed");
+        joined = outcomeCounter("joined");
+        cached = outcomeCounter("cached");
+        Gauge.builder("cards.query.coalescing.ratio", this, CardQueryCoalescer::getCoalescingRatio)
+                .description("Share of card queries answered by another request's execution")
+                .register(meterRegistry);
+    }
+    
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("cards.query.requests")
+                .description("Card repository queries by whether they ran, joined an identical running query or reused its result")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    public Page<Card> findByName(String name, Pageable pageable) {
+        return query(new QueryKey("name", normalize(name), pageable),
+                () -> cardRepository.findByNameContainingIgnoreCase(name, pageable));
+    }
+    
+    public Page<Card> findAlternatives(String name, Pageable pageable) {
+        return query(new QueryKey("alternative", normalize(name), pageable),
+                () -> cardRepository.findAlternativeCardsByName(name, pageable));
+    }
+    
+    public Page<Card> findBySet(String setCode, Pageable pageable) {
+        return query(new QueryKey("set", normalize(setCode), pageable),
+                () -> cardRepository.findBySetCodeIgnoreCase(setCode, pageable));
+    }
+    
+    public Page<Card> findByRarity(String rarity, Pageable pageable) {
+        return query(new QueryKey("rarity", normalize(rarity), pageable),
+                () -> cardRepository.findByRarityIgnoreCase(rarity, pageable));
+    }
+    
+    public Page<Card> findAll(Pageable pageable) {
+        return query(new QueryKey("all", "", pageable), () -> cardRepository.findAll(pageable));
+    }
+    
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        results.synchronous().invalidateAll();
+    }
+    
+    /**
+     * Share of queries served by another request's execution, since startup
+     */
+    public double getCoalescingRatio() {
+        double shared = joined.count() + cached.count();
+        double total = shared + executed.count();
+        return total == 0 ? 0 : shared / total;
+    }
+    
+    /**
+     * Every query is counted for the warm-up sample once, however it is answered
+     */
+    private Page<Card> query(QueryKey key, Supplier<Page<Card>> query) {
+        warmupSample.recordQuery(key.method(), key.argument(), key.page(), key.size());
+        return coalesce(key, query);
+    }
+    
+    private Page<Card> coalesce(QueryKey key, Supplier<Page<Card>> query) {
+        CompletableFuture<Page<Card>> created = new CompletableFuture<>();
+        CompletableFuture<Page<Card>> existing = results.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            (existing.isDone() ? cached : joined).increment();
+            try {
+                return await(existing);
+            } catch (CancellationException e) {
+                // The request running it was cancelled; run it again under this request's deadline
+                return coalesce(key, query);
+            }
+        }
+        
+        executed.increment();
+        try {
+            Page<Card> page = query.get();
+            created.complete(page);
+            return page;
+        } catch (RuntimeException | Error e) {
+            // Failed futures are removed from the cache, so the next request runs the query again
+            RequestDeadline deadline = RequestDeadline.current();
+            if (deadline != null && deadline.getCancelReason() != null) {
+                created.cancel(false);
+            } else {
+                created.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+    
+    private static Page<Card> await(CompletableFuture<Page<Card>> future) {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            return deadline == null ? future.get() : future.get(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            deadline.markTimedOut();
+            throw new QueryTimeoutException("Request deadline passed while waiting for an identical query");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical query", e);
+        }
+    }
+    
+    /**
+     * All coalesced queries compare case-insensitively; whitespace is significant to LIKE and kept
+     */
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+    
+    private record QueryKey(String method, String argument, int page, int size) {
+        
+        QueryKey(String method, String argument, Pageable pageable) {
+            this(method, argument, pageable.getPageNumber(), pageable.getPageSize());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.catalog.CardFace;
+import com.cardboardgarden.service.catalog.CatalogFilter;
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotService;
+import com.cardboardgarden.service.catalog.FuzzyNameIndex;
+import com.cardboardgarden.service.diagnostics.CardSearchEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-attribute card search answered from the in-memory catalog snapshot.
+ *
+ * The filter scan and ordering run over the snapshot's columns; only the cards on the requested
+ * page are loaded, through the card cache. Face searches and face details come from the
+ * snapshot's face table, parsed once per catalog version. Fuzzy "did you mean" matching uses a
+ * {@link FuzzyNameIndex} built on first use for each catalog snapshot.
+ */
+@Service
+public class CardSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CardSearchService.class);
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Autowired
+    private CardLookupService cardLookupService;
+    
+    private volatile FuzzyIndex fuzzyIndex;
+    
+    /**
+     * One page of matching cards ordered by name
+     */
+    public Page<Card> search(CatalogFilter filter, Pageable pageable) {
+        CardSearchEvent event = new CardSearchEvent();
+        event.begin();
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        Page<Card> cards = page(catalog, filter.find(catalog), pageable);
+        commit(event, "filter", filter, cards.getTotalElements());
+        return cards;
+    }
+    
+    /**
+     * Cards whose name or any face name contains the query, ordered by name. Catches back faces
+     * ("Insectile Aberration") that a search on the cards table's name column can miss.
+     */
+    public Page<Card> searchFaces(String name, Pageable pageable) {
+        return search(new CatalogFilter().name(name), pageable);
+    }
+    
+    /**
+     * Faces of a card from the snapshot's face table, or null when the card is unknown
+     */
+    public List<CardFace> getFaces(long id) {
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        int ordinal = catalog.ordinalOf(id);
+        return ordinal < 0 ? null : catalog.getFaces(ordinal);
+    }
+    
+    /**
+     * Ranked did-you-mean candidates for a misspelled name, one per Oracle card
+     */
+    public List<FuzzyNameIndex.Match> suggest(String name, int limit) {
+        CardSearchEvent event = new CardSearchEvent();
+        event.begin();
+        FuzzyIndex index = getFuzzyIndex();
+        List<FuzzyNameIndex.Match> matches = index.names().find(index.catalog(), name, limit);
+        commit(event, "suggest", name, matches.size());
+        return matches;
+    }
+    
+    /**
+     * Cards of the best fuzzy matches for a name, with the suggestions in the same order
+     */
+    public FuzzyResult fuzzySearch(String name, int limit, Pageable pageable) {
+        CardSearchEvent event = new CardSearchEvent();
+        event.begin();
+        FuzzyIndex index = getFuzzyIndex();
+        List<FuzzyNameIndex.Match> matches = index.names().find(index.catalog(), name, limit);
+        
+        int[] ordinals = new int[matches.size()];
+        List<Map<String, Object>> suggestions = new ArrayList<>(matches.size());
+        for (int i = 0; i < ordinals.length; i++) {
+            FuzzyNameIndex.Match match = matches.get(i);
+            ordinals[i] = match.ordinal();
+            Map<String, Object> suggestion = new LinkedHashMap<>();
+            suggestion.put("name", match.name());
+            suggestion.put("cardId", index.catalog().getId(match.ordinal()));
+            suggestion.put("distance", match.distance());
+            suggestion.put("prefix", match.prefix());
+            suggestions.add(suggestion);
+        }
+        FuzzyResult result = new FuzzyResult(page(index.catalog(), ordinals, pageable), suggestions);
+        commit(event, "fuzzy", name, matches.size());
+        return result;
+    }
+    
+    /**
+     * Fill in and commit a search event; the query is only rendered when the event is recorded
+     */
+    private static void commit(CardSearchEvent event, String kind, Object query, long resultCount) {
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.query = String.valueOf(query);
+            event.resultCount = resultCount;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Page of cards from matches in catalog order
+     */
+    private Page<Card> page(CatalogSnapshot catalog, int[] matches, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), matches.length);
+        int to = Math.min(from + pageable.getPageSize(), matches.length);
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(catalog.getId(matches[i]));
+        }
+        
+        Map<Long, Card> cards = cardLookupService.getCards(ids);
+        List<Card> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Card card = cards.get(id);
+            if (card != null) {
+                content.add(card);
+            }
+        }
+        return new PageImpl<>(content, pageable, matches.length);
+    }
+    
+    private FuzzyIndex getFuzzyIndex() {
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        FuzzyIndex index = fuzzyIndex;
+        if (index == null || index.catalog() != catalog) {
+            synchronized (this) {
+                index = fuzzyIndex;
+                if (index == null || index.catalog() != catalog) {
+                    long start = System.currentTimeMillis();
+                    index = new FuzzyIndex(catalog, FuzzyNameIndex.build(catalog));
+                    fuzzyIndex = index;
+                    logger.info("Fuzzy name index built with {} names in {} ms",
+                            index.names().size(), System.currentTimeMillis() - start);
+                }
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * Cards and did-you-mean entries of a fuzzy search
+     */
+    public record FuzzyResult(Page<Card> cards, List<Map<String, Object>> suggestions) {
+    }
+    
+    private record FuzzyIndex(CatalogSnapshot catalog, FuzzyNameIndex names) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+
+/**
+ * Readiness of the card catalog ("catalog" in /actuator/health/readiness).
+ *
+ * Reads only state the application already keeps: the published {@link CatalogSnapshot} and the
+ * outcome of the last {@link CatalogSyncMonitor} poll, which doubles as the database check. A probe
+ * therefore never queries the database, and the instance reports down once the database has not
+ * answered a poll for longer than app.health.catalog-max-poll-age-ms.
+ */
+@Component
+public class CatalogHealthIndicator implements HealthIndicator {
+    
+    @Autowired
+    private CatalogSyncMonitor catalogSyncMonitor;
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Value("${app.health.catalog-max-poll-age-ms:300000}")
+    private long maxPollAgeMs;
+    
+    @Override
+    public Health health() {
+        CatalogSnapshot snapshot = catalogSnapshotService.peek();
+        long lastPoll = catalogSyncMonitor.getLastPollMillis();
+        long pollAge = System.currentTimeMillis() - lastPoll;
+        
+        Health.Builder builder = snapshot != null && lastPoll != 0 && pollAge <= maxPollAgeMs
+                ? Health.up()
+                : Health.down();
+        if (snapshot != null) {
+            builder.withDetail("cards", snapshot.size())
+                   .withDetail("catalogVersion", new Timestamp(snapshot.getVersion()).toString());
+        } else {
+            builder.withDetail("cards", "snapshot not built yet");
+        }
+        if (lastPoll != 0) {
+            builder.withDetail("lastDatabasePollMs", pollAge);
+        }
+        if (catalogSyncMonitor.getLastPollError() != null) {
+            builder.withDetail("databaseError", catalogSyncMonitor.getLastPollError());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.cardboardgarden.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+
+/**
+ * Detects card catalog syncs and announces them with a {@link CatalogSyncedEvent}.
+ *
+ * The sync script (api/scripts/sync-database.js) writes the completion time to
+ * sync_metadata.last_bulk_sync; databases populated without it fall back to MAX(cards.updated_at).
+ */
+@Component
+public class CatalogSyncMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSyncMonitor.class);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private volatile long lastSyncMillis;
+    private volatile long lastPollMillis;
+    private volatile String lastPollError;
+    
+    /**
+     * Poll the sync marker and publish an event when it moves forward
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.poll-interval-ms:60000}")
+    public void poll() {
+        try {
+            long syncMillis = readLastSyncMillis();
+            if (syncMillis > lastSyncMillis) {
+                long previous = lastSyncMillis;
+                lastSyncMillis = syncMillis;
+                if (previous != 0) {
+                    logger.info("Card catalog sync detected at {}", new Timestamp(syncMillis));
+                }
+                eventPublisher.publishEvent(new CatalogSyncedEvent(this, syncMillis));
+            }
+            lastPollMillis = System.currentTimeMillis();
+            lastPollError = null;
+        } catch (Exception e) {
+            lastPollError = e.getMessage();
+            logger.warn("Failed to check card catalog sync state: {}", e.getMessage());
+        }
+    }
+    
+    public long getLastSyncMillis() {
+        return lastSyncMillis;
+    }
+    
+    /**
+     * When the database last answered a poll, or 0 before the first successful poll
+     */
+    public long getLastPollMillis() {
+        return lastPollMillis;
+    }
+    
+    /**
+     * Why the most recent poll failed, or null when it succeeded
+     */
+    public String getLastPollError() {
+        return lastPollError;
+    }
+    
+    /**
+     * Read the sync marker straight from the database, for callers that cannot wait for the first poll
+     */
+    public long readLastSyncMillis() {
+        Timestamp marker = null;
+        try {
+            marker = jdbcTemplate.query(
+                "SELECT updated_at FROM sync_metadata WHERE key_name = 'last_bulk_sync'",
+                rs -> rs.next() ? rs.getTimestamp(1) : null);
+        } catch (Exception e) {
+            logger.debug("sync_metadata not available: {}", e.getMessage());
+        }
+        if (marker == null) {
+            marker = jdbcTemplate.queryForObject("SELECT MAX(updated_at) FROM cards", Timestamp.class);
+        }
+        return marker != null ? marker.getTime() : 0;
+    }
+}
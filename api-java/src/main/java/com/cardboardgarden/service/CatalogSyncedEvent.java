@@ -0,0 +1,20 @@
+package com.cardboardgarden.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when the card catalog has been rewritten by a sync run
+ */
+public class CatalogSyncedEvent extends ApplicationEvent {
+    
+    private final long catalogVersion;
+    
+    public CatalogSyncedEvent(Object source, long catalogVersion) {
+        super(source);
+        this.catalogVersion = catalogVersion;
+    }
+    
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+}
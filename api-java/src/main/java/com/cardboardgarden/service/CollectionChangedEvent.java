@@ -0,0 +1,35 @@
+package com.cardboardgarden.service;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published (after commit) whenever a user's collection rows change
+ */
+public class CollectionChangedEvent extends ApplicationEvent {
+    
+    private final Long userId;
+    private final List<Delta> deltas;
+    
+    public CollectionChangedEvent(Object source, Long userId, List<Delta> deltas) {
+        super(source);
+        this.userId = userId;
+        this.deltas = deltas;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public List<Delta> getDeltas() {
+        return deltas;
+    }
+    
+    /**
+     * Quantity change of one collection row; purchasePrice is the new unit price, or null if unchanged
+     */
+    public record Delta(long cardId, int gameId, int conditionId, boolean foil, int quantityDelta, BigDecimal purchasePrice) {
+    }
+}
@@ -0,0 +1,302 @@
+package com.cardboardgarden.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming parser for pasted decklists and collection CSV exports.
+ *
+ * Decklists accept the usual "4 Lightning Bolt", "4x Lightning Bolt (M10) 146" and Arena/Moxfield
+ * "*F*" foil markers. CSV columns are matched by header name, covering the exports of Deckbox,
+ * Moxfield, ManaBox and TCGplayer. Input is read line by line; nothing is buffered beyond a line.
+ */
+public class CollectionImportParser {
+    
+    public static final int NEAR_MINT = 2;
+    
+    // Most copies of one card a line or a collection entry may hold; keeps the INT quantity far from overflowing
+    public static final int MAX_QUANTITY = 100_000;
+    
+    private static final String INVALID_QUANTITY = "Quantity must be between 1 and " + MAX_QUANTITY;
+    
+    private static final Pattern DECKLIST_LINE = Pattern.compile(
+        "^(?:(\\d+)\\s*[xX]?\\s+)?(.+?)(?:\\s+\\(([A-Za-z0-9]{2,6})\\)(?:\\s+([^\\s*]+))?)?(\\s+\\*[FE]\\*)?\\s*$");
+    
+    private static final Set<String> SECTION_HEADERS = Set.of(
+        "deck", "main", "mainboard", "sideboard", "commander", "companion", "maybeboard", "about");
+    
+    // Condition ids from the shared conditions table
+    private static final Map<String, Integer> CONDITIONS = Map.ofEntries(
+        Map.entry("m", 1), Map.entry("mint", 1),
+        Map.entry("nm", 2), Map.entry("near mint", 2), Map.entry("near_mint", 2),
+        Map.entry("ex", 3), Map.entry("excellent", 3),
+        Map.entry("gd", 4), Map.entry("good", 4),
+        Map.entry("lp", 5), Map.entry("light played", 5), Map.entry("lightly played", 5), Map.entry("lightly_played", 5),
+        Map.entry("mp", 6), Map.entry("pl", 6), Map.entry("played", 6), Map.entry("moderately played", 6), Map.entry("moderately_played", 6),
+        Map.entry("hp", 7), Map.entry("pr", 7), Map.entry("poor", 7), Map.entry("heavily played", 7), Map.entry("heavily_played", 7),
+        Map.entry("dmg", 7), Map.entry("damaged", 7)
+    );
+    
+    private static final String[] CONDITION_NAMES = {
+        null, "Mint", "Near Mint", "Excellent", "Good", "Lightly Played", "Played", "Poor"
+    };
+    
+    public enum Format {
+        AUTO, DECKLIST, CSV;
+        
+        public static Format fromParameter(String value) {
+            return value == null || value.isBlank() ? AUTO : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+    
+    /**
+     * One parsed line of input; gameId is null unless the CSV has a game column
+     */
+    public record ImportLine(int lineNumber, int quantity, String name, String setCode, String collectorNumber,
+                             int conditionId, boolean foil, BigDecimal purchasePrice, Integer gameId) {
+    }
+    
+    /**
+     * Receives parsed lines and lines that could not be parsed
+     */
+    public interface LineHandler {
+        void line(ImportLine line);
+        
+        void invalid(int lineNumber, String raw, String reason);
+    }
+    
+    /**
+     * Parse the whole input, calling the handler once per card line
+     */
+    public void parse(Reader input, Format format, LineHandler handler) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input, 64 * 1024);
+        int lineNumber = 0;
+        String line;
+        
+        // Skip leading blank lines and use the first real line to pick the format
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                break;
+            }
+        }
+        if (line == null) {
+            return;
+        }
+        
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        if (format == Format.AUTO) {
+            format = looksLikeCsvHeader(line) ? Format.CSV : Format.DECKLIST;
+        }
+        
+        if (format == Format.CSV) {
+            parseCsv(reader, line, lineNumber, handler);
+        } else {
+            do {
+                parseDecklistLine(line, lineNumber, handler);
+                lineNumber++;
+            } while ((line = reader.readLine()) != null);
+        }
+    }
+    
+    private void parseDecklistLine(String raw, int lineNumber, LineHandler handler) {
+        String line = raw.trim();
+        if (line.isEmpty() || line.startsWith("//") || line.startsWith("#")) {
+            return;
+        }
+        String header = line.endsWith(":") ? line.substring(0, line.length() - 1) : line;
+        if (SECTION_HEADERS.contains(header.toLowerCase(Locale.ROOT))) {
+            return;
+        }
+        if (line.regionMatches(true, 0, "SB:", 0, 3)) {
+            line = line.substring(3).trim();
+        }
+        
+        Matcher m = DECKLIST_LINE.matcher(line);
+        if (!m.matches()) {
+            handler.invalid(lineNumber, raw, "Unrecognized decklist line");
+            return;
+        }
+        int quantity = m.group(1) != null ? parseQuantity(m.group(1)) : 1;
+        if (quantity <= 0) {
+            handler.invalid(lineNumber, raw, INVALID_QUANTITY);
+            return;
+        }
+        handler.line(new ImportLine(lineNumber, quantity, m.group(2).trim(), m.group(3), m.group(4),
+                NEAR_MINT, m.group(5) != null, null, null));
+    }
+    
+    private void parseCsv(BufferedReader reader, String headerLine, int lineNumber, LineHandler handler) throws IOException {
+        List<String> headers = splitCsv(headerLine);
+        int quantityColumn = column(headers, "count", "quantity", "qty", "amount");
+        int nameColumn = column(headers, "name", "card name", "card");
+        int setCodeColumn = column(headers, "set code", "edition code", "setcode", "set_code");
+        int setColumn = setCodeColumn >= 0 ? setCodeColumn : column(headers, "edition", "set");
+        int numberColumn = column(headers, "collector number", "card number", "collector #", "number", "collector_number");
+        int conditionColumn = column(headers, "condition");
+        int foilColumn = column(headers, "foil", "printing", "finish");
+        int priceColumn = column(headers, "purchase price", "purchase_price", "acquired price", "price");
+        int gameColumn = column(headers, "game id", "game_id");
+        
+        if (nameColumn < 0) {
+            handler.invalid(lineNumber, headerLine, "CSV header has no card name column");
+            return;
+        }
+        
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            String name = field(fields, nameColumn);
+            if (name == null) {
+                handler.invalid(lineNumber, line, "Missing card name");
+                continue;
+            }
+            
+            String quantityText = field(fields, quantityColumn);
+            int quantity = quantityText != null ? parseQuantity(quantityText) : 1;
+            if (quantity <= 0) {
+                handler.invalid(lineNumber, line, INVALID_QUANTITY);
+                continue;
+            }
+            
+            // Deckbox puts the full set name in "Edition"; only short values are set codes
+            String set = field(fields, setColumn);
+            if (set != null && set.length() > 6) {
+                set = null;
+            }
+            
+            handler.line(new ImportLine(lineNumber, quantity, name, set, field(fields, numberColumn),
+                    parseCondition(field(fields, conditionColumn)), parseFoil(field(fields, foilColumn)),
+                    parsePrice(field(fields, priceColumn)), parseGameId(field(fields, gameColumn))));
+        }
+    }
+    
+    private static boolean looksLikeCsvHeader(String line) {
+        String lower = line.toLowerCase(Locale.ROOT);
+        return line.indexOf(',') >= 0 && (lower.contains("name") || lower.contains("count") || lower.contains("quantity"));
+    }
+    
+    private static int column(List<String> headers, String... aliases) {
+        for (String alias : aliases) {
+            for (int i = 0; i < headers.size(); i++) {
+                if (headers.get(i).trim().equalsIgnoreCase(alias)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    /**
+     * Split one CSV record, honouring double-quoted fields with "" escapes
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+    
+    /**
+     * Quantity of a line, or -1 when it is not a number or above {@link #MAX_QUANTITY}
+     */
+    private static int parseQuantity(String value) {
+        try {
+            int quantity = Integer.parseInt(value.trim());
+            return quantity <= MAX_QUANTITY ? quantity : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static Integer parseGameId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    static int parseCondition(String value) {
+        if (value == null) {
+            return NEAR_MINT;
+        }
+        return CONDITIONS.getOrDefault(value.trim().toLowerCase(Locale.ROOT), NEAR_MINT);
+    }
+    
+    /**
+     * Display name for a condition id, in a form {@link #parseCondition(String)} reads back
+     */
+    public static String conditionName(int conditionId) {
+        return conditionId > 0 && conditionId < CONDITION_NAMES.length ? CONDITION_NAMES[conditionId] : CONDITION_NAMES[NEAR_MINT];
+    }
+    
+    private static boolean parseFoil(String value) {
+        if (value == null) {
+            return false;
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        return lower.equals("foil") || lower.equals("etched") || lower.equals("true") || lower.equals("yes") || lower.equals("1");
+    }
+    
+    private static BigDecimal parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.replace("$", "").replace("€", "").trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
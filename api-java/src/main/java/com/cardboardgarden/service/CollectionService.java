@@ -0,0 +1,328 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.dto.CollectionEntryRequest;
+import com.cardboardgarden.dto.CollectionEntryUpdateRequest;
+import com.cardboardgarden.entity.CollectionEntry;
+import com.cardboardgarden.repository.CollectionRepository;
+import com.cardboardgarden.service.diagnostics.ImportBatchEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class CollectionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CollectionService.class);
+    
+    private static final int MAX_REPORTED_PROBLEMS = 100;
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO collection (user_id, game_id, external_card_id, condition_id, quantity, purchase_price, is_foil) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE quantity = LEAST(quantity + VALUES(quantity), " + CollectionImportParser.MAX_QUANTITY + "), " +
+        "purchase_price = COALESCE(VALUES(purchase_price), purchase_price)";
+    
+    @Autowired
+    private CollectionRepository collectionRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CardNameIndex cardNameIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.collection.game-id:2}")
+    private int gameId;
+    
+    @Value("${app.collection.import-batch-size:1000}")
+    private int importBatchSize;
+    
+    /**
+     * Get a page of the user's collection
+     */
+    public Page<CollectionEntry> getCollection(Long userId, Pageable pageable) {
+        return collectionRepository.findByUserId(userId, pageable);
+    }
+    
+    /**
+     * Add cards to the collection, merging with an existing entry of the same card, condition and finish
+     */
+    @Transactional
+    public CollectionEntry addEntry(Long userId, CollectionEntryRequest request) {
+        int conditionId = request.getConditionId() != null ? request.getConditionId() : CollectionImportParser.NEAR_MINT;
+        boolean foil = Boolean.TRUE.equals(request.getFoil());
+        int quantity = request.getQuantity() != null ? request.getQuantity() : 1;
+        
+        Optional<CollectionEntry> existing = collectionRepository.findByKey(userId, gameId, request.getCardId(), conditionId, foil);
+        CollectionEntry entry;
+        if (existing.isPresent()) {
+            entry = existing.get();
+            entry.setQuantity(entry.getQuantity() + quantity);
+        } else {
+            entry = new CollectionEntry();
+            entry.setUserId(userId);
+            entry.setGameId(gameId);
+            entry.setExternalCardId(request.getCardId());
+            entry.setConditionId(conditionId);
+            entry.setIsFoil(foil);
+            entry.setQuantity(quantity);
+        }
+        applyDetails(entry, request.getPurchasePrice(), request.getPurchaseDate(), request.getNotes(), request.getLocation());
+        
+        CollectionEntry saved = collectionRepository.save(entry);
+        publishChange(userId, List.of(delta(saved, quantity, request.getPurchasePrice())));
+        return saved;
+    }
+    
+    /**
+     * Update an entry owned by the user; only the fields present in the request change.
+     *
+     * If the new condition or finish matches another entry of the same card, the entry is merged
+     * into that one (quantities added) and the merged entry is returned.
+     */
+    @Transactional
+    public Optional<CollectionEntry> updateEntry(Long userId, Long entryId, CollectionEntryUpdateRequest request) {
+        Optional<CollectionEntry> entryOpt = collectionRepository.findByIdAndUserId(entryId, userId);
+        if (entryOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        CollectionEntry entry = entryOpt.get();
+        CollectionChangedEvent.Delta removed = delta(entry, -entry.getQuantity(), null);
+        int quantity = request.getQuantity() != null ? request.getQuantity() : entry.getQuantity();
+        Integer conditionId = request.getConditionId() != null ? request.getConditionId() : entry.getConditionId();
+        boolean foil = request.getFoil() != null ? request.getFoil() : Boolean.TRUE.equals(entry.getIsFoil());
+        
+        List<CollectionChangedEvent.Delta> deltas = new ArrayList<>();
+        deltas.add(removed);
+        CollectionEntry target = entry;
+        if (!Objects.equals(conditionId, entry.getConditionId()) || foil != Boolean.TRUE.equals(entry.getIsFoil())) {
+            Optional<CollectionEntry> duplicate = collectionRepository.findByKey(
+                    userId, entry.getGameId(), entry.getExternalCardId(), conditionId, foil);
+            if (duplicate.isPresent()) {
+                // Deleted before the other row changes, so the unique key is never violated
+                target = duplicate.get();
+                deltas.add(delta(target, -target.getQuantity(), null));
+                collectionRepository.delete(entry);
+                collectionRepository.flush();
+                quantity += target.getQuantity();
+            }
+        }
+        
+        target.setQuantity(quantity);
+        target.setConditionId(conditionId);
+        target.setIsFoil(foil);
+        applyDetails(target, request.getPurchasePrice(), request.getPurchaseDate(), request.getNotes(), request.getLocation());
+        
+        CollectionEntry saved = collectionRepository.save(target);
+        deltas.add(delta(saved, saved.getQuantity(), saved.getPurchasePrice()));
+        publishChange(userId, deltas);
+        return Optional.of(saved);
+    }
+    
+    /**
+     * Remove an entry owned by the user
+     */
+    @Transactional
+    public boolean deleteEntry(Long userId, Long entryId) {
+        Optional<CollectionEntry> entryOpt = collectionRepository.findByIdAndUserId(entryId, userId);
+        if (entryOpt.isEmpty()) {
+            return false;
+        }
+        CollectionEntry entry = entryOpt.get();
+        collectionRepository.delete(entry);
+        publishChange(userId, List.of(delta(entry, -entry.getQuantity(), null)));
+        return true;
+    }
+    
+    /**
+     * Bulk import a decklist or CSV export into the user's collection.
+     *
+     * The input is parsed as a stream and card names are resolved against the in-memory
+     * {@link CardNameIndex}; repeated cards are merged before a batched upsert, so a large
+     * import costs one round-trip per batch instead of a query per line.
+     */
+    @Transactional
+    public Map<String, Object> importCollection(Long userId, Reader input, CollectionImportParser.Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        Map<ImportKey, ImportRow> rows = new LinkedHashMap<>();
+        List<Map<String, Object>> unresolved = new ArrayList<>();
+        List<Map<String, Object>> invalid = new ArrayList<>();
+        int[] counts = new int[3]; // lines, unresolved, invalid
+        
+        new CollectionImportParser().parse(input, format, new CollectionImportParser.LineHandler() {
+            @Override
+            public void line(CollectionImportParser.ImportLine line) {
+                if (line.gameId() != null && line.gameId() != gameId) {
+                    // Names only resolve to Magic cards; another game's row must not become one
+                    invalid(line.lineNumber(), line.name(), "Card of another game (game ID " + line.gameId() + ")");
+                    return;
+                }
+                Long cardId = cardNameIndex.resolve(line.name(), line.setCode(), line.collectorNumber());
+                if (cardId == null) {
+                    counts[0]++;
+                    counts[1]++;
+                    if (unresolved.size() < MAX_REPORTED_PROBLEMS) {
+                        unresolved.add(Map.of("line", line.lineNumber(), "name", line.name()));
+                    }
+                    return;
+                }
+                
+                ImportKey key = new ImportKey(cardId, line.conditionId(), line.foil());
+                ImportRow merged = rows.get(key);
+                if (merged != null && merged.quantity + line.quantity() > CollectionImportParser.MAX_QUANTITY) {
+                    invalid(line.lineNumber(), line.name(),
+                            "More than " + CollectionImportParser.MAX_QUANTITY + " copies of this card in the import");
+                    return;
+                }
+                counts[0]++;
+                ImportRow row = rows.computeIfAbsent(key, k -> new ImportRow());
+                row.quantity += line.quantity();
+                if (line.purchasePrice() != null) {
+                    row.purchasePrice = line.purchasePrice();
+                }
+            }
+            
+            @Override
+            public void invalid(int lineNumber, String raw, String reason) {
+                counts[2]++;
+                if (invalid.size() < MAX_REPORTED_PROBLEMS) {
+                    invalid.add(Map.of("line", lineNumber, "text", raw, "reason", reason));
+                }
+            }
+        });
+        
+        List<Map.Entry<ImportKey, ImportRow>> entries = new ArrayList<>(rows.entrySet());
+        for (int from = 0; from < entries.size(); from += importBatchSize) {
+            List<Map.Entry<ImportKey, ImportRow>> batch = entries.subList(from, Math.min(from + importBatchSize, entries.size()));
+            ImportBatchEvent event = new ImportBatchEvent();
+            event.begin();
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, userId);
+                ps.setInt(2, gameId);
+                ps.setLong(3, entry.getKey().cardId());
+                ps.setInt(4, entry.getKey().conditionId());
+                ps.setInt(5, entry.getValue().quantity);
+                if (entry.getValue().purchasePrice != null) {
+                    ps.setBigDecimal(6, entry.getValue().purchasePrice);
+                } else {
+                    ps.setNull(6, Types.DECIMAL);
+                }
+                ps.setBoolean(7, entry.getKey().foil());
+            });
+            event.userId = userId;
+            event.format = format.name();
+            event.batch = from / importBatchSize;
+            event.rows = batch.size();
+            event.commit();
+        }
+        
+        int quantity = 0;
+        List<CollectionChangedEvent.Delta> deltas = new ArrayList<>(rows.size());
+        for (Map.Entry<ImportKey, ImportRow> entry : rows.entrySet()) {
+            ImportKey key = entry.getKey();
+            quantity += entry.getValue().quantity;
+            deltas.add(new CollectionChangedEvent.Delta(key.cardId(), gameId, key.conditionId(), key.foil(),
+                    entry.getValue().quantity, entry.getValue().purchasePrice));
+        }
+        publishChange(userId, deltas);
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Collection import for user {}: {} lines, {} entries upserted, {} unresolved in {} ms",
+                userId, counts[0], rows.size(), counts[1], duration);
+        recordImport(format, counts, rows.size(), duration);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("linesParsed", counts[0]);
+        response.put("entriesUpserted", rows.size());
+        response.put("quantityImported", quantity);
+        response.put("unresolvedCount", counts[1]);
+        response.put("unresolved", unresolved);
+        response.put("invalidCount", counts[2]);
+        response.put("invalid", invalid);
+        response.put("durationMs", duration);
+        return response;
+    }
+    
+    /**
+     * Import throughput: the rate of collection.import.lines against collection.import time
+     */
+    private void recordImport(CollectionImportParser.Format format, int[] counts, int entries, long durationMs) {
+        String tag = format.name().toLowerCase(Locale.ROOT);
+        Timer.builder("collection.import")
+                .description("Time to parse and upsert a collection import")
+                .tag("format", tag)
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+        meterRegistry.counter("collection.import.lines", "format", tag, "result", "resolved")
+                .increment(counts[0] - counts[1]);
+        meterRegistry.counter("collection.import.lines", "format", tag, "result", "unresolved").increment(counts[1]);
+        meterRegistry.counter("collection.import.lines", "format", tag, "result", "invalid").increment(counts[2]);
+        meterRegistry.counter("collection.import.entries", "format", tag).increment(entries);
+    }
+    
+    private void publishChange(Long userId, List<CollectionChangedEvent.Delta> deltas) {
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new CollectionChangedEvent(this, userId, deltas));
+        }
+    }
+    
+    private static CollectionChangedEvent.Delta delta(CollectionEntry entry, int quantityDelta, BigDecimal purchasePrice) {
+        return new CollectionChangedEvent.Delta(entry.getExternalCardId(), entry.getGameId(), entry.getConditionId(),
+                Boolean.TRUE.equals(entry.getIsFoil()), quantityDelta, purchasePrice);
+    }
+    
+    private static void applyDetails(CollectionEntry entry, BigDecimal purchasePrice, LocalDate purchaseDate,
+                                     String notes, String location) {
+        if (purchasePrice != null) {
+            entry.setPurchasePrice(purchasePrice);
+        }
+        if (purchaseDate != null) {
+            entry.setPurchaseDate(purchaseDate);
+        }
+        if (notes != null) {
+            entry.setNotes(notes);
+        }
+        if (location != null) {
+            entry.setLocation(location);
+        }
+    }
+    
+    private record ImportKey(long cardId, int conditionId, boolean foil) {
+    }
+    
+    private static final class ImportRow {
+        private int quantity;
+        private BigDecimal purchasePrice;
+    }
+}
@@ -0,0 +1,326 @@
+package com.cardboardgarden.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-user collection statistics (entries, quantity, invested, market value by game and set)
+ * in memory and maintains them incrementally.
+ *
+ * A user's aggregates are built from one query the first time they are requested. After that,
+ * collection changes arrive as {@link CollectionChangedEvent}s and new card_prices rows are picked
+ * up by polling past an id watermark; both are applied as deltas, so a 50k-row collection is never
+ * re-scanned to answer a stats request.
+ */
+@Service
+public class CollectionStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CollectionStatsService.class);
+    
+    private static final int ID_CHUNK = 1000;
+    private static final int PRICE_POLL_LIMIT = 50_000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.stats.max-users:10000}")
+    private long maxUsers;
+    
+    @Value("${app.stats.expire-minutes:120}")
+    private long expireMinutes;
+    
+    // cards and card_prices hold the Magic catalog; entries of other games have no set or market value here
+    @Value("${app.collection.game-id:2}")
+    private int magicGameId;
+    
+    private Cache<Long, UserCollectionStats> users;
+    
+    // Card -> loaded stats owning at least one copy; by instance, so dropping stale stats of a user
+    // never unregisters the stats that replaced them
+    private final Map<Long, Set<UserCollectionStats>> holders = new ConcurrentHashMap<>();
+    
+    // Card -> {usd cents, usd_foil cents, usd day, usd_foil day}
+    private final Map<Long, long[]> latestPrices = new ConcurrentHashMap<>();
+    private final Map<Long, String> cardSets = new ConcurrentHashMap<>();
+    
+    // Serializes delta application against price moves so market values stay consistent
+    private final Object applyLock = new Object();
+    private volatile long priceWatermark = -1;
+    
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .removalListener((Long userId, UserCollectionStats stats, RemovalCause cause) -> {
+                    if (stats != null) {
+                        for (Long cardId : stats.getCardIds()) {
+                            Set<UserCollectionStats> owners = holders.get(cardId);
+                            if (owners != null) {
+                                owners.remove(stats);
+                            }
+                        }
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "collection.stats");
+    }
+    
+    /**
+     * Statistics for a user's collection, served from memory once loaded
+     */
+    public Map<String, Object> getStats(Long userId) {
+        return users.get(userId, this::load).toResponse();
+    }
+    
+    public long getLoadedUserCount() {
+        return users.estimatedSize();
+    }
+    
+    public double getCacheHitRate() {
+        return users.stats().hitRate();
+    }
+    
+    /**
+     * Apply committed collection changes to users whose stats are loaded
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCollectionChanged(CollectionChangedEvent event) {
+        UserCollectionStats stats = users.getIfPresent(event.getUserId());
+        if (stats == null) {
+            // Also null while a load is in flight, and that load may have read the collection before this
+            // change committed. Invalidating waits for it and drops its result; the next request reloads
+            users.invalidate(event.getUserId());
+            return;
+        }
+        
+        List<Long> unknown = new ArrayList<>();
+        for (CollectionChangedEvent.Delta delta : event.getDeltas()) {
+            if (delta.gameId() == magicGameId && !cardSets.containsKey(delta.cardId())) {
+                unknown.add(delta.cardId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            loadCardSets(unknown);
+            loadLatestPrices(unknown);
+        }
+        
+        synchronized (applyLock) {
+            for (CollectionChangedEvent.Delta delta : event.getDeltas()) {
+                applyDelta(stats, delta);
+            }
+        }
+    }
+    
+    /**
+     * Pick up new card_prices rows and move market values of the users holding those cards
+     */
+    @Scheduled(fixedDelayString = "${app.stats.price-poll-ms:60000}")
+    public void pollPriceUpdates() {
+        if (priceWatermark < 0 || holders.isEmpty()) {
+            return;
+        }
+        
+        try {
+            int fetched;
+            do {
+                List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, card_id, price_type, price_value, price_date FROM card_prices " +
+                    "WHERE id > ? AND price_type IN ('usd', 'usd_foil') ORDER BY id LIMIT " + PRICE_POLL_LIMIT,
+                    (rs, i) -> new Object[] {rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBigDecimal(4), rs.getDate(5)},
+                    priceWatermark);
+                fetched = rows.size();
+                
+                synchronized (applyLock) {
+                    for (Object[] row : rows) {
+                        priceWatermark = Math.max(priceWatermark, (Long) row[0]);
+                        if (row[3] != null) {
+                            applyPrice((Long) row[1], "usd_foil".equals(row[2]),
+                                    UserCollectionStats.toCents((BigDecimal) row[3]), ((Date) row[4]).toLocalDate().toEpochDay());
+                        }
+                    }
+                }
+            } while (fetched == PRICE_POLL_LIMIT);
+
+        } catch (Exception e) {
+            logger.warn("Failed to poll price updates for collection stats: {}", e.getMessage());
+        }
+    }
+    
+    private UserCollectionStats load(Long userId) {
+        long start = System.currentTimeMillis();
+        if (priceWatermark < 0) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM card_prices", Long.class);
+            priceWatermark = maxId != null ? maxId : 0;
+        }
+        
+        List<CollectionChangedEvent.Delta> rows = new ArrayList<>();
+        jdbcTemplate.query(
+            "SELECT c.external_card_id, c.game_id, c.condition_id, c.is_foil, c.quantity, c.purchase_price, cards.set_code " +
+            "FROM collection c LEFT JOIN cards ON cards.id = c.external_card_id AND c.game_id = ? WHERE c.user_id = ?",
+            rs -> {
+                long cardId = rs.getLong(1);
+                rows.add(new CollectionChangedEvent.Delta(cardId, rs.getInt(2), rs.getInt(3), rs.getBoolean(4),
+                        rs.getInt(5), rs.getBigDecimal(6)));
+                String setCode = rs.getString(7);
+                if (setCode != null) {
+                    cardSets.putIfAbsent(cardId, setCode);
+                }
+            },
+            magicGameId, userId);
+        
+        Map<Long, long[]> prices = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT p.card_id, p.price_type, p.price_value, p.price_date FROM card_prices p " +
+            "JOIN (SELECT p2.card_id, p2.price_type, MAX(p2.price_date) AS latest FROM card_prices p2 " +
+            "      JOIN collection c ON c.external_card_id = p2.card_id " +
+            "      WHERE c.user_id = ? AND c.game_id = ? AND p2.price_type IN ('usd', 'usd_foil') " +
+            "      GROUP BY p2.card_id, p2.price_type) m " +
+            "ON m.card_id = p.card_id AND m.price_type = p.price_type AND m.latest = p.price_date",
+            rs -> {
+                if (rs.getBigDecimal(3) != null) {
+                    long[] price = prices.computeIfAbsent(rs.getLong(1), id -> new long[4]);
+                    int slot = "usd_foil".equals(rs.getString(2)) ? 1 : 0;
+                    price[slot] = UserCollectionStats.toCents(rs.getBigDecimal(3));
+                    price[slot + 2] = rs.getDate(4).toLocalDate().toEpochDay();
+                }
+            },
+            userId, magicGameId);
+        
+        UserCollectionStats stats = new UserCollectionStats(userId);
+        synchronized (applyLock) {
+            // Prices already tracked are kept current by the poller and win over this snapshot
+            prices.forEach(latestPrices::putIfAbsent);
+            for (CollectionChangedEvent.Delta row : rows) {
+                applyDelta(stats, row);
+            }
+        }
+        
+        logger.debug("Collection stats for user {} built from {} rows in {} ms",
+                userId, rows.size(), System.currentTimeMillis() - start);
+        return stats;
+    }
+    
+    private void applyDelta(UserCollectionStats stats, CollectionChangedEvent.Delta delta) {
+        if (delta.gameId() != magicGameId) {
+            // Card IDs of other games may collide with Magic card IDs, so no set, price or price updates
+            stats.apply(delta, null, (cardId, foil) -> 0);
+            return;
+        }
+        boolean stillHeld = stats.apply(delta, cardSets.get(delta.cardId()), this::latestCents);
+        if (stillHeld) {
+            holders.computeIfAbsent(delta.cardId(), id -> ConcurrentHashMap.newKeySet()).add(stats);
+        } else {
+            Set<UserCollectionStats> owners = holders.get(delta.cardId());
+            if (owners != null) {
+                owners.remove(stats);
+            }
+        }
+    }
+    
+    private void applyPrice(long cardId, boolean foil, long cents, long day) {
+        Set<UserCollectionStats> owners = holders.get(cardId);
+        if (owners == null || owners.isEmpty()) {
+            return;
+        }
+        
+        long[] price = latestPrices.computeIfAbsent(cardId, id -> new long[4]);
+        int slot = foil ? 1 : 0;
+        if (day < price[slot + 2]) {
+            return;
+        }
+        long deltaCents = cents - price[slot];
+        price[slot] = cents;
+        price[slot + 2] = day;
+        
+        if (deltaCents != 0) {
+            for (UserCollectionStats stats : owners) {
+                stats.applyPriceChange(magicGameId, cardId, foil, deltaCents);
+            }
+        }
+    }
+    
+    private long latestCents(long cardId, boolean foil) {
+        long[] price = latestPrices.get(cardId);
+        return price != null ? price[foil ? 1 : 0] : 0;
+    }
+    
+    private void loadCardSets(List<Long> cardIds) {
+        for (List<Long> chunk : chunks(cardIds)) {
+            namedParameterJdbcTemplate.query(
+                "SELECT id, set_code FROM cards WHERE id IN (:ids)",
+                Map.of("ids", chunk),
+                rs -> {
+                    if (rs.getString(2) != null) {
+                        cardSets.put(rs.getLong(1), rs.getString(2));
+                    }
+                });
+        }
+    }
+    
+    private void loadLatestPrices(List<Long> cardIds) {
+        Set<Long> missing = new HashSet<>();
+        for (Long cardId : cardIds) {
+            if (!latestPrices.containsKey(cardId)) {
+                missing.add(cardId);
+            }
+        }
+        for (List<Long> chunk : chunks(new ArrayList<>(missing))) {
+            namedParameterJdbcTemplate.query(
+                "SELECT p.card_id, p.price_type, p.price_value, p.price_date FROM card_prices p " +
+                "JOIN (SELECT card_id, price_type, MAX(price_date) AS latest FROM card_prices " +
+                "      WHERE card_id IN (:ids) AND price_type IN ('usd', 'usd_foil') GROUP BY card_id, price_type) m " +
+                "ON m.card_id = p.card_id AND m.price_type = p.price_type AND m.latest = p.price_date",
+                Map.of("ids", chunk),
+                rs -> {
+                    if (rs.getBigDecimal(3) != null) {
+                        long[] price = latestPrices.computeIfAbsent(rs.getLong(1), id -> new long[4]);
+                        int slot = "usd_foil".equals(rs.getString(2)) ? 1 : 0;
+                        synchronized (applyLock) {
+                            price[slot] = UserCollectionStats.toCents(rs.getBigDecimal(3));
+                            price[slot + 2] = rs.getDate(4).toLocalDate().toEpochDay();
+                        }
+                    }
+                });
+        }
+    }
+    
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += ID_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + ID_CHUNK)));
+        }
+        return chunks;
+    }
+}
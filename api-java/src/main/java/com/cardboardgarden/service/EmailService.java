@@ -1,5 +1,9 @@
 package com.cardboardgarden.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +16,7 @@ import org.thymeleaf.context.Context;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class EmailService {
@@ -24,12 +29,25 @@ public class EmailService {
     @Autowired
     private TemplateEngine templateEngine;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${spring.mail.from}")
     private String fromEmail;
     
     @Value("${app.base-url}")
     private String baseUrl;
     
+    // Sends currently waiting on the mail server; there is no queue, each one holds a request thread
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    @PostConstruct
+    public void init() {
+        Gauge.builder("email.send.in_flight", inFlight, AtomicInteger::get)
+                .description("Emails being handed to the mail server right now")
+                .register(meterRegistry);
+    }
+    
     /**
      * Send email verification email
      */
@@ -52,7 +70,7 @@ public class EmailService {
             String htmlContent = templateEngine.process("verification-email", context);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            send("verification-email", message);
             logger.info("Verification email sent to: {}", toEmail);
             
         } catch (MessagingException e) {
@@ -83,7 +101,7 @@ public class EmailService {
             String htmlContent = templateEngine.process("password-reset-email", context);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            send("password-reset-email", message);
             logger.info("Password reset email sent to: {}", toEmail);
             
         } catch (MessagingException e) {
@@ -113,7 +131,7 @@ public class EmailService {
             String htmlContent = templateEngine.process("welcome-email", context);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            send("welcome-email", message);
             logger.info("Welcome email sent to: {}", toEmail);
             
         } catch (MessagingException e) {
@@ -122,4 +140,24 @@ public class EmailService {
             logger.warn("Welcome email failed, but continuing with user registration");
         }
     }
+    
+    /**
+     * Hand a message to the mail server, timing the SMTP round-trip per template and outcome
+     */
+    private void send(String template, MimeMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        inFlight.incrementAndGet();
+        try {
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            inFlight.decrementAndGet();
+            sample.stop(Timer.builder("email.send")
+                    .description("Time to hand an email to the mail server")
+                    .tag("template", template)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
 }
@@ -0,0 +1,204 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.entity.CollectionEntry;
+import com.cardboardgarden.repository.CardRepository;
+import com.cardboardgarden.repository.CollectionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams the catalog or a user's collection as newline-delimited JSON or CSV.
+ *
+ * Rows come from a forward-only database stream and are detached as soon as they are written,
+ * so heap use does not grow with the export size. Output is flushed every few hundred rows;
+ * a client disconnect surfaces as an IOException on write and ends the export quietly.
+ */
+@Service
+public class ExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    
+    private static final String CARD_CSV_HEADER =
+        "id,name,set_code,set_name,collector_number,rarity,mana_cost,type_line,power,toughness,loyalty,artist,oracle_id,released_at";
+    
+    // Same columns the collection importer reads, so an export can be imported again
+    private static final String COLLECTION_CSV_HEADER =
+        "Count,Name,Set Code,Collector Number,Condition,Foil,Purchase Price,Card ID,Game ID";
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public static Format fromParameter(String value) {
+            return value == null || value.isBlank() ? NDJSON : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+    
+    @Autowired
+    private CardRepository cardRepository;
+    
+    @Autowired
+    private CollectionRepository collectionRepository;
+    
+    @Autowired
+    private SetCatalog setCatalog;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.export.flush-rows:500}")
+    private int flushRows;
+    
+    @Value("${app.collection.game-id:2}")
+    private int magicGameId;
+    
+    /**
+     * Write every card (or every card of one set); returns the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeCards(OutputStream output, Format format, String setCode) throws IOException {
+        try (Stream<Card> cards = setCode != null ? cardRepository.streamBySetCode(setCode) : cardRepository.streamAll()) {
+            return write(output, format, cards.iterator(), CARD_CSV_HEADER, ExportService::cardCsv, "catalog");
+        }
+    }
+    
+    /**
+     * Write a user's collection; returns the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeCollection(OutputStream output, Format format, Long userId) throws IOException {
+        SetCatalog.Snapshot catalog = setCatalog.getSnapshot();
+        try (Stream<CollectionEntry> entries = collectionRepository.streamByUserId(userId)) {
+            return write(output, format, entries.iterator(), COLLECTION_CSV_HEADER,
+                    entry -> collectionCsv(entry, catalog, magicGameId), "collection of user " + userId);
+        }
+    }
+    
+    private <T> long write(OutputStream output, Format format, Iterator<T> rows, String csvHeader,
+                           Function<T, String> csvLine, String description) throws IOException {
+        long start = System.currentTimeMillis();
+        ObjectWriter writer = objectMapper.writer();
+        OutputStream out = new BufferedOutputStream(output, 64 * 1024);
+        long count = 0;
+        
+        try {
+            if (format == Format.CSV) {
+                out.write(csvHeader.getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
+            
+            while (rows.hasNext()) {
+                T row = rows.next();
+                if (format == Format.CSV) {
+                    out.write(csvLine.apply(row).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(writer.writeValueAsBytes(row));
+                }
+                out.write('\n');
+                entityManager.detach(row);
+                
+                if (++count % flushRows == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+
+        } catch (IOException e) {
+            // Most likely the client went away; the stream and transaction are closed by the caller
+            logger.info("Export of {} stopped after {} rows: {}", description, count, e.getMessage());
+            return count;
+        }
+        
+        logger.info("Exported {} rows of {} as {} in {} ms",
+                count, description, format.getExtension(), System.currentTimeMillis() - start);
+        return count;
+    }
+    
+    private static String cardCsv(Card card) {
+        StringBuilder line = new StringBuilder(256);
+        line.append(card.getId());
+        appendCsv(line, card.getName());
+        appendCsv(line, card.getSetCode());
+        appendCsv(line, card.getSetName());
+        appendCsv(line, card.getCollectorNumber());
+        appendCsv(line, card.getRarity());
+        appendCsv(line, card.getManaCost());
+        appendCsv(line, card.getTypeLine());
+        appendCsv(line, card.getPower());
+        appendCsv(line, card.getToughness());
+        appendCsv(line, card.getLoyalty());
+        appendCsv(line, card.getArtist());
+        appendCsv(line, card.getOracleId());
+        appendCsv(line, card.getReleasedAt() != null ? card.getReleasedAt().toLocalDate().toString() : null);
+        return line.toString();
+    }
+    
+    /**
+     * The catalog only holds Magic cards; entries of other games keep their IDs but no name, set or number
+     */
+    private static String collectionCsv(CollectionEntry entry, SetCatalog.Snapshot catalog, int magicGameId) {
+        SetCatalog.Slot slot = entry.getGameId() != null && entry.getGameId() == magicGameId
+                ? catalog.getSlot(entry.getExternalCardId())
+                : null;
+        StringBuilder line = new StringBuilder(128);
+        line.append(entry.getQuantity());
+        appendCsv(line, slot != null ? slot.set().getCardName(slot.ordinal()) : null);
+        appendCsv(line, slot != null ? slot.set().getCode() : null);
+        appendCsv(line, slot != null ? slot.set().getCollectorNumber(slot.ordinal()) : null);
+        appendCsv(line, CollectionImportParser.conditionName(entry.getConditionId() != null ? entry.getConditionId() : 0));
+        appendCsv(line, Boolean.TRUE.equals(entry.getIsFoil()) ? "foil" : null);
+        appendCsv(line, entry.getPurchasePrice() != null ? entry.getPurchasePrice().toPlainString() : null);
+        appendCsv(line, String.valueOf(entry.getExternalCardId()));
+        appendCsv(line, entry.getGameId() != null ? String.valueOf(entry.getGameId()) : null);
+        return line.toString();
+    }
+    
+    private static void appendCsv(StringBuilder line, String value) {
+        line.append(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        } else {
+            line.append(value);
+        }
+    }
+}
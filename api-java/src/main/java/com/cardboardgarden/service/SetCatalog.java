@@ -0,0 +1,109 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.service.catalog.CatalogSnapshot;
+import com.cardboardgarden.service.catalog.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Per-set view of the catalog, with each printing assigned a stable ordinal (its position in
+ * collector-number order) so per-set membership can be kept as a bitset.
+ *
+ * A thin wrapper over the current {@link CatalogSnapshot}; holders of an old {@link Snapshot}
+ * keep a consistent view until they ask again.
+ */
+@Component
+public class SetCatalog {
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    private volatile Snapshot snapshot;
+    
+    /**
+     * View of the current catalog; the same instance is returned until the catalog changes
+     */
+    public Snapshot getSnapshot() {
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        Snapshot view = snapshot;
+        if (view == null || view.catalog != catalog) {
+            view = new Snapshot(catalog);
+            snapshot = view;
+        }
+        return view;
+    }
+    
+    /**
+     * Immutable catalog state: sets by lower-case code and the set/ordinal of each printing
+     */
+    public static final class Snapshot {
+        private final CatalogSnapshot catalog;
+        private final SetInfo[] sets;
+        
+        Snapshot(CatalogSnapshot catalog) {
+            this.catalog = catalog;
+            this.sets = new SetInfo[catalog.getSetCount()];
+            for (int set = 0; set < sets.length; set++) {
+                sets[set] = new SetInfo(catalog, set);
+            }
+        }
+        
+        public SetInfo getSet(String setCode) {
+            int set = catalog.findSet(setCode.toLowerCase(Locale.ROOT));
+            return set >= 0 && sets[set].size() > 0 ? sets[set] : null;
+        }
+        
+        public Slot getSlot(long cardId) {
+            int ordinal = catalog.ordinalOf(cardId);
+            if (ordinal < 0 || catalog.getSetPosition(ordinal) < 0) {
+                return null;
+            }
+            return new Slot(sets[catalog.getSet(ordinal)], catalog.getSetPosition(ordinal));
+        }
+    }
+    
+    /**
+     * Cards of one set in collector-number order
+     */
+    public static final class SetInfo {
+        private final CatalogSnapshot catalog;
+        private final int set;
+        
+        SetInfo(CatalogSnapshot catalog, int set) {
+            this.catalog = catalog;
+            this.set = set;
+        }
+        
+        public String getCode() {
+            return catalog.getSetCodeAt(set);
+        }
+        
+        public String getName() {
+            return catalog.getSetNameAt(set);
+        }
+        
+        public int size() {
+            return catalog.getSetSize(set);
+        }
+        
+        public long getCardId(int ordinal) {
+            return catalog.getId(catalog.getSetCard(set, ordinal));
+        }
+        
+        public String getCollectorNumber(int ordinal) {
+            return catalog.getCollectorNumber(catalog.getSetCard(set, ordinal));
+        }
+        
+        public String getCardName(int ordinal) {
+            return catalog.getName(catalog.getSetCard(set, ordinal));
+        }
+    }
+    
+    /**
+     * Position of a printing within its set
+     */
+    public record Slot(SetInfo set, int ordinal) {
+    }
+}
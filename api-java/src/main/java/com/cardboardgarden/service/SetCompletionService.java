@@ -0,0 +1,240 @@
+package com.cardboardgarden.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks "X of Y collected" for every set a user owns cards from.
+ *
+ * Each (user, set) pair is a bitset over the set's collector-number ordinals from {@link SetCatalog},
+ * plus a per-ordinal copy count so a card only drops out when its last copy is removed. Completion
+ * is a popcount and the missing list is the complement of the bitset, so neither touches the database.
+ */
+@Service
+public class SetCompletionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SetCompletionService.class);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private SetCatalog setCatalog;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.stats.max-users:10000}")
+    private long maxUsers;
+    
+    @Value("${app.stats.expire-minutes:120}")
+    private long expireMinutes;
+    
+    // Sets and collector numbers come from the Magic catalog
+    @Value("${app.collection.game-id:2}")
+    private int magicGameId;
+    
+    private Cache<Long, UserProgress> users;
+    
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "collection.set_completion");
+    }
+    
+    /**
+     * Completion of every set the user owns at least one card from, most complete first
+     */
+    public List<Map<String, Object>> getSetCompletion(Long userId) {
+        UserProgress progress = getProgress(userId);
+        List<Map<String, Object>> sets = new ArrayList<>();
+        
+        synchronized (progress) {
+            for (SetProgress set : progress.sets.values()) {
+                int owned = set.owned();
+                if (owned > 0) {
+                    sets.add(summary(set.info, owned));
+                }
+            }
+        }
+        
+        sets.sort(Comparator.comparing((Map<String, Object> s) -> (BigDecimal) s.get("percentComplete")).reversed()
+                .thenComparing(s -> (String) s.get("setCode")));
+        return sets;
+    }
+    
+    /**
+     * Completion and missing cards for one set; null when the set is unknown
+     */
+    public Map<String, Object> getMissing(Long userId, String setCode) {
+        SetCatalog.Snapshot catalog = setCatalog.getSnapshot();
+        SetCatalog.SetInfo info = catalog.getSet(setCode);
+        if (info == null) {
+            return null;
+        }
+        
+        UserProgress progress = getProgress(userId);
+        long[] owned;
+        synchronized (progress) {
+            SetProgress set = progress.sets.get(info.getCode());
+            owned = set != null ? set.words.clone() : new long[words(info.size())];
+        }
+        
+        List<Map<String, Object>> missing = new ArrayList<>();
+        int ownedCount = 0;
+        for (int w = 0; w < owned.length; w++) {
+            ownedCount += Long.bitCount(owned[w]);
+            long absent = ~owned[w];
+            if (w == owned.length - 1 && (info.size() & 63) != 0) {
+                absent &= (1L << (info.size() & 63)) - 1;
+            }
+            while (absent != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(absent);
+                absent &= absent - 1;
+                Map<String, Object> card = new LinkedHashMap<>();
+                card.put("id", info.getCardId(ordinal));
+                card.put("collectorNumber", info.getCollectorNumber(ordinal));
+                card.put("name", info.getCardName(ordinal));
+                missing.add(card);
+            }
+        }
+        
+        Map<String, Object> response = summary(info, ownedCount);
+        response.put("missing", missing);
+        return response;
+    }
+    
+    /**
+     * Apply committed collection changes to users whose progress is loaded
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCollectionChanged(CollectionChangedEvent event) {
+        UserProgress progress = users.getIfPresent(event.getUserId());
+        if (progress == null || progress.catalog != setCatalog.getSnapshot()) {
+            // Also null while a load is in flight that may have read the collection before this change
+            // committed; invalidating waits for it and drops its result
+            users.invalidate(event.getUserId());
+            return;
+        }
+        
+        synchronized (progress) {
+            for (CollectionChangedEvent.Delta delta : event.getDeltas()) {
+                if (delta.gameId() == magicGameId) {
+                    progress.add(delta.cardId(), delta.quantityDelta());
+                }
+            }
+        }
+    }
+    
+    private UserProgress getProgress(Long userId) {
+        SetCatalog.Snapshot catalog = setCatalog.getSnapshot();
+        UserProgress progress = users.get(userId, id -> load(id, catalog));
+        if (progress.catalog != catalog) {
+            // Ordinals changed with the catalog; rebuild against the new one, through the cache so a
+            // concurrent change can invalidate the rebuild
+            users.invalidate(userId);
+            progress = users.get(userId, id -> load(id, catalog));
+        }
+        return progress;
+    }
+    
+    private UserProgress load(Long userId, SetCatalog.Snapshot catalog) {
+        long start = System.currentTimeMillis();
+        UserProgress progress = new UserProgress(catalog);
+        jdbcTemplate.query(
+            "SELECT external_card_id, SUM(quantity) FROM collection WHERE user_id = ? AND game_id = ? GROUP BY external_card_id",
+            (RowCallbackHandler) rs -> progress.add(rs.getLong(1), rs.getInt(2)),
+            userId, magicGameId);
+        
+        logger.debug("Set completion for user {} built over {} sets in {} ms",
+                userId, progress.sets.size(), System.currentTimeMillis() - start);
+        return progress;
+    }
+    
+    private static Map<String, Object> summary(SetCatalog.SetInfo info, int owned) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("setCode", info.getCode());
+        row.put("setName", info.getName());
+        row.put("owned", owned);
+        row.put("total", info.size());
+        row.put("percentComplete", BigDecimal.valueOf(owned * 100L)
+                .divide(BigDecimal.valueOf(Math.max(1, info.size())), 1, RoundingMode.HALF_UP));
+        return row;
+    }
+    
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+    
+    private static final class UserProgress {
+        private final SetCatalog.Snapshot catalog;
+        private final Map<String, SetProgress> sets = new HashMap<>();
+        
+        UserProgress(SetCatalog.Snapshot catalog) {
+            this.catalog = catalog;
+        }
+        
+        void add(long cardId, int quantityDelta) {
+            SetCatalog.Slot slot = catalog.getSlot(cardId);
+            if (slot == null) {
+                return;
+            }
+            sets.computeIfAbsent(slot.set().getCode(), code -> new SetProgress(slot.set()))
+                    .add(slot.ordinal(), quantityDelta);
+        }
+    }
+    
+    private static final class SetProgress {
+        private final SetCatalog.SetInfo info;
+        private final long[] words;
+        private final int[] copies;
+        
+        SetProgress(SetCatalog.SetInfo info) {
+            this.info = info;
+            this.words = new long[words(info.size())];
+            this.copies = new int[info.size()];
+        }
+        
+        void add(int ordinal, int quantityDelta) {
+            copies[ordinal] = Math.max(0, copies[ordinal] + quantityDelta);
+            if (copies[ordinal] > 0) {
+                words[ordinal >>> 6] |= 1L << (ordinal & 63);
+            } else {
+                words[ordinal >>> 6] &= ~(1L << (ordinal & 63));
+            }
+        }
+        
+        int owned() {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.cardboardgarden.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running aggregates over one user's collection: totals, per game and per set.
+ *
+ * Every collection row contributes (1 entry, quantity, unit price x quantity, market price x quantity)
+ * to the buckets of its card. Row changes remove the old contribution and add the new one; price
+ * moves add (new - old) x quantity. Nothing is ever recomputed from scratch. Money is kept in cents.
+ */
+public class UserCollectionStats {
+    
+    /**
+     * Current market price lookup in cents (0 when unknown)
+     */
+    public interface PriceLookup {
+        long latestCents(long cardId, boolean foil);
+    }
+    
+    private final Long userId;
+    private final Map<HoldingKey, Holding> holdings = new HashMap<>();
+    private final Map<CardKey, CardHolding> cards = new HashMap<>();
+    private final Totals total = new Totals();
+    private final Map<Integer, Totals> byGame = new HashMap<>();
+    private final Map<String, Totals> bySet = new HashMap<>();
+    
+    public UserCollectionStats(Long userId) {
+        this.userId = userId;
+    }
+    
+    /**
+     * Apply a row change; returns whether the user still owns any copy of the card
+     */
+    public synchronized boolean apply(CollectionChangedEvent.Delta delta, String setCode, PriceLookup prices) {
+        HoldingKey key = new HoldingKey(delta.gameId(), delta.cardId(), delta.conditionId(), delta.foil());
+        CardKey cardKey = new CardKey(delta.gameId(), delta.cardId());
+        Holding old = holdings.get(key);
+        CardHolding card = cards.computeIfAbsent(cardKey,
+                id -> new CardHolding(delta.gameId(), setCode != null ? setCode : "unknown"));
+        long market = prices.latestCents(delta.cardId(), delta.foil());
+        int slot = delta.foil() ? 1 : 0;
+        
+        int oldQuantity = old != null ? old.quantity : 0;
+        long unitCents = old != null ? old.unitCents : 0;
+        if (old != null) {
+            contribute(card, -1, -oldQuantity, -unitCents * oldQuantity, -market * oldQuantity);
+            card.quantity[slot] -= oldQuantity;
+        }
+        
+        int newQuantity = Math.max(0, oldQuantity + delta.quantityDelta());
+        if (delta.purchasePrice() != null) {
+            unitCents = toCents(delta.purchasePrice());
+        }
+        
+        if (newQuantity > 0) {
+            holdings.put(key, new Holding(newQuantity, unitCents));
+            contribute(card, 1, newQuantity, unitCents * newQuantity, market * newQuantity);
+            card.quantity[slot] += newQuantity;
+        } else {
+            holdings.remove(key);
+        }
+        
+        if (card.quantity[0] == 0 && card.quantity[1] == 0) {
+            cards.remove(cardKey);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Apply a market price move for one card of a game
+     */
+    public synchronized void applyPriceChange(int gameId, long cardId, boolean foil, long deltaCents) {
+        CardHolding card = cards.get(new CardKey(gameId, cardId));
+        if (card == null) {
+            return;
+        }
+        int quantity = card.quantity[foil ? 1 : 0];
+        if (quantity > 0) {
+            contribute(card, 0, 0, 0, deltaCents * quantity);
+        }
+    }
+    
+    /**
+     * Cards this user owns at least one copy of
+     */
+    public synchronized List<Long> getCardIds() {
+        return cards.keySet().stream().map(CardKey::cardId).distinct().toList();
+    }
+    
+    public synchronized Map<String, Object> toResponse() {
+        List<Map<String, Object>> games = new ArrayList<>();
+        byGame.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Integer, Totals> e) -> e.getValue().marketCents).reversed())
+                .forEach(e -> {
+                    Map<String, Object> row = e.getValue().toMap();
+                    row.put("gameId", e.getKey());
+                    games.add(row);
+                });
+        
+        List<Map<String, Object>> sets = new ArrayList<>();
+        bySet.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Totals> e) -> e.getValue().marketCents).reversed())
+                .forEach(e -> {
+                    Map<String, Object> row = e.getValue().toMap();
+                    row.put("setCode", e.getKey());
+                    sets.add(row);
+                });
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("userId", userId);
+        response.put("totals", total.toMap());
+        response.put("byGame", games);
+        response.put("bySet", sets);
+        return response;
+    }
+    
+    private void contribute(CardHolding card, int entries, int quantity, long investedCents, long marketCents) {
+        total.add(entries, quantity, investedCents, marketCents);
+        byGame.computeIfAbsent(card.gameId, id -> new Totals()).add(entries, quantity, investedCents, marketCents);
+        Totals set = bySet.computeIfAbsent(card.setCode, code -> new Totals());
+        set.add(entries, quantity, investedCents, marketCents);
+        if (set.entries == 0) {
+            bySet.remove(card.setCode);
+        }
+    }
+    
+    static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+    
+    private record HoldingKey(int gameId, long cardId, int conditionId, boolean foil) {
+    }
+    
+    private record CardKey(int gameId, long cardId) {
+    }
+    
+    private record Holding(int quantity, long unitCents) {
+    }
+    
+    private static final class CardHolding {
+        private final int gameId;
+        private final String setCode;
+        private final int[] quantity = new int[2];
+        
+        CardHolding(int gameId, String setCode) {
+            this.gameId = gameId;
+            this.setCode = setCode;
+        }
+    }
+    
+    private static final class Totals {
+        private long entries;
+        private long quantity;
+        private long investedCents;
+        private long marketCents;
+        
+        void add(int entries, int quantity, long investedCents, long marketCents) {
+            this.entries += entries;
+            this.quantity += quantity;
+            this.investedCents += investedCents;
+            this.marketCents += marketCents;
+        }
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("entries", entries);
+            map.put("quantity", quantity);
+            map.put("invested", BigDecimal.valueOf(investedCents, 2));
+            map.put("marketValue", BigDecimal.valueOf(marketCents, 2));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.cardboardgarden.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Readiness of the startup warm-up ("warmup" in /actuator/health/readiness): down until
+ * {@link WarmupService} has run, then up for good, whatever its outcome.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+    
+    @Autowired
+    private WarmupService warmupService;
+    
+    @Override
+    public Health health() {
+        WarmupService.State state = warmupService.getState();
+        Health.Builder builder = state == WarmupService.State.FINISHED || state == WarmupService.State.DISABLED
+                ? Health.up()
+                : Health.down();
+        builder.withDetail("state", state.name().toLowerCase(Locale.ROOT));
+        if (state == WarmupService.State.RUNNING && warmupService.getStep() != null) {
+            builder.withDetail("step", warmupService.getStep());
+        }
+        if (state == WarmupService.State.FINISHED) {
+            builder.withDetail("outcome", warmupService.getOutcome())
+                   .withDetail("durationMs", warmupService.getDurationMillis())
+                   .withDetail("queriesReplayed", warmupService.getQueriesReplayed())
+                   .withDetail("cardsCached", warmupService.getCardsPreloaded());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.cardboardgarden.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The card queries and card lookups real traffic asks for most, kept so {@link WarmupService} can
+ * replay them after the next start.
+ *
+ * Every paged query through {@link CardQueryCoalescer} and every card detail request is counted;
+ * once app.warmup.track-max-entries distinct entries are tracked, new ones are ignored. Repeats
+ * answered by the HTTP response cache never reach the coalescer, so query counts rank how often a
+ * query went to the database, which is the path the warm-up replays. The
+ * app.warmup.sample-size most frequent entries are written to warmup-sample.tsv in app.warmup.dir
+ * every app.warmup.save-interval-ms and at shutdown, unless nothing was recorded since startup (so a
+ * short-lived instance does not erase the previous sample).
+ */
+@Component
+public class WarmupSample {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WarmupSample.class);
+    
+    public static final String CARD = "card";
+    
+    private static final String FILE_NAME = "warmup-sample.tsv";
+    private static final int MAX_ARGUMENT_LENGTH = 200;
+    
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.warmup.dir:}")
+    private String dir;
+    
+    @Value("${server.port:8080}")
+    private int serverPort;
+    
+    @Value("${app.warmup.sample-size:500}")
+    private int sampleSize;
+    
+    @Value("${app.warmup.track-max-entries:50000}")
+    private int maxEntries;
+    
+    private final Map<Entry, LongAdder> counts = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        if (enabled && dir.isBlank()) {
+            // Temporary directories are often cleared on restart and shared by instances on one host
+            dir = Path.of(System.getProperty("java.io.tmpdir"), "cardboard-garden-" + serverPort).toString();
+            logger.warn("app.warmup.dir (WARMUP_DIR) is not set; the warm-up sample goes to {}, "
+                    + "which may not survive a restart. Point it at a persistent volume", dir);
+        }
+    }
+    
+    /**
+     * One recorded call: a {@link CardQueryCoalescer} method with its normalized argument and page,
+     * or a card detail lookup ({@link #CARD}, the card ID, page and size 0)
+     */
+    public record Entry(String kind, String argument, int page, int size) {
+    }
+    
+    public void recordQuery(String kind, String argument, int page, int size) {
+        record(new Entry(kind, argument, page, size));
+    }
+    
+    public void recordCard(long id) {
+        record(new Entry(CARD, Long.toString(id), 0, 0));
+    }
+    
+    private void record(Entry entry) {
+        if (!enabled) {
+            return;
+        }
+        LongAdder count = counts.get(entry);
+        if (count == null) {
+            if (counts.size() >= maxEntries || !isStorable(entry.argument())) {
+                return;
+            }
+            count = counts.computeIfAbsent(entry, key -> new LongAdder());
+        }
+        count.increment();
+    }
+    
+    /**
+     * The saved sample, most frequent first; empty when there is none yet
+     */
+    public List<Entry> load() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(getFile(), StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 5);
+                if (fields.length == 5) {
+                    entries.add(new Entry(fields[1], fields[4], Integer.parseInt(fields[2]), Integer.parseInt(fields[3])));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed warm-up sample {}: {}", getFile(), e.getMessage());
+            return List.of();
+        }
+        return entries;
+    }
+    
+    /**
+     * Write the most frequent entries as count, kind, page, size and argument per line, replacing
+     * the previous sample
+     */
+    @Scheduled(initialDelayString = "${app.warmup.save-interval-ms:300000}",
+               fixedDelayString = "${app.warmup.save-interval-ms:300000}")
+    @PreDestroy
+    public void save() {
+        if (!enabled || counts.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Entry, Long>> top = counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<Entry, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(sampleSize)
+                .toList();
+        
+        Path file = getFile();
+        Path temporary = file.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Entry, Long> entry : top) {
+                    Entry sampled = entry.getKey();
+                    writer.write(entry.getValue() + "\t" + sampled.kind() + "\t" + sampled.page() + "\t"
+                            + sampled.size() + "\t" + sampled.argument());
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Warm-up sample of {} entries written to {}", top.size(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to write warm-up sample {}", file, e);
+        }
+    }
+    
+    public Path getFile() {
+        return Path.of(dir, FILE_NAME);
+    }
+    
+    /**
+     * Arguments are stored as the last field of a line, so they must not contain line or field separators
+     */
+    private static boolean isStorable(String argument) {
+        return argument.length() <= MAX_ARGUMENT_LENGTH
+                && argument.indexOf('\t') < 0 && argument.indexOf('\n') < 0 && argument.indexOf('\r') < 0;
+    }
+}
@@ -0,0 +1,361 @@
+package com.cardboardgarden.service;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.entity.User;
+import com.cardboardgarden.repository.CardRepository;
+import com.cardboardgarden.service.cardjson.CardJsonEnvelope;
+import com.cardboardgarden.service.cardjson.CardJsonStore;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup warm-up that has to finish before the instance reports ready ("warmup" in
+ * /actuator/health/readiness, see {@link WarmupHealthIndicator}).
+ *
+ * Once the application has started it opens the connection pool to its minimum size, replays the
+ * {@link WarmupSample} saved by the previous run against {@link CardRepository}
+ * app.warmup.replay-passes times (rendering every page the way the card endpoints do), loads the
+ * most requested cards, the cards of the most requested sets and the replayed results into the
+ * {@link CardLookupService} cache, and finally signs and parses JWTs and renders card JSON
+ * app.warmup.jit-iterations times so those paths are compiled before real requests arrive. Without
+ * a sample only the first page of all cards is replayed.
+ *
+ * The run is timed in warmup.duration and each step in warmup.step.duration; replayed queries are
+ * timed in warmup.query with pass=cold for the first pass and pass=warm for the others, which is
+ * what the warm-up saved the first requests. The auth.jwt sign timer includes the warm-up's tokens.
+ * A failing step is logged and skipped, and the run stops after app.warmup.max-duration-ms; either
+ * way the instance then becomes ready, so the warm-up can delay readiness but never prevent it.
+ */
+@Service
+public class WarmupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+    
+    private static final WarmupSample.Entry FIRST_PAGE = new WarmupSample.Entry("all", "", 0, 20);
+    
+    public enum State {
+        PENDING, RUNNING, FINISHED, DISABLED
+    }
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private CardRepository cardRepository;
+    
+    @Autowired
+    private CardLookupService cardLookupService;
+    
+    @Autowired
+    private CardJsonStore cardJsonStore;
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private WarmupSample warmupSample;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.warmup.replay-passes:2}")
+    private int replayPasses;
+    
+    @Value("${app.warmup.preload-sets:20}")
+    private int preloadSets;
+    
+    @Value("${app.warmup.jit-iterations:2000}")
+    private int jitIterations;
+    
+    @Value("${app.warmup.max-duration-ms:120000}")
+    private long maxDurationMs;
+    
+    private volatile State state = State.PENDING;
+    private volatile String step;
+    private volatile String outcome;
+    private volatile long durationMillis;
+    private volatile int poolConnections;
+    private volatile int queriesReplayed;
+    private volatile long cardsPreloaded;
+    private long deadline;
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            state = State.DISABLED;
+        }
+        Gauge.builder("warmup.cards.preloaded", this, WarmupService::getCardsPreloaded)
+                .description("Cards in the lookup cache when the startup warm-up finished")
+                .register(meterRegistry);
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            warmUp();
+        }
+    }
+    
+    /**
+     * Run every step once; the instance is ready when this returns, whatever the steps did
+     */
+    public void warmUp() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        outcome = "completed";
+        
+        List<WarmupSample.Entry> sample = loadSample();
+        List<WarmupSample.Entry> queries = sample.stream().filter(entry -> !WarmupSample.CARD.equals(entry.kind())).toList();
+        List<Page<Card>> pages = new ArrayList<>();
+        
+        try {
+            runStep("pool", this::openPool);
+            runStep("replay", () -> replay(queries.isEmpty() ? List.of(FIRST_PAGE) : queries, pages));
+            runStep("preload", () -> preload(sample, pages));
+            runStep("jit", () -> exercise(pages));
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            Timer.builder("warmup.duration")
+                    .description("Startup warm-up run before the instance reports ready")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            step = null;
+            state = State.FINISHED;
+            logger.info("Warm-up {} in {} ms: {} pooled connections, {} queries replayed from a sample of {} entries, {} cards cached",
+                    outcome, durationMillis, poolConnections, queriesReplayed, sample.size(), cardsPreloaded);
+        }
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    /**
+     * Step currently running, or null
+     */
+    public String getStep() {
+        return step;
+    }
+    
+    /**
+     * completed, truncated (app.warmup.max-duration-ms reached) or failed (a step threw), once finished
+     */
+    public String getOutcome() {
+        return outcome;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public int getQueriesReplayed() {
+        return queriesReplayed;
+    }
+    
+    public long getCardsPreloaded() {
+        return cardsPreloaded;
+    }
+    
+    private List<WarmupSample.Entry> loadSample() {
+        try {
+            return warmupSample.load();
+        } catch (IOException e) {
+            logger.warn("Failed to read warm-up sample {}: {}", warmupSample.getFile(), e.getMessage());
+            return List.of();
+        }
+    }
+    
+    private interface Step {
+        void run() throws Exception;
+    }
+    
+    private void runStep(String name, Step body) {
+        if (isExpired()) {
+            return;
+        }
+        step = name;
+        long start = System.nanoTime();
+        try {
+            body.run();
+        } catch (Exception e) {
+            outcome = "failed";
+            logger.warn("Warm-up step {} failed: {}", name, e.getMessage());
+        } finally {
+            Timer.builder("warmup.step.duration")
+                    .description("Duration of each startup warm-up step")
+                    .tag("step", name)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * Borrow as many connections as the pool keeps idle at the same time, so all of them are
+     * established (and the pool started) before the first request needs one
+     */
+    private void openPool() throws SQLException {
+        int target = dataSource.isWrapperFor(HikariDataSource.class)
+                ? Math.max(dataSource.unwrap(HikariDataSource.class).getMinimumIdle(), 1)
+                : 1;
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            while (connections.size() < target && !isExpired()) {
+                connections.add(dataSource.getConnection());
+            }
+            poolConnections = connections.size();
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+    
+    private void replay(List<WarmupSample.Entry> queries, List<Page<Card>> pages) {
+        for (int pass = 0; pass < replayPasses; pass++) {
+            Timer timer = Timer.builder("warmup.query")
+                    .description("Replayed card queries during the startup warm-up, first pass (cold) and later passes (warm)")
+                    .tag("pass", pass == 0 ? "cold" : "warm")
+                    .register(meterRegistry);
+            for (WarmupSample.Entry entry : queries) {
+                if (isExpired()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    Page<Card> page = query(entry);
+                    if (page == null) {
+                        continue;
+                    }
+                    render(page);
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    queriesReplayed++;
+                    if (pass == 0) {
+                        pages.add(page);
+                    }
+                } catch (RuntimeException | IOException e) {
+                    logger.debug("Warm-up query {} failed: {}", entry, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * The repository query behind a {@link CardQueryCoalescer} method, or null for an unknown kind
+     */
+    private Page<Card> query(WarmupSample.Entry entry) {
+        Pageable pageable = PageRequest.of(Math.max(entry.page(), 0), Math.max(entry.size(), 1));
+        return switch (entry.kind()) {
+            case "name" -> cardRepository.findByNameContainingIgnoreCase(entry.argument(), pageable);
+            case "alternative" -> cardRepository.findAlternativeCardsByName(entry.argument(), pageable);
+            case "set" -> cardRepository.findBySetCodeIgnoreCase(entry.argument(), pageable);
+            case "rarity" -> cardRepository.findByRarityIgnoreCase(entry.argument(), pageable);
+            case "all" -> cardRepository.findAll(pageable);
+            default -> null;
+        };
+    }
+    
+    /**
+     * The JSON list response of the card endpoints, discarded
+     */
+    private void render(Page<Card> page) throws IOException {
+        List<byte[]> rendered = new ArrayList<>(page.getNumberOfElements());
+        for (Card card : page.getContent()) {
+            rendered.add(cardJsonStore.toJson(card));
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("totalElements", page.getTotalElements());
+        fields.put("totalPages", page.getTotalPages());
+        fields.put("currentPage", page.getNumber());
+        fields.put("pageSize", page.getSize());
+        CardJsonEnvelope.cards(rendered, fields, cardJsonStore.getWriter());
+    }
+    
+    private void preload(List<WarmupSample.Entry> sample, List<Page<Card>> pages) {
+        List<Long> ids = new ArrayList<>();
+        List<String> sets = new ArrayList<>();
+        for (WarmupSample.Entry entry : sample) {
+            if (WarmupSample.CARD.equals(entry.kind())) {
+                try {
+                    ids.add(Long.parseLong(entry.argument()));
+                } catch (NumberFormatException e) {
+                    // Not written by WarmupSample
+                }
+            } else if ("set".equals(entry.kind()) && !sets.contains(entry.argument()) && sets.size() < preloadSets) {
+                sets.add(entry.argument());
+            }
+        }
+        
+        if (!ids.isEmpty()) {
+            cardLookupService.getCards(ids);
+        }
+        for (String setCode : sets) {
+            if (isExpired()) {
+                break;
+            }
+            cardLookupService.preload(cardRepository.findBySetCodeOrderByCollectorNumber(setCode));
+        }
+        for (Page<Card> page : pages) {
+            cardLookupService.preload(page.getContent());
+        }
+        cardsPreloaded = cardLookupService.getCachedCardCount();
+    }
+    
+    /**
+     * Repeat the per-request CPU work of authenticated and card requests until the JIT compiles it
+     */
+    private void exercise(List<Page<Card>> pages) throws IOException {
+        User user = new User();
+        user.setId(0L);
+        user.setUsername("warmup");
+        user.setEmail("warmup@localhost");
+        for (int i = 0; i < jitIterations && !isExpired(); i++) {
+            authService.parseToken(authService.generateToken(user)).getSubject();
+        }
+        
+        List<Card> cards = pages.stream().flatMap(page -> page.getContent().stream()).toList();
+        for (int i = 0; i < jitIterations && !cards.isEmpty() && !isExpired(); i++) {
+            cardJsonStore.toJson(cards.get(i % cards.size()));
+        }
+    }
+    
+    private boolean isExpired() {
+        if (System.nanoTime() - deadline > 0) {
+            if (!"failed".equals(outcome)) {
+                outcome = "truncated";
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cardboardgarden.service.cardjson;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles card response bodies around already-rendered card JSON, matching the
+ * {"success": true, ...} envelopes the card endpoints have always returned.
+ */
+public final class CardJsonEnvelope {
+    
+    private static final byte[] CARD_PREFIX = "{\"success\":true,\"card\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CARDS_PREFIX = "{\"success\":true,\"cards\":[".getBytes(StandardCharsets.UTF_8);
+    
+    private CardJsonEnvelope() {
+    }
+    
+    /**
+     * {"success":true,"card":<cardJson>}
+     */
+    public static byte[] card(byte[] cardJson) {
+        byte[] body = new byte[CARD_PREFIX.length + cardJson.length + 1];
+        System.arraycopy(CARD_PREFIX, 0, body, 0, CARD_PREFIX.length);
+        System.arraycopy(cardJson, 0, body, CARD_PREFIX.length, cardJson.length);
+        body[body.length - 1] = '}';
+        return body;
+    }
+    
+    static void writeCard(OutputStream out, byte[] cardJson) throws IOException {
+        out.write(CARD_PREFIX);
+        out.write(cardJson);
+        out.write('}');
+    }
+    
+    /**
+     * {"success":true,"cards":[<card>,...],<field>:<value>,...}; field values go through the writer
+     */
+    public static byte[] cards(List<byte[]> cards, Map<String, Object> fields, ObjectWriter writer) throws IOException {
+        int size = CARDS_PREFIX.length + 64 * fields.size() + 2;
+        for (byte[] card : cards) {
+            size += card.length + 1;
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write(CARDS_PREFIX);
+        for (int i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(cards.get(i));
+        }
+        out.write(']');
+        
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            out.write(',');
+            out.write(writer.writeValueAsBytes(field.getKey()));
+            out.write(':');
+            out.write(writer.writeValueAsBytes(field.getValue()));
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,168 @@
+package com.cardboardgarden.service.cardjson;
+
+import com.cardboardgarden.entity.Card;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-rendered JSON for every card of one catalog version.
+ *
+ * Each card's JSON bytes (and optionally a gzip of its full detail response) live in off-heap
+ * arenas; a sorted id array with offsets is the only index, so the heap cost is about 20 bytes
+ * per card. Lookups are a binary search plus a copy.
+ */
+public final class CardJsonSnapshot {
+    
+    private final long catalogVersion;
+    private final long[] ids;
+    private final int[] jsonOffsets;
+    private final int[] gzipOffsets;
+    private final ByteBuffer json;
+    private final ByteBuffer gzip;
+    
+    private CardJsonSnapshot(long catalogVersion, long[] ids, int[] jsonOffsets, int[] gzipOffsets,
+                             ByteBuffer json, ByteBuffer gzip) {
+        this.catalogVersion = catalogVersion;
+        this.ids = ids;
+        this.jsonOffsets = jsonOffsets;
+        this.gzipOffsets = gzipOffsets;
+        this.json = json;
+        this.gzip = gzip;
+    }
+    
+    /**
+     * Render cards (in ascending id order) with the given writer. afterWrite is called with each
+     * card once it has been rendered, e.g. to detach it from the persistence context.
+     */
+    public static CardJsonSnapshot build(long catalogVersion, Iterator<Card> cards, ObjectWriter writer,
+                                         boolean withGzip, Consumer<Card> afterWrite) throws IOException {
+        long[] ids = new long[1024];
+        int[] jsonOffsets = new int[1025];
+        int[] gzipOffsets = withGzip ? new int[1025] : null;
+        Arena json = new Arena(16 * 1024 * 1024);
+        Arena gzip = withGzip ? new Arena(8 * 1024 * 1024) : null;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(4096);
+        int count = 0;
+        
+        while (cards.hasNext()) {
+            Card card = cards.next();
+            long id = card.getId();
+            if (count > 0 && id <= ids[count - 1]) {
+                throw new IllegalArgumentException("Cards must be in ascending id order: " + id + " after " + ids[count - 1]);
+            }
+            byte[] bytes = writer.writeValueAsBytes(card);
+            afterWrite.accept(card);
+            
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                jsonOffsets = Arrays.copyOf(jsonOffsets, count * 2 + 1);
+                if (withGzip) {
+                    gzipOffsets = Arrays.copyOf(gzipOffsets, count * 2 + 1);
+                }
+            }
+            ids[count] = id;
+            json.append(bytes);
+            jsonOffsets[count + 1] = json.size();
+            
+            if (withGzip) {
+                compressed.reset();
+                try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                    CardJsonEnvelope.writeCard(out, bytes);
+                }
+                gzip.append(compressed.toByteArray());
+                gzipOffsets[count + 1] = gzip.size();
+            }
+            count++;
+        }
+        
+        return new CardJsonSnapshot(catalogVersion, Arrays.copyOf(ids, count),
+                Arrays.copyOf(jsonOffsets, count + 1),
+                withGzip ? Arrays.copyOf(gzipOffsets, count + 1) : null,
+                json.finish(), withGzip ? gzip.finish() : null);
+    }
+    
+    /**
+     * JSON of one card, or null when the card is not in this snapshot
+     */
+    public byte[] getJson(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index < 0 ? null : copy(json, jsonOffsets[index], jsonOffsets[index + 1]);
+    }
+    
+    /**
+     * Gzip of the card's whole detail response ({"success":true,"card":...}), or null
+     */
+    public byte[] getDetailGzip(long id) {
+        if (gzip == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(ids, id);
+        return index < 0 ? null : copy(gzip, gzipOffsets[index], gzipOffsets[index + 1]);
+    }
+    
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+    
+    public int size() {
+        return ids.length;
+    }
+    
+    public long getJsonBytes() {
+        return json.capacity();
+    }
+    
+    public long getGzipBytes() {
+        return gzip != null ? gzip.capacity() : 0;
+    }
+    
+    private static byte[] copy(ByteBuffer arena, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        arena.get(from, bytes);
+        return bytes;
+    }
+    
+    /**
+     * Growable direct buffer; trimmed to its final size when done
+     */
+    private static final class Arena {
+        private ByteBuffer buffer;
+        
+        Arena(int initialCapacity) {
+            buffer = ByteBuffer.allocateDirect(initialCapacity);
+        }
+        
+        void append(byte[] bytes) {
+            if (buffer.remaining() < bytes.length) {
+                long required = (long) buffer.position() + bytes.length;
+                long capacity = Math.max(required, (long) buffer.capacity() * 2);
+                if (required > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Card JSON arena exceeds 2 GB");
+                }
+                ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min(capacity, Integer.MAX_VALUE));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.put(bytes);
+        }
+        
+        int size() {
+            return buffer.position();
+        }
+        
+        ByteBuffer finish() {
+            ByteBuffer trimmed = ByteBuffer.allocateDirect(buffer.position());
+            buffer.flip();
+            trimmed.put(buffer);
+            return trimmed.asReadOnlyBuffer();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.cardboardgarden.service.cardjson;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.repository.CardRepository;
+import com.cardboardgarden.service.CatalogSyncMonitor;
+import com.cardboardgarden.service.CatalogSyncedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * Serves card JSON rendered once per catalog sync instead of once per request.
+ *
+ * A full {@link CardJsonSnapshot} is built in the background at startup and after every sync,
+ * then swapped in atomically. Until the first build finishes, and for cards that are not in the
+ * snapshot, callers fall back to regular Jackson serialization.
+ */
+@Component
+public class CardJsonStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CardJsonStore.class);
+    
+    @Autowired
+    private CardRepository cardRepository;
+    
+    @Autowired
+    private CatalogSyncMonitor catalogSyncMonitor;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.cards.json-store.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.cards.json-store.gzip:true}")
+    private boolean gzip;
+    
+    private volatile CardJsonSnapshot snapshot;
+    
+    /**
+     * Pre-rendered JSON for a card, or null when not available
+     */
+    public byte[] getJson(long id) {
+        CardJsonSnapshot current = snapshot;
+        return current != null ? current.getJson(id) : null;
+    }
+    
+    /**
+     * Pre-compressed detail response for a card, or null when not available
+     */
+    public byte[] getDetailGzip(long id) {
+        CardJsonSnapshot current = snapshot;
+        return current != null ? current.getDetailGzip(id) : null;
+    }
+    
+    /**
+     * JSON for a loaded card, from the snapshot when possible
+     */
+    public byte[] toJson(Card card) throws JsonProcessingException {
+        byte[] json = getJson(card.getId());
+        return json != null ? json : objectMapper.writeValueAsBytes(card);
+    }
+    
+    public ObjectWriter getWriter() {
+        return objectMapper.writer();
+    }
+    
+    public CardJsonSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Async
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        rebuild();
+    }
+    
+    /**
+     * Render every card for the current catalog version and swap the result in
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long version = catalogSyncMonitor.getLastSyncMillis();
+        
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            CardJsonSnapshot built = transaction.execute(status -> {
+                try (Stream<Card> cards = cardRepository.streamAll()) {
+                    return CardJsonSnapshot.build(version, cards.iterator(), objectMapper.writer(), gzip,
+                            entityManager::detach);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            snapshot = built;
+            
+            logger.info("Card JSON store built for {} cards ({} KB JSON, {} KB gzip) in {} ms",
+                    built.size(), built.getJsonBytes() / 1024, built.getGzipBytes() / 1024,
+                    System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            logger.error("Failed to build card JSON store; card responses fall back to live serialization", e);
+        }
+    }
+}
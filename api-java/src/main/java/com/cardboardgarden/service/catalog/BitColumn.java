@@ -0,0 +1,40 @@
+package com.cardboardgarden.service.catalog;
+
+import java.nio.LongBuffer;
+
+/**
+ * Immutable per-card boolean, packed 64 ordinals to a word.
+ */
+public final class BitColumn {
+    
+    private final LongBuffer words;
+    
+    public BitColumn(LongBuffer words) {
+        this.words = words;
+    }
+    
+    public static BitColumn of(boolean[] values) {
+        long[] words = new long[(values.length + 63) >>> 6];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i]) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        return new BitColumn(LongBuffer.wrap(words));
+    }
+    
+    public boolean get(int ordinal) {
+        return (words.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+    }
+    
+    /**
+     * Raw word i, covering ordinals 64*i to 64*i+63
+     */
+    public long getWord(int i) {
+        return words.get(i);
+    }
+    
+    public LongBuffer getWords() {
+        return words.duplicate();
+    }
+}
@@ -0,0 +1,17 @@
+package com.cardboardgarden.service.catalog;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One face of a split, flip, adventure, transforming or modal double-faced card, as stored in the
+ * face table of a {@link CatalogSnapshot}. Image URIs are null when the card shares one image.
+ */
+public record CardFace(
+        String name,
+        @JsonProperty("mana_cost") String manaCost,
+        @JsonProperty("type_line") String typeLine,
+        @JsonProperty("oracle_text") String oracleText,
+        @JsonProperty("image_uri_small") String imageUriSmall,
+        @JsonProperty("image_uri_normal") String imageUriNormal,
+        @JsonProperty("image_uri_large") String imageUriLarge) {
+}
@@ -0,0 +1,332 @@
+package com.cardboardgarden.service.catalog;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Conjunction of card predicates evaluated as a full scan over a {@link CatalogSnapshot}.
+ *
+ * Numeric predicates (mana value, color identity, format legality, rarity) run first in a
+ * {@link FilterKernel}, vectorized when the JVM allows it. Predicates on dictionary-encoded
+ * columns are evaluated once per distinct value, giving a boolean per code, and checked only for
+ * the kernel's candidates; oracle text and flags come last. Name and oracle text also match when
+ * any face of a multi-faced card matches. Unset predicates match everything.
+ */
+public class CatalogFilter {
+    
+    private String name;
+    private String setCode;
+    private String rarity;
+    private String type;
+    private String artist;
+    private String layout;
+    private String text;
+    private Boolean doubleFaced;
+    private Integer minManaValue;
+    private Integer maxManaValue;
+    private String identity;
+    private String format;
+    
+    /**
+     * Name, or the name of any face, contains (case-insensitive)
+     */
+    public CatalogFilter name(String name) {
+        this.name = blankToNull(name);
+        return this;
+    }
+    
+    public CatalogFilter setCode(String setCode) {
+        this.setCode = blankToNull(setCode);
+        return this;
+    }
+    
+    public CatalogFilter rarity(String rarity) {
+        this.rarity = blankToNull(rarity);
+        return this;
+    }
+    
+    /**
+     * Type line contains (case-insensitive), e.g. "Dragon" or "Legendary Creature"
+     */
+    public CatalogFilter type(String type) {
+        this.type = blankToNull(type);
+        return this;
+    }
+    
+    /**
+     * Artist contains (case-insensitive)
+     */
+    public CatalogFilter artist(String artist) {
+        this.artist = blankToNull(artist);
+        return this;
+    }
+    
+    public CatalogFilter layout(String layout) {
+        this.layout = blankToNull(layout);
+        return this;
+    }
+    
+    /**
+     * Oracle text, or the oracle text of any face, contains (case-insensitive for ASCII letters)
+     */
+    public CatalogFilter text(String text) {
+        this.text = blankToNull(text);
+        return this;
+    }
+    
+    public CatalogFilter doubleFaced(Boolean doubleFaced) {
+        this.doubleFaced = doubleFaced;
+        return this;
+    }
+    
+    /**
+     * Mana value between min and max, inclusive (either may be null)
+     */
+    public CatalogFilter manaValue(Integer min, Integer max) {
+        this.minManaValue = min;
+        this.maxManaValue = max;
+        return this;
+    }
+    
+    /**
+     * Color identity within the given colors (e.g. "WU"; "C" for colorless only), as for a commander deck
+     */
+    public CatalogFilter identity(String identity) {
+        this.identity = blankToNull(identity);
+        return this;
+    }
+    
+    /**
+     * Legal (or restricted) in a format, one of {@link CatalogSnapshot#FORMATS}
+     */
+    public CatalogFilter format(String format) {
+        this.format = blankToNull(format);
+        if (this.format != null && !CatalogSnapshot.FORMATS.contains(this.format.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        return this;
+    }
+    
+    /**
+     * Numeric predicate for the filter kernel
+     */
+    public ScanPredicate toScanPredicate(CatalogSnapshot catalog) {
+        int[] rarityCodes = null;
+        if (rarity != null) {
+            StringDictionary rarities = catalog.getDictionary(CatalogSnapshot.RARITIES);
+            rarityCodes = new int[rarities.size()];
+            int count = 0;
+            for (int code = 0; code < rarities.size(); code++) {
+                if (rarities.get(code).equalsIgnoreCase(rarity)) {
+                    rarityCodes[count++] = code;
+                }
+            }
+            rarityCodes = Arrays.copyOf(rarityCodes, count);
+        }
+        int min = minManaValue != null ? Math.max(minManaValue, 0) : Integer.MIN_VALUE;
+        int max = maxManaValue != null ? maxManaValue : Integer.MAX_VALUE;
+        if (maxManaValue != null && minManaValue == null) {
+            min = 0;
+        }
+        int allColors = (1 << CatalogSnapshot.COLORS.length()) - 1;
+        int excluded = identity != null ? allColors & ~CatalogSnapshot.colorMask(identity) : 0;
+        int legal = format != null ? 1 << CatalogSnapshot.FORMATS.indexOf(format.toLowerCase(Locale.ROOT)) : 0;
+        return new ScanPredicate(min, max, excluded, 0, legal, rarityCodes);
+    }
+    
+    /**
+     * Matching ordinals as a bitset (bit i of word i/64 is ordinal i)
+     */
+    public long[] scan(CatalogSnapshot catalog) {
+        return scan(catalog, FilterKernels.best());
+    }
+    
+    public long[] scan(CatalogSnapshot catalog, FilterKernel kernel) {
+        int size = catalog.size();
+        ScanPredicate numeric = toScanPredicate(catalog);
+        long[] candidates = numeric.isAny() ? null : kernel.scan(catalog.getScanColumns(), size, numeric);
+        
+        List<IntBuffer> columns = new ArrayList<>();
+        List<boolean[]> masks = new ArrayList<>();
+        addEquals(catalog, CatalogSnapshot.SETS, CatalogSnapshot.SET, setCode, columns, masks);
+        addEquals(catalog, CatalogSnapshot.LAYOUTS, CatalogSnapshot.LAYOUT, layout, columns, masks);
+        addContains(catalog, CatalogSnapshot.TYPE_LINES, CatalogSnapshot.TYPE_LINE, type, columns, masks);
+        addContains(catalog, CatalogSnapshot.ARTISTS, CatalogSnapshot.ARTIST, artist, columns, masks);
+        if (candidates != null && columns.isEmpty() && name == null && text == null && doubleFaced == null) {
+            return candidates;
+        }
+        
+        IntBuffer nameColumn = name != null ? catalog.getColumn(CatalogSnapshot.NAME) : null;
+        boolean[] nameMask = name != null ? containsMask(catalog.getDictionary(CatalogSnapshot.NAMES), name) : null;
+        long[] faceNameMatches = name != null ? faceNameMatches(catalog, name) : null;
+        OrdinalIndex faces = text != null ? catalog.getIndex(CatalogSnapshot.FACES) : null;
+        TextColumn faceOracleText = text != null ? catalog.getText(CatalogSnapshot.FACE_ORACLE_TEXT) : null;
+        
+        long[] matches = new long[(size + 63) >>> 6];
+        IntBuffer[] columnArray = columns.toArray(new IntBuffer[0]);
+        boolean[][] maskArray = masks.toArray(new boolean[0][]);
+        TextColumn oracleText = text != null ? catalog.getText(CatalogSnapshot.ORACLE_TEXT) : null;
+        byte[] needle = text != null ? TextColumn.needle(text) : null;
+        BitColumn doubleFacedFlags = doubleFaced != null ? catalog.getFlag(CatalogSnapshot.DOUBLE_FACED) : null;
+        
+        for (int w = 0; w < matches.length; w++) {
+            long word = candidates != null ? candidates[w] : -1L;
+            if (w == matches.length - 1 && (size & 63) != 0) {
+                word &= (1L << size) - 1;
+            }
+            
+            rows:
+            while (word != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                for (int p = 0; p < columnArray.length; p++) {
+                    // Code -1 (null) lands on slot 0 of the mask
+                    if (!maskArray[p][columnArray[p].get(ordinal) + 1]) {
+                        continue rows;
+                    }
+                }
+                if (nameMask != null && !nameMask[nameColumn.get(ordinal) + 1]
+                        && (faceNameMatches[w] & (1L << ordinal)) == 0) {
+                    continue;
+                }
+                if (doubleFacedFlags != null && doubleFacedFlags.get(ordinal) != doubleFaced) {
+                    continue;
+                }
+                if (oracleText != null && !oracleText.containsIgnoreCase(ordinal, needle)
+                        && !anyFaceContains(faces, faceOracleText, ordinal, needle)) {
+                    continue;
+                }
+                matches[w] |= 1L << ordinal;
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Matching ordinals sorted by name, then id
+     */
+    public int[] find(CatalogSnapshot catalog) {
+        long[] matches = scan(catalog);
+        IntBuffer names = catalog.getColumn(CatalogSnapshot.NAME);
+        int count = 0;
+        for (long word : matches) {
+            count += Long.bitCount(word);
+        }
+        
+        // Name codes follow dictionary (byte) order, and ordinals follow id order
+        long[] keys = new long[count];
+        int k = 0;
+        for (int w = 0; w < matches.length; w++) {
+            long word = matches[w];
+            while (word != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                keys[k++] = ((long) names.get(ordinal) << 32) | ordinal;
+                word &= word - 1;
+            }
+        }
+        Arrays.sort(keys);
+        
+        int[] ordinals = new int[count];
+        for (int i = 0; i < count; i++) {
+            ordinals[i] = (int) keys[i];
+        }
+        return ordinals;
+    }
+    
+    private static void addEquals(CatalogSnapshot catalog, String dictionaryName, String columnName, String value,
+                                  List<IntBuffer> columns, List<boolean[]> masks) {
+        if (value == null) {
+            return;
+        }
+        StringDictionary dictionary = catalog.getDictionary(dictionaryName);
+        boolean[] mask = new boolean[dictionary.size() + 1];
+        for (int code = 0; code < dictionary.size(); code++) {
+            mask[code + 1] = dictionary.get(code).equalsIgnoreCase(value);
+        }
+        columns.add(catalog.getColumn(columnName));
+        masks.add(mask);
+    }
+    
+    private static void addContains(CatalogSnapshot catalog, String dictionaryName, String columnName, String value,
+                                    List<IntBuffer> columns, List<boolean[]> masks) {
+        if (value == null) {
+            return;
+        }
+        columns.add(catalog.getColumn(columnName));
+        masks.add(containsMask(catalog.getDictionary(dictionaryName), value));
+    }
+    
+    /**
+     * Whether each code (shifted by one, slot 0 is null) contains the value, case-insensitively
+     */
+    private static boolean[] containsMask(StringDictionary dictionary, String value) {
+        String needle = value.toLowerCase(Locale.ROOT);
+        boolean[] mask = new boolean[dictionary.size() + 1];
+        for (int code = 0; code < dictionary.size(); code++) {
+            mask[code + 1] = dictionary.get(code).toLowerCase(Locale.ROOT).contains(needle);
+        }
+        return mask;
+    }
+    
+    /**
+     * Ordinals with a face whose name contains the value, as a bitset; one pass over the face table
+     */
+    private static long[] faceNameMatches(CatalogSnapshot catalog, String value) {
+        long[] matches = new long[(catalog.size() + 63) >>> 6];
+        boolean[] mask = containsMask(catalog.getDictionary(CatalogSnapshot.FACE_NAMES), value);
+        IntBuffer faceNames = catalog.getColumn(CatalogSnapshot.FACE_NAME);
+        IntBuffer faceCards = catalog.getColumn(CatalogSnapshot.FACE_CARD);
+        for (int face = 0; face < faceCards.limit(); face++) {
+            if (mask[faceNames.get(face) + 1]) {
+                int ordinal = faceCards.get(face);
+                matches[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        return matches;
+    }
+    
+    private static boolean anyFaceContains(OrdinalIndex faces, TextColumn text, int ordinal, byte[] needle) {
+        for (int i = 0; i < faces.size(ordinal); i++) {
+            if (text.containsIgnoreCase(faces.get(ordinal, i), needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The predicates that are set, e.g. {@code name=bolt set=m10 mv=1..3}, for logs and diagnostics
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(" ");
+        add(joiner, "name", name);
+        add(joiner, "set", setCode);
+        add(joiner, "rarity", rarity);
+        add(joiner, "type", type);
+        add(joiner, "artist", artist);
+        add(joiner, "layout", layout);
+        add(joiner, "text", text);
+        add(joiner, "dfc", doubleFaced);
+        if (minManaValue != null || maxManaValue != null) {
+            joiner.add("mv=" + (minManaValue != null ? minManaValue : "") + ".." + (maxManaValue != null ? maxManaValue : ""));
+        }
+        add(joiner, "identity", identity);
+        add(joiner, "format", format);
+        return joiner.toString();
+    }
+    
+    private static void add(StringJoiner joiner, String key, Object value) {
+        if (value != null) {
+            joiner.add(key + "=" + value);
+        }
+    }
+    
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+}
@@ -0,0 +1,570 @@
+package com.cardboardgarden.service.catalog;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the card catalog.
+ *
+ * Every printing has an ordinal (its position in id order). Per-card attributes are int columns
+ * of dictionary codes, strings live in {@link StringDictionary} blobs, free text in
+ * {@link TextColumn}s, flags in {@link BitColumn}s, and one-to-many lookups (name, set, oracle
+ * group) are {@link OrdinalIndex}es. Faces of multi-faced cards form a second table with its own
+ * face numbers: face columns are indexed by face number, {@link #FACES} maps a card ordinal to its
+ * face numbers and {@link #BY_FACE_NAME} maps every face name to the cards carrying it. All storage
+ * is buffers, so the same class serves heap-built and memory-mapped snapshots. A snapshot is never
+ * modified after construction.
+ */
+public final class CatalogSnapshot {
+    
+    public static final String NAMES = "names";
+    public static final String LOOKUP_NAMES = "lookupNames";
+    public static final String SETS = "sets";
+    public static final String SET_NAMES = "setNames";
+    public static final String COLLECTOR_NUMBERS = "collectorNumbers";
+    public static final String RARITIES = "rarities";
+    public static final String ORACLE_IDS = "oracleIds";
+    public static final String LAYOUTS = "layouts";
+    public static final String ARTISTS = "artists";
+    public static final String TYPE_LINES = "typeLines";
+    public static final String MANA_COSTS = "manaCosts";
+    public static final String FACE_NAMES = "faceNames";
+    
+    public static final String NAME = "name";
+    public static final String SET = "set";
+    public static final String SET_NAME_BY_SET = "setNameBySet";
+    public static final String COLLECTOR_NUMBER = "collectorNumber";
+    public static final String RARITY = "rarity";
+    public static final String ORACLE = "oracle";
+    public static final String LAYOUT = "layout";
+    public static final String RELEASED_DAY = "releasedDay";
+    public static final String SET_POSITION = "setPosition";
+    public static final String ARTIST = "artist";
+    public static final String TYPE_LINE = "typeLine";
+    public static final String MANA_COST = "manaCost";
+    public static final String MANA_VALUE = "manaValue";
+    public static final String COLOR_IDENTITY = "colorIdentity";
+    public static final String LEGALITIES = "legalities";
+    
+    public static final String FACE_CARD = "faceCard";
+    public static final String FACE_NAME = "faceName";
+    public static final String FACE_TYPE_LINE = "faceTypeLine";
+    public static final String FACE_MANA_COST = "faceManaCost";
+    
+    public static final String ORACLE_TEXT = "oracleText";
+    public static final String FACE_ORACLE_TEXT = "faceOracleText";
+    public static final String FACE_IMAGE_SMALL = "faceImageSmall";
+    public static final String FACE_IMAGE_NORMAL = "faceImageNormal";
+    public static final String FACE_IMAGE_LARGE = "faceImageLarge";
+    
+    public static final String DOUBLE_FACED = "doubleFaced";
+    
+    public static final String BY_LOOKUP_NAME = "byLookupName";
+    public static final String BY_SET = "bySet";
+    public static final String BY_ORACLE = "byOracle";
+    public static final String FACES = "faces";
+    public static final String BY_FACE_NAME = "byFaceName";
+    
+    /** Released day of cards without a release date */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    
+    /** Mana value of cards whose mana value is not known */
+    public static final int NO_MANA_VALUE = -1;
+    
+    /** Color identity bits, in WUBRG order */
+    public static final String COLORS = "WUBRG";
+    
+    /** Formats with a bit in the legalities column (bit i = FORMATS.get(i), set when legal or restricted) */
+    public static final List<String> FORMATS = List.of(
+        "standard", "future", "historic", "timeless", "gladiator", "pioneer", "explorer", "modern",
+        "legacy", "pauper", "vintage", "penny", "commander", "oathbreaker", "standardbrawl", "brawl",
+        "alchemy", "paupercommander", "duel", "oldschool", "premodern", "predh"
+    );
+    
+    private final long version;
+    private final LongBuffer ids;
+    private final Map<String, StringDictionary> dictionaries;
+    private final Map<String, IntBuffer> columns;
+    private final Map<String, TextColumn> texts;
+    private final Map<String, BitColumn> flags;
+    private final Map<String, OrdinalIndex> indexes;
+    
+    private final StringDictionary names;
+    private final StringDictionary lookupNames;
+    private final StringDictionary sets;
+    private final StringDictionary setNames;
+    private final StringDictionary collectorNumbers;
+    private final StringDictionary rarities;
+    private final StringDictionary oracleIds;
+    private final StringDictionary layouts;
+    private final StringDictionary artists;
+    private final StringDictionary typeLines;
+    private final StringDictionary manaCosts;
+    private final StringDictionary faceNames;
+    
+    private final IntBuffer nameColumn;
+    private final IntBuffer setColumn;
+    private final IntBuffer setNameBySet;
+    private final IntBuffer collectorNumberColumn;
+    private final IntBuffer rarityColumn;
+    private final IntBuffer oracleColumn;
+    private final IntBuffer layoutColumn;
+    private final IntBuffer releasedDayColumn;
+    private final IntBuffer setPositionColumn;
+    private final IntBuffer artistColumn;
+    private final IntBuffer typeLineColumn;
+    private final IntBuffer manaCostColumn;
+    private final IntBuffer manaValueColumn;
+    private final IntBuffer colorIdentityColumn;
+    private final IntBuffer legalitiesColumn;
+    
+    private final IntBuffer faceCardColumn;
+    private final IntBuffer faceNameColumn;
+    private final IntBuffer faceTypeLineColumn;
+    private final IntBuffer faceManaCostColumn;
+    
+    private final TextColumn oracleText;
+    private final TextColumn faceOracleText;
+    private final TextColumn faceImageSmall;
+    private final TextColumn faceImageNormal;
+    private final TextColumn faceImageLarge;
+    private final BitColumn doubleFaced;
+    
+    private volatile ScanColumns scanColumns;
+    
+    private final OrdinalIndex byLookupName;
+    private final OrdinalIndex bySet;
+    private final OrdinalIndex byOracle;
+    private final OrdinalIndex faces;
+    private final OrdinalIndex byFaceName;
+    
+    public CatalogSnapshot(long version, LongBuffer ids, Map<String, StringDictionary> dictionaries,
+                           Map<String, IntBuffer> columns, Map<String, TextColumn> texts,
+                           Map<String, BitColumn> flags, Map<String, OrdinalIndex> indexes) {
+        this.version = version;
+        this.ids = ids;
+        this.dictionaries = Map.copyOf(dictionaries);
+        this.columns = Map.copyOf(columns);
+        this.texts = Map.copyOf(texts);
+        this.flags = Map.copyOf(flags);
+        this.indexes = Map.copyOf(indexes);
+        
+        names = dictionary(NAMES);
+        lookupNames = dictionary(LOOKUP_NAMES);
+        sets = dictionary(SETS);
+        setNames = dictionary(SET_NAMES);
+        collectorNumbers = dictionary(COLLECTOR_NUMBERS);
+        rarities = dictionary(RARITIES);
+        oracleIds = dictionary(ORACLE_IDS);
+        layouts = dictionary(LAYOUTS);
+        artists = dictionary(ARTISTS);
+        typeLines = dictionary(TYPE_LINES);
+        manaCosts = dictionary(MANA_COSTS);
+        faceNames = dictionary(FACE_NAMES);
+        
+        nameColumn = column(NAME);
+        setColumn = column(SET);
+        setNameBySet = column(SET_NAME_BY_SET);
+        collectorNumberColumn = column(COLLECTOR_NUMBER);
+        rarityColumn = column(RARITY);
+        oracleColumn = column(ORACLE);
+        layoutColumn = column(LAYOUT);
+        releasedDayColumn = column(RELEASED_DAY);
+        setPositionColumn = column(SET_POSITION);
+        artistColumn = column(ARTIST);
+        typeLineColumn = column(TYPE_LINE);
+        manaCostColumn = column(MANA_COST);
+        
+        manaValueColumn = column(MANA_VALUE);
+        colorIdentityColumn = column(COLOR_IDENTITY);
+        legalitiesColumn = column(LEGALITIES);
+        
+        faceCardColumn = column(FACE_CARD);
+        faceNameColumn = column(FACE_NAME);
+        faceTypeLineColumn = column(FACE_TYPE_LINE);
+        faceManaCostColumn = column(FACE_MANA_COST);
+        
+        oracleText = require(texts.get(ORACLE_TEXT), ORACLE_TEXT);
+        faceOracleText = require(texts.get(FACE_ORACLE_TEXT), FACE_ORACLE_TEXT);
+        faceImageSmall = require(texts.get(FACE_IMAGE_SMALL), FACE_IMAGE_SMALL);
+        faceImageNormal = require(texts.get(FACE_IMAGE_NORMAL), FACE_IMAGE_NORMAL);
+        faceImageLarge = require(texts.get(FACE_IMAGE_LARGE), FACE_IMAGE_LARGE);
+        doubleFaced = require(flags.get(DOUBLE_FACED), DOUBLE_FACED);
+        
+        byLookupName = index(BY_LOOKUP_NAME);
+        bySet = index(BY_SET);
+        byOracle = index(BY_ORACLE);
+        faces = index(FACES);
+        byFaceName = index(BY_FACE_NAME);
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public int size() {
+        return ids.limit();
+    }
+    
+    /**
+     * Ordinal of a card id, or -1 when the card is not in this snapshot
+     */
+    public int ordinalOf(long id) {
+        int low = 0;
+        int high = ids.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = ids.get(mid);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    public long getId(int ordinal) {
+        return ids.get(ordinal);
+    }
+    
+    public String getName(int ordinal) {
+        return decode(names, nameColumn, ordinal);
+    }
+    
+    public String getSetCode(int ordinal) {
+        return decode(sets, setColumn, ordinal);
+    }
+    
+    public String getSetName(int ordinal) {
+        int set = setColumn.get(ordinal);
+        return set < 0 ? null : decode(setNames, setNameBySet, set);
+    }
+    
+    public String getCollectorNumber(int ordinal) {
+        return decode(collectorNumbers, collectorNumberColumn, ordinal);
+    }
+    
+    public String getRarity(int ordinal) {
+        return decode(rarities, rarityColumn, ordinal);
+    }
+    
+    public String getOracleId(int ordinal) {
+        return decode(oracleIds, oracleColumn, ordinal);
+    }
+    
+    public String getLayout(int ordinal) {
+        return decode(layouts, layoutColumn, ordinal);
+    }
+    
+    public String getArtist(int ordinal) {
+        return decode(artists, artistColumn, ordinal);
+    }
+    
+    public String getTypeLine(int ordinal) {
+        return decode(typeLines, typeLineColumn, ordinal);
+    }
+    
+    public String getManaCost(int ordinal) {
+        return decode(manaCosts, manaCostColumn, ordinal);
+    }
+    
+    /**
+     * Oracle text, empty when the card has none
+     */
+    public String getOracleText(int ordinal) {
+        return oracleText.get(ordinal);
+    }
+    
+    /**
+     * Mana value rounded down, or {@link #NO_MANA_VALUE}
+     */
+    public int getManaValue(int ordinal) {
+        return manaValueColumn.get(ordinal);
+    }
+    
+    /**
+     * Color identity as bits in {@link #COLORS} order
+     */
+    public int getColorIdentity(int ordinal) {
+        return colorIdentityColumn.get(ordinal);
+    }
+    
+    /**
+     * Formats the card is legal (or restricted) in, as bits in {@link #FORMATS} order
+     */
+    public int getLegalities(int ordinal) {
+        return legalitiesColumn.get(ordinal);
+    }
+    
+    /**
+     * Columns used by filter kernels as plain arrays; copied once when the snapshot is memory-mapped
+     */
+    public ScanColumns getScanColumns() {
+        ScanColumns current = scanColumns;
+        if (current == null) {
+            current = new ScanColumns(array(MANA_VALUE), array(COLOR_IDENTITY), array(LEGALITIES), array(RARITY));
+            scanColumns = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Color identity bits of a color string such as "WU", "{W}{U}", "W,U" or ["W","U"]
+     */
+    public static int colorMask(String colors) {
+        int mask = 0;
+        if (colors != null) {
+            String upper = colors.toUpperCase(Locale.ROOT);
+            for (int i = 0; i < COLORS.length(); i++) {
+                if (upper.indexOf(COLORS.charAt(i)) >= 0) {
+                    mask |= 1 << i;
+                }
+            }
+        }
+        return mask;
+    }
+    
+    public boolean isDoubleFaced(int ordinal) {
+        return doubleFaced.get(ordinal);
+    }
+    
+    /**
+     * Release date as epoch day, or {@link #NO_DATE}
+     */
+    public int getReleasedDay(int ordinal) {
+        return releasedDayColumn.get(ordinal);
+    }
+    
+    /**
+     * Printings matching a name (see {@link #normalizeName}), newest first
+     */
+    public int[] findByName(String name) {
+        return byLookupName.toArray(lookupNames.find(normalizeName(name)));
+    }
+    
+    /**
+     * Printings with a face of that name, e.g. "Insectile Aberration"; newest first
+     */
+    public int[] findByFaceName(String name) {
+        return byFaceName.toArray(lookupNames.find(normalizeName(name)));
+    }
+    
+    /**
+     * Faces of a printing in printed order; empty for single-faced cards
+     */
+    public List<CardFace> getFaces(int ordinal) {
+        int count = faces.size(ordinal);
+        List<CardFace> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(getFace(faces.get(ordinal, i)));
+        }
+        return result;
+    }
+    
+    /**
+     * Face by face number
+     */
+    public CardFace getFace(int face) {
+        return new CardFace(decode(faceNames, faceNameColumn, face), decode(manaCosts, faceManaCostColumn, face),
+                decode(typeLines, faceTypeLineColumn, face), emptyToNull(faceOracleText.get(face)),
+                emptyToNull(faceImageSmall.get(face)), emptyToNull(faceImageNormal.get(face)),
+                emptyToNull(faceImageLarge.get(face)));
+    }
+    
+    /**
+     * Number of faces across all printings
+     */
+    public int getFaceCount() {
+        return faceCardColumn.limit();
+    }
+    
+    /**
+     * Ordinal of the printing a face belongs to
+     */
+    public int getFaceCard(int face) {
+        return faceCardColumn.get(face);
+    }
+    
+    /**
+     * Printings sharing an Oracle ID
+     */
+    public int[] findByOracleId(String oracleId) {
+        return byOracle.toArray(oracleIds.find(oracleId));
+    }
+    
+    /**
+     * Code of a (lower-case) set code, or -1 when unknown
+     */
+    public int findSet(String setCode) {
+        return sets.find(setCode);
+    }
+    
+    public int getSetCount() {
+        return sets.size();
+    }
+    
+    public String getSetCodeAt(int set) {
+        return sets.get(set);
+    }
+    
+    public String getSetNameAt(int set) {
+        return decode(setNames, setNameBySet, set);
+    }
+    
+    /**
+     * Number of printings with a collector number in a set
+     */
+    public int getSetSize(int set) {
+        return bySet.size(set);
+    }
+    
+    /**
+     * Ordinal of the printing at a position of a set, in collector-number order
+     */
+    public int getSetCard(int set, int position) {
+        return bySet.get(set, position);
+    }
+    
+    /**
+     * Position of a printing within its set's collector-number order, or -1
+     */
+    public int getSetPosition(int ordinal) {
+        return setPositionColumn.get(ordinal);
+    }
+    
+    /**
+     * Set code of a printing as a dictionary code, or -1
+     */
+    public int getSet(int ordinal) {
+        return setColumn.get(ordinal);
+    }
+    
+    /**
+     * Printing with the given collector number in a set (case-insensitive), or -1
+     */
+    public int findPrinting(String setCode, String collectorNumber) {
+        int set = sets.find(setCode);
+        for (int i = 0; i < bySet.size(set); i++) {
+            int ordinal = bySet.get(set, i);
+            if (collectorNumber.equalsIgnoreCase(getCollectorNumber(ordinal))) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+    
+    public int getLookupNameCount() {
+        return lookupNames.size();
+    }
+    
+    public LongBuffer getIds() {
+        return ids.duplicate();
+    }
+    
+    public Map<String, StringDictionary> getDictionaries() {
+        return dictionaries;
+    }
+    
+    public Map<String, IntBuffer> getColumns() {
+        return columns;
+    }
+    
+    public Map<String, TextColumn> getTexts() {
+        return texts;
+    }
+    
+    public Map<String, BitColumn> getFlags() {
+        return flags;
+    }
+    
+    /**
+     * Dictionary by name (see the constants of this class)
+     */
+    public StringDictionary getDictionary(String name) {
+        return dictionary(name);
+    }
+    
+    /**
+     * Code column by name; values index the matching dictionary, -1 means null
+     */
+    public IntBuffer getColumn(String name) {
+        return column(name).duplicate();
+    }
+    
+    public OrdinalIndex getIndex(String name) {
+        return index(name);
+    }
+    
+    public TextColumn getText(String name) {
+        return require(texts.get(name), name);
+    }
+    
+    public BitColumn getFlag(String name) {
+        return require(flags.get(name), name);
+    }
+    
+    public Map<String, OrdinalIndex> getIndexes() {
+        return indexes;
+    }
+    
+    /**
+     * Normalize a card name for lookups: lower case, single spaces, unified split-card separator
+     */
+    public static String normalizeName(String name) {
+        return name.trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s*//\\s*", " // ")
+                .replaceAll("\\s+", " ");
+    }
+    
+    private int[] array(String name) {
+        IntBuffer column = column(name);
+        if (column.hasArray() && column.arrayOffset() == 0 && column.array().length == column.limit()) {
+            return column.array();
+        }
+        int[] values = new int[column.limit()];
+        column.get(0, values);
+        return values;
+    }
+    
+    private StringDictionary dictionary(String name) {
+        return require(dictionaries.get(name), name);
+    }
+    
+    private IntBuffer column(String name) {
+        return require(columns.get(name), name);
+    }
+    
+    private OrdinalIndex index(String name) {
+        return require(indexes.get(name), name);
+    }
+    
+    private static <T> T require(T part, String name) {
+        if (part == null) {
+            throw new IllegalArgumentException("Catalog snapshot is missing " + name);
+        }
+        return part;
+    }
+    
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+    
+    private static String decode(StringDictionary dictionary, IntBuffer column, int position) {
+        int code = column.get(position);
+        return code < 0 ? null : dictionary.get(code);
+    }
+    
+    /**
+     * Int columns scanned by {@link FilterKernel}s, indexed by ordinal
+     */
+    public record ScanColumns(int[] manaValue, int[] colorIdentity, int[] legalities, int[] rarity) {
+    }
+}
@@ -0,0 +1,421 @@
+package com.cardboardgarden.service.catalog;
+
+import com.cardboardgarden.entity.Card;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Collects catalog rows and turns them into an immutable {@link CatalogSnapshot}.
+ *
+ * Rows may arrive in any order; ordinals are assigned by card id. Faces and gameplay values are
+ * added separately by card id and joined at build time. A builder is single use and not thread-safe.
+ */
+public class CatalogSnapshotBuilder {
+    
+    /**
+     * Orders collector numbers naturally: "2" < "10" < "10a" < "S1"
+     */
+    public static final Comparator<String> COLLECTOR_NUMBER_ORDER = (a, b) -> {
+        long na = leadingNumber(a);
+        long nb = leadingNumber(b);
+        if (na != nb) {
+            return Long.compare(na, nb);
+        }
+        return a.compareTo(b);
+    };
+    
+    private static final Pattern PLAYABLE = Pattern.compile("\"(\\w+)\"\\s*:\\s*\"(legal|restricted)\"");
+    
+    private static final ObjectMapper JSON = new ObjectMapper();
+    
+    private final List<Row> rows = new ArrayList<>(1 << 17);
+    private final Map<Long, int[]> gameplay = new HashMap<>(1 << 17);
+    private final Map<Long, List<CardFace>> faces = new HashMap<>();
+    
+    /**
+     * One card as read from the cards table
+     */
+    public record Row(long id, String name, String setCode, String setName, String collectorNumber,
+                      String rarity, String oracleId, String layout, LocalDate releasedAt,
+                      String artist, String typeLine, String manaCost, String oracleText, boolean doubleFaced) {
+    }
+    
+    public CatalogSnapshotBuilder add(Row row) {
+        rows.add(row);
+        return this;
+    }
+    
+    public CatalogSnapshotBuilder add(Card card) {
+        addFaces(card.getId(), card.getCardFaces());
+        return add(new Row(card.getId(), card.getName(), card.getSetCode(), card.getSetName(),
+                card.getCollectorNumber(), card.getRarity(), card.getOracleId(), card.getLayout(),
+                card.getReleasedAt() != null ? card.getReleasedAt().toLocalDate() : null,
+                card.getArtist(), card.getTypeLine(), card.getManaCost(), card.getOracleText(),
+                card.getCardFaces() != null && !card.getCardFaces().isBlank() && !"null".equals(card.getCardFaces())));
+    }
+    
+    /**
+     * Mana value, color identity and legalities of a card (raw values as stored by the sync script)
+     */
+    public CatalogSnapshotBuilder addGameplay(long id, Double manaValue, String colorIdentity, String legalities) {
+        int legal = 0;
+        if (legalities != null) {
+            Matcher matcher = PLAYABLE.matcher(legalities);
+            while (matcher.find()) {
+                int format = CatalogSnapshot.FORMATS.indexOf(matcher.group(1));
+                if (format >= 0) {
+                    legal |= 1 << format;
+                }
+            }
+        }
+        gameplay.put(id, new int[] {
+            manaValue != null ? (int) Math.floor(manaValue) : CatalogSnapshot.NO_MANA_VALUE,
+            CatalogSnapshot.colorMask(colorIdentity),
+            legal
+        });
+        return this;
+    }
+    
+    /**
+     * Faces of a card from its card_faces JSON (a Scryfall card_faces array); anything else,
+     * including malformed JSON, leaves the card without faces
+     */
+    public CatalogSnapshotBuilder addFaces(long id, String cardFaces) {
+        if (cardFaces == null || cardFaces.isBlank()) {
+            return this;
+        }
+        JsonNode array;
+        try {
+            array = JSON.readTree(cardFaces);
+        } catch (JsonProcessingException e) {
+            return this;
+        }
+        if (array == null || !array.isArray() || array.isEmpty()) {
+            return this;
+        }
+        
+        List<CardFace> parsed = new ArrayList<>(array.size());
+        for (JsonNode face : array) {
+            JsonNode images = face.path("image_uris");
+            parsed.add(new CardFace(text(face, "name"), text(face, "mana_cost"), text(face, "type_line"),
+                    text(face, "oracle_text"), text(images, "small"), text(images, "normal"), text(images, "large")));
+        }
+        faces.put(id, parsed);
+        return this;
+    }
+    
+    public CatalogSnapshot build(long version) {
+        rows.sort(Comparator.comparingLong(Row::id));
+        int count = rows.size();
+        
+        List<String> names = new ArrayList<>(count);
+        List<String> lookupNames = new ArrayList<>(count);
+        List<String> sets = new ArrayList<>();
+        List<String> collectorNumbers = new ArrayList<>(count);
+        List<String> rarities = new ArrayList<>();
+        List<String> oracleIds = new ArrayList<>(count);
+        List<String> layouts = new ArrayList<>();
+        List<String> artists = new ArrayList<>(count);
+        List<String> typeLines = new ArrayList<>(count);
+        List<String> manaCosts = new ArrayList<>(count);
+        List<String> oracleTexts = new ArrayList<>(count);
+        boolean[] doubleFaced = new boolean[count];
+        Map<String, String> setNameByCode = new HashMap<>();
+        
+        List<Integer> faceCards = new ArrayList<>();
+        List<String> faceNames = new ArrayList<>();
+        List<String> faceTypeLines = new ArrayList<>();
+        List<String> faceManaCosts = new ArrayList<>();
+        List<String> faceOracleTexts = new ArrayList<>();
+        List<String> faceImagesSmall = new ArrayList<>();
+        List<String> faceImagesNormal = new ArrayList<>();
+        List<String> faceImagesLarge = new ArrayList<>();
+        List<List<Integer>> facesByCard = lists(count);
+        String[][] faceKeys = new String[count][];
+        
+        long[] ids = new long[count];
+        String[] setCodes = new String[count];
+        String[][] lookupKeys = new String[count][];
+        for (int i = 0; i < count; i++) {
+            Row row = rows.get(i);
+            ids[i] = row.id();
+            if (i > 0 && ids[i] == ids[i - 1]) {
+                throw new IllegalArgumentException("Duplicate card id " + row.id());
+            }
+            names.add(row.name());
+            collectorNumbers.add(row.collectorNumber());
+            rarities.add(row.rarity());
+            oracleIds.add(row.oracleId());
+            layouts.add(row.layout());
+            artists.add(row.artist());
+            typeLines.add(row.typeLine());
+            manaCosts.add(row.manaCost());
+            oracleTexts.add(row.oracleText());
+            doubleFaced[i] = row.doubleFaced();
+            
+            if (row.setCode() != null) {
+                setCodes[i] = row.setCode().toLowerCase(Locale.ROOT);
+                sets.add(setCodes[i]);
+                if (row.setName() != null) {
+                    setNameByCode.putIfAbsent(setCodes[i], row.setName());
+                }
+            }
+            if (row.name() != null) {
+                lookupKeys[i] = lookupKeys(row.name());
+                lookupNames.addAll(List.of(lookupKeys[i]));
+            }
+            
+            List<CardFace> cardFaces = faces.getOrDefault(row.id(), List.of());
+            faceKeys[i] = new String[cardFaces.size()];
+            for (int f = 0; f < cardFaces.size(); f++) {
+                CardFace face = cardFaces.get(f);
+                facesByCard.get(i).add(faceCards.size());
+                faceCards.add(i);
+                faceNames.add(face.name());
+                faceTypeLines.add(face.typeLine());
+                faceManaCosts.add(face.manaCost());
+                faceOracleTexts.add(face.oracleText());
+                faceImagesSmall.add(face.imageUriSmall());
+                faceImagesNormal.add(face.imageUriNormal());
+                faceImagesLarge.add(face.imageUriLarge());
+                if (face.name() != null && !face.name().isBlank()) {
+                    faceKeys[i][f] = CatalogSnapshot.normalizeName(face.name());
+                    lookupNames.add(faceKeys[i][f]);
+                }
+            }
+        }
+        
+        StringDictionary nameDictionary = StringDictionary.of(names);
+        StringDictionary lookupDictionary = StringDictionary.of(lookupNames);
+        StringDictionary setDictionary = StringDictionary.of(sets);
+        StringDictionary setNameDictionary = StringDictionary.of(setNameByCode.values());
+        StringDictionary collectorNumberDictionary = StringDictionary.of(collectorNumbers);
+        StringDictionary rarityDictionary = StringDictionary.of(rarities);
+        StringDictionary oracleDictionary = StringDictionary.of(oracleIds);
+        StringDictionary layoutDictionary = StringDictionary.of(layouts);
+        StringDictionary artistDictionary = StringDictionary.of(artists);
+        StringDictionary typeLineDictionary = StringDictionary.of(concat(typeLines, faceTypeLines));
+        StringDictionary manaCostDictionary = StringDictionary.of(concat(manaCosts, faceManaCosts));
+        StringDictionary faceNameDictionary = StringDictionary.of(faceNames);
+        
+        int[] nameColumn = encode(names, nameDictionary);
+        int[] setColumn = encode(Arrays.asList(setCodes), setDictionary);
+        int[] collectorNumberColumn = encode(collectorNumbers, collectorNumberDictionary);
+        int[] rarityColumn = encode(rarities, rarityDictionary);
+        int[] oracleColumn = encode(oracleIds, oracleDictionary);
+        int[] layoutColumn = encode(layouts, layoutDictionary);
+        int[] artistColumn = encode(artists, artistDictionary);
+        int[] typeLineColumn = encode(typeLines, typeLineDictionary);
+        int[] manaCostColumn = encode(manaCosts, manaCostDictionary);
+        int[] faceNameColumn = encode(faceNames, faceNameDictionary);
+        int[] faceTypeLineColumn = encode(faceTypeLines, typeLineDictionary);
+        int[] faceManaCostColumn = encode(faceManaCosts, manaCostDictionary);
+        int[] faceCardColumn = faceCards.stream().mapToInt(Integer::intValue).toArray();
+        int[] releasedDayColumn = new int[count];
+        int[] manaValueColumn = new int[count];
+        int[] colorIdentityColumn = new int[count];
+        int[] legalitiesColumn = new int[count];
+        for (int i = 0; i < count; i++) {
+            LocalDate releasedAt = rows.get(i).releasedAt();
+            releasedDayColumn[i] = releasedAt != null ? (int) releasedAt.toEpochDay() : CatalogSnapshot.NO_DATE;
+            int[] play = gameplay.get(ids[i]);
+            manaValueColumn[i] = play != null ? play[0] : CatalogSnapshot.NO_MANA_VALUE;
+            colorIdentityColumn[i] = play != null ? play[1] : 0;
+            legalitiesColumn[i] = play != null ? play[2] : 0;
+        }
+        
+        List<String> setNamesBySet = new ArrayList<>(setDictionary.size());
+        for (int set = 0; set < setDictionary.size(); set++) {
+            setNamesBySet.add(setNameByCode.get(setDictionary.get(set)));
+        }
+        int[] setNameBySet = encode(setNamesBySet, setNameDictionary);
+        
+        // Name lookups return the newest printing first
+        Integer[] newestFirst = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            newestFirst[i] = i;
+        }
+        Arrays.sort(newestFirst, (a, b) -> releasedDayColumn[a] != releasedDayColumn[b]
+                ? Integer.compare(releasedDayColumn[b], releasedDayColumn[a])
+                : Long.compare(ids[b], ids[a]));
+        Map<String, Integer> lookupCodes = codes(lookupDictionary);
+        List<List<Integer>> byLookupName = lists(lookupDictionary.size());
+        List<List<Integer>> byFaceName = lists(lookupDictionary.size());
+        for (int ordinal : newestFirst) {
+            if (lookupKeys[ordinal] != null) {
+                for (String key : lookupKeys[ordinal]) {
+                    byLookupName.get(lookupCodes.get(key)).add(ordinal);
+                }
+            }
+            for (String key : faceKeys[ordinal]) {
+                if (key != null) {
+                    List<Integer> printings = byFaceName.get(lookupCodes.get(key));
+                    // Both faces of some cards share a name
+                    if (printings.isEmpty() || printings.get(printings.size() - 1) != ordinal) {
+                        printings.add(ordinal);
+                    }
+                }
+            }
+        }
+        
+        List<List<Integer>> byOracle = lists(oracleDictionary.size());
+        List<List<Integer>> bySet = lists(setDictionary.size());
+        for (int i = 0; i < count; i++) {
+            if (oracleColumn[i] >= 0) {
+                byOracle.get(oracleColumn[i]).add(i);
+            }
+            if (setColumn[i] >= 0 && rows.get(i).collectorNumber() != null) {
+                bySet.get(setColumn[i]).add(i);
+            }
+        }
+        
+        // Set listings follow collector-number order, and each printing remembers its position
+        int[] setPositionColumn = new int[count];
+        Arrays.fill(setPositionColumn, -1);
+        for (List<Integer> printings : bySet) {
+            printings.sort((a, b) -> COLLECTOR_NUMBER_ORDER.compare(
+                    rows.get(a).collectorNumber(), rows.get(b).collectorNumber()));
+            for (int position = 0; position < printings.size(); position++) {
+                setPositionColumn[printings.get(position)] = position;
+            }
+        }
+        
+        Map<String, StringDictionary> dictionaries = new HashMap<>();
+        dictionaries.put(CatalogSnapshot.NAMES, nameDictionary);
+        dictionaries.put(CatalogSnapshot.LOOKUP_NAMES, lookupDictionary);
+        dictionaries.put(CatalogSnapshot.SETS, setDictionary);
+        dictionaries.put(CatalogSnapshot.SET_NAMES, setNameDictionary);
+        dictionaries.put(CatalogSnapshot.COLLECTOR_NUMBERS, collectorNumberDictionary);
+        dictionaries.put(CatalogSnapshot.RARITIES, rarityDictionary);
+        dictionaries.put(CatalogSnapshot.ORACLE_IDS, oracleDictionary);
+        dictionaries.put(CatalogSnapshot.LAYOUTS, layoutDictionary);
+        dictionaries.put(CatalogSnapshot.ARTISTS, artistDictionary);
+        dictionaries.put(CatalogSnapshot.TYPE_LINES, typeLineDictionary);
+        dictionaries.put(CatalogSnapshot.MANA_COSTS, manaCostDictionary);
+        dictionaries.put(CatalogSnapshot.FACE_NAMES, faceNameDictionary);
+        
+        Map<String, IntBuffer> columns = new HashMap<>();
+        columns.put(CatalogSnapshot.NAME, IntBuffer.wrap(nameColumn));
+        columns.put(CatalogSnapshot.SET, IntBuffer.wrap(setColumn));
+        columns.put(CatalogSnapshot.SET_NAME_BY_SET, IntBuffer.wrap(setNameBySet));
+        columns.put(CatalogSnapshot.COLLECTOR_NUMBER, IntBuffer.wrap(collectorNumberColumn));
+        columns.put(CatalogSnapshot.RARITY, IntBuffer.wrap(rarityColumn));
+        columns.put(CatalogSnapshot.ORACLE, IntBuffer.wrap(oracleColumn));
+        columns.put(CatalogSnapshot.LAYOUT, IntBuffer.wrap(layoutColumn));
+        columns.put(CatalogSnapshot.RELEASED_DAY, IntBuffer.wrap(releasedDayColumn));
+        columns.put(CatalogSnapshot.SET_POSITION, IntBuffer.wrap(setPositionColumn));
+        columns.put(CatalogSnapshot.ARTIST, IntBuffer.wrap(artistColumn));
+        columns.put(CatalogSnapshot.TYPE_LINE, IntBuffer.wrap(typeLineColumn));
+        columns.put(CatalogSnapshot.MANA_COST, IntBuffer.wrap(manaCostColumn));
+        columns.put(CatalogSnapshot.MANA_VALUE, IntBuffer.wrap(manaValueColumn));
+        columns.put(CatalogSnapshot.COLOR_IDENTITY, IntBuffer.wrap(colorIdentityColumn));
+        columns.put(CatalogSnapshot.LEGALITIES, IntBuffer.wrap(legalitiesColumn));
+        columns.put(CatalogSnapshot.FACE_CARD, IntBuffer.wrap(faceCardColumn));
+        columns.put(CatalogSnapshot.FACE_NAME, IntBuffer.wrap(faceNameColumn));
+        columns.put(CatalogSnapshot.FACE_TYPE_LINE, IntBuffer.wrap(faceTypeLineColumn));
+        columns.put(CatalogSnapshot.FACE_MANA_COST, IntBuffer.wrap(faceManaCostColumn));
+        
+        Map<String, TextColumn> texts = Map.of(
+            CatalogSnapshot.ORACLE_TEXT, TextColumn.of(oracleTexts),
+            CatalogSnapshot.FACE_ORACLE_TEXT, TextColumn.of(faceOracleTexts),
+            CatalogSnapshot.FACE_IMAGE_SMALL, TextColumn.of(faceImagesSmall),
+            CatalogSnapshot.FACE_IMAGE_NORMAL, TextColumn.of(faceImagesNormal),
+            CatalogSnapshot.FACE_IMAGE_LARGE, TextColumn.of(faceImagesLarge)
+        );
+        Map<String, BitColumn> flags = Map.of(CatalogSnapshot.DOUBLE_FACED, BitColumn.of(doubleFaced));
+        
+        Map<String, OrdinalIndex> indexes = new HashMap<>();
+        indexes.put(CatalogSnapshot.BY_LOOKUP_NAME, OrdinalIndex.of(toArrays(byLookupName)));
+        indexes.put(CatalogSnapshot.BY_SET, OrdinalIndex.of(toArrays(bySet)));
+        indexes.put(CatalogSnapshot.BY_ORACLE, OrdinalIndex.of(toArrays(byOracle)));
+        indexes.put(CatalogSnapshot.FACES, OrdinalIndex.of(toArrays(facesByCard)));
+        indexes.put(CatalogSnapshot.BY_FACE_NAME, OrdinalIndex.of(toArrays(byFaceName)));
+        
+        return new CatalogSnapshot(version, LongBuffer.wrap(ids), dictionaries, columns, texts, flags, indexes);
+    }
+    
+    /**
+     * Lookup keys of a name; "Delver of Secrets" also finds "Delver of Secrets // Insectile Aberration"
+     */
+    private static String[] lookupKeys(String name) {
+        String normalized = CatalogSnapshot.normalizeName(name);
+        int separator = normalized.indexOf(" // ");
+        return separator > 0
+                ? new String[] {normalized, normalized.substring(0, separator)}
+                : new String[] {normalized};
+    }
+    
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() && !value.asText().isEmpty() ? value.asText() : null;
+    }
+    
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first.size() + second.size());
+        all.addAll(first);
+        all.addAll(second);
+        return all;
+    }
+    
+    /**
+     * Dictionary code of every value, -1 for nulls
+     */
+    private static int[] encode(List<String> values, StringDictionary dictionary) {
+        Map<String, Integer> codes = codes(dictionary);
+        int[] column = new int[values.size()];
+        for (int i = 0; i < column.length; i++) {
+            String value = values.get(i);
+            column[i] = value != null ? codes.get(value) : -1;
+        }
+        return column;
+    }
+    
+    private static Map<String, Integer> codes(StringDictionary dictionary) {
+        Map<String, Integer> codes = new HashMap<>(dictionary.size() * 2);
+        for (int code = 0; code < dictionary.size(); code++) {
+            codes.put(dictionary.get(code), code);
+        }
+        return codes;
+    }
+    
+    private static List<List<Integer>> lists(int size) {
+        List<List<Integer>> lists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+    
+    private static List<int[]> toArrays(List<List<Integer>> lists) {
+        List<int[]> arrays = new ArrayList<>(lists.size());
+        for (List<Integer> list : lists) {
+            arrays.add(list.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return arrays;
+    }
+    
+    private static long leadingNumber(String collectorNumber) {
+        long value = 0;
+        int i = 0;
+        while (i < collectorNumber.length() && i < 18 && Character.isDigit(collectorNumber.charAt(i))) {
+            value = value * 10 + (collectorNumber.charAt(i) - '0');
+            i++;
+        }
+        // Numbers without leading digits (promos, tokens) go after the numbered cards
+        return i == 0 ? Long.MAX_VALUE : value;
+    }
+}
@@ -0,0 +1,238 @@
+package com.cardboardgarden.service.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file format for a {@link CatalogSnapshot}, read back through a memory mapping.
+ *
+ * Layout (little endian): magic, format version, catalog version, section count and header
+ * checksum, then a table of named sections (offset, length, CRC32C) followed by the raw buffers,
+ * each 8-byte aligned. Reading maps the file and wraps each section as a buffer view, so nothing
+ * is deserialized; checksums are verified once when the file is opened.
+ */
+public final class CatalogSnapshotFile {
+    
+    private static final int MAGIC = 0x53434743; // "CGCS"
+    private static final int FORMAT_VERSION = 4;
+    private static final int FIXED_HEADER = 4 + 4 + 8 + 4 + 4;
+    
+    private static final String IDS = "ids";
+    private static final String DICTIONARY = "dictionary:";
+    private static final String COLUMN = "column:";
+    private static final String TEXT = "text:";
+    private static final String FLAG = "flag:";
+    private static final String INDEX = "index:";
+    
+    private CatalogSnapshotFile() {
+    }
+    
+    /**
+     * Write a snapshot to a temporary file and move it into place, so readers never see a partial file
+     */
+    public static void write(CatalogSnapshot snapshot, Path file) throws IOException {
+        Map<String, ByteBuffer> sections = new LinkedHashMap<>();
+        sections.put(IDS, bytes(snapshot.getIds()));
+        snapshot.getDictionaries().forEach((name, dictionary) -> {
+            sections.put(DICTIONARY + name + ":data", dictionary.getData());
+            sections.put(DICTIONARY + name + ":offsets", bytes(dictionary.getOffsets()));
+        });
+        snapshot.getColumns().forEach((name, column) -> sections.put(COLUMN + name, bytes(column)));
+        snapshot.getTexts().forEach((name, text) -> {
+            sections.put(TEXT + name + ":data", text.getData());
+            sections.put(TEXT + name + ":offsets", bytes(text.getOffsets()));
+        });
+        snapshot.getFlags().forEach((name, flag) -> sections.put(FLAG + name, bytes(flag.getWords())));
+        snapshot.getIndexes().forEach((name, index) -> {
+            sections.put(INDEX + name + ":starts", bytes(index.getStarts()));
+            sections.put(INDEX + name + ":ordinals", bytes(index.getOrdinals()));
+        });
+        
+        int tableSize = 0;
+        for (String name : sections.keySet()) {
+            tableSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 8 + 8 + 4;
+        }
+        ByteBuffer table = ByteBuffer.allocate(tableSize).order(ByteOrder.LITTLE_ENDIAN);
+        long offset = align(FIXED_HEADER + tableSize);
+        List<Long> offsets = new ArrayList<>();
+        for (Map.Entry<String, ByteBuffer> section : sections.entrySet()) {
+            byte[] name = section.getKey().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer data = section.getValue();
+            table.putShort((short) name.length).put(name);
+            table.putLong(offset).putLong(data.remaining()).putInt(checksum(data));
+            offsets.add(offset);
+            offset = align(offset + data.remaining());
+        }
+        table.flip();
+        
+        ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(snapshot.getVersion())
+                .putInt(sections.size()).putInt(checksum(table));
+        header.flip();
+        
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header, 0);
+            writeFully(channel, table, FIXED_HEADER);
+            int i = 0;
+            for (ByteBuffer data : sections.values()) {
+                writeFully(channel, data, offsets.get(i++));
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Catalog version recorded in a snapshot file, without mapping or verifying it
+     */
+    public static long readVersion(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            checkHeader(header, file);
+            return header.getLong(8);
+        }
+    }
+    
+    /**
+     * Map a snapshot file; throws when the file is truncated, from another format version or corrupt
+     */
+    public static CatalogSnapshot read(Path file) throws IOException {
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapping.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < FIXED_HEADER) {
+            throw new IOException("Catalog snapshot file is truncated: " + file);
+        }
+        checkHeader(buffer, file);
+        long version = buffer.getLong(8);
+        int sectionCount = buffer.getInt(16);
+        int headerChecksum = buffer.getInt(20);
+        
+        buffer.position(FIXED_HEADER);
+        Map<String, ByteBuffer> sections = new HashMap<>();
+        for (int i = 0; i < sectionCount; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            long offset = buffer.getLong();
+            long length = buffer.getLong();
+            int checksum = buffer.getInt();
+            if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+                throw new IOException("Catalog snapshot section out of bounds: " + file);
+            }
+            ByteBuffer data = buffer.slice((int) offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+            if (checksum(data) != checksum) {
+                throw new IOException("Catalog snapshot checksum mismatch in " + new String(name, StandardCharsets.UTF_8));
+            }
+            sections.put(new String(name, StandardCharsets.UTF_8), data);
+        }
+        if (checksum(buffer.slice(FIXED_HEADER, buffer.position() - FIXED_HEADER)) != headerChecksum) {
+            throw new IOException("Catalog snapshot header checksum mismatch: " + file);
+        }
+        
+        Map<String, StringDictionary> dictionaries = new HashMap<>();
+        Map<String, IntBuffer> columns = new HashMap<>();
+        Map<String, TextColumn> texts = new HashMap<>();
+        Map<String, BitColumn> flags = new HashMap<>();
+        Map<String, OrdinalIndex> indexes = new HashMap<>();
+        for (String name : sections.keySet()) {
+            if (name.startsWith(DICTIONARY) && name.endsWith(":data")) {
+                String key = name.substring(DICTIONARY.length(), name.length() - ":data".length());
+                dictionaries.put(key, new StringDictionary(sections.get(name),
+                        ints(section(sections, DICTIONARY + key + ":offsets"))));
+            } else if (name.startsWith(COLUMN)) {
+                columns.put(name.substring(COLUMN.length()), ints(sections.get(name)));
+            } else if (name.startsWith(TEXT) && name.endsWith(":data")) {
+                String key = name.substring(TEXT.length(), name.length() - ":data".length());
+                texts.put(key, new TextColumn(sections.get(name), ints(section(sections, TEXT + key + ":offsets"))));
+            } else if (name.startsWith(FLAG)) {
+                flags.put(name.substring(FLAG.length()), new BitColumn(sections.get(name).asLongBuffer()));
+            } else if (name.startsWith(INDEX) && name.endsWith(":starts")) {
+                String key = name.substring(INDEX.length(), name.length() - ":starts".length());
+                indexes.put(key, new OrdinalIndex(ints(sections.get(name)),
+                        ints(section(sections, INDEX + key + ":ordinals"))));
+            }
+        }
+        LongBuffer ids = section(sections, IDS).asLongBuffer();
+        return new CatalogSnapshot(version, ids, dictionaries, columns, texts, flags, indexes);
+    }
+    
+    private static void checkHeader(ByteBuffer header, Path file) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot file: " + file);
+        }
+        if (header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported catalog snapshot format " + header.getInt(4) + ": " + file);
+        }
+    }
+    
+    private static ByteBuffer section(Map<String, ByteBuffer> sections, String name) throws IOException {
+        ByteBuffer section = sections.get(name);
+        if (section == null) {
+            throw new IOException("Catalog snapshot file is missing section " + name);
+        }
+        return section;
+    }
+    
+    private static IntBuffer ints(ByteBuffer bytes) {
+        return bytes.asIntBuffer();
+    }
+    
+    private static ByteBuffer bytes(IntBuffer values) {
+        ByteBuffer bytes = ByteBuffer.allocate(values.remaining() * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(values.duplicate());
+        return bytes;
+    }
+    
+    private static ByteBuffer bytes(LongBuffer values) {
+        ByteBuffer bytes = ByteBuffer.allocate(values.remaining() * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asLongBuffer().put(values.duplicate());
+        return bytes;
+    }
+    
+    private static int checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        return (int) crc.getValue();
+    }
+    
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        ByteBuffer source = data.duplicate();
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new IOException("Catalog snapshot file is truncated");
+            }
+        }
+    }
+}
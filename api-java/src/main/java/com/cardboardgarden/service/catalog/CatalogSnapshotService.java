@@ -0,0 +1,220 @@
+package com.cardboardgarden.service.catalog;
+
+import com.cardboardgarden.service.CatalogSyncMonitor;
+import com.cardboardgarden.service.CatalogSyncedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the current {@link CatalogSnapshot}.
+ *
+ * A new snapshot is built in the background at startup and after every catalog sync, then
+ * published with a single reference swap. Readers call {@link #current()} once per operation and
+ * keep using that instance, so they never lock and never see a half-applied sync; an old snapshot
+ * becomes garbage as soon as the last request holding it finishes.
+ *
+ * Every build is also written to a {@link CatalogSnapshotFile} in app.catalog.snapshot.dir; on
+ * startup that file is mapped instead of scanning the cards table, unless it is missing,
+ * unreadable or older than the current sync marker.
+ */
+@Component
+public class CatalogSnapshotService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CatalogSyncMonitor catalogSyncMonitor;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.catalog.snapshot.persist:true}")
+    private boolean persist;
+    
+    @Value("${app.catalog.snapshot.dir:}")
+    private String snapshotDir;
+    
+    @Value("${server.port:8080}")
+    private int serverPort;
+    
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    
+    @PostConstruct
+    public void init() {
+        if (persist && snapshotDir.isBlank()) {
+            // Temporary directories are often cleared on restart and shared by instances on one host
+            snapshotDir = Path.of(System.getProperty("java.io.tmpdir"), "cardboard-garden-" + serverPort).toString();
+            logger.warn("app.catalog.snapshot.dir (CATALOG_SNAPSHOT_DIR) is not set; catalog snapshots go to {}, "
+                    + "which may not survive a restart. Point it at a persistent volume", snapshotDir);
+        }
+    }
+    
+    /**
+     * The published snapshot; only the very first caller before startup finishes waits for a build
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current.get();
+                if (snapshot == null) {
+                    snapshot = loadFile();
+                    if (snapshot != null) {
+                        current.set(snapshot);
+                    } else {
+                        snapshot = rebuild();
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+    
+    /**
+     * The published snapshot without triggering a build, or null before the first one is ready
+     */
+    public CatalogSnapshot peek() {
+        return current.get();
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            current();
+        } catch (Exception e) {
+            logger.error("Failed to build catalog snapshot at startup", e);
+        }
+    }
+    
+    @Async
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null || snapshot.getVersion() < event.getCatalogVersion()) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Failed to rebuild catalog snapshot; keeping version {}",
+                        snapshot != null ? snapshot.getVersion() : null, e);
+            }
+        }
+    }
+    
+    /**
+     * Build a snapshot for the current catalog version and publish it
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        long start = System.currentTimeMillis();
+        long version = catalogSyncMonitor.getLastSyncMillis();
+        if (version == 0) {
+            version = catalogSyncMonitor.readLastSyncMillis();
+        }
+        CatalogSnapshotBuilder builder = new CatalogSnapshotBuilder();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transaction.executeWithoutResult(status -> read(builder));
+        
+        CatalogSnapshot built = builder.build(version);
+        current.set(built);
+        logger.info("Catalog snapshot {} built with {} cards, {} faces, {} names and {} sets in {} ms ({} filter kernel)",
+                version, built.size(), built.getFaceCount(), built.getLookupNameCount(), built.getSetCount(),
+                System.currentTimeMillis() - start, FilterKernels.best().getName());
+        
+        if (persist) {
+            try {
+                CatalogSnapshotFile.write(built, getFile());
+            } catch (IOException e) {
+                logger.warn("Failed to write catalog snapshot file {}", getFile(), e);
+            }
+        }
+        return built;
+    }
+    
+    /**
+     * Cards, faces and gameplay columns, read in one read-only REPEATABLE READ transaction so a sync
+     * running meanwhile cannot leave them from different states of the table
+     */
+    private void read(CatalogSnapshotBuilder builder) {
+        jdbcTemplate.query(
+            "SELECT id, name, set_code, set_name, collector_number, rarity, oracle_id, layout, released_at, " +
+            "artist, type_line, mana_cost, oracle_text, JSON_TYPE(card_faces) = 'ARRAY' FROM cards",
+            (RowCallbackHandler) rs -> {
+                Date releasedAt = rs.getDate(9);
+                builder.add(new CatalogSnapshotBuilder.Row(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8),
+                        releasedAt != null ? releasedAt.toLocalDate() : null,
+                        rs.getString(10), rs.getString(11), rs.getString(12), rs.getString(13), rs.getBoolean(14)));
+            });
+        
+        // Faces are parsed here once per catalog version, never per request
+        jdbcTemplate.query("SELECT id, card_faces FROM cards WHERE JSON_TYPE(card_faces) = 'ARRAY'",
+            (RowCallbackHandler) rs -> builder.addFaces(rs.getLong(1), rs.getString(2)));
+        
+        // Written by the sync script but not part of every schema, so a failure only leaves these columns empty
+        try {
+            jdbcTemplate.query("SELECT id, cmc, color_identity, legalities FROM cards",
+                (RowCallbackHandler) rs -> {
+                    double manaValue = rs.getDouble(2);
+                    builder.addGameplay(rs.getLong(1), rs.wasNull() ? null : manaValue, rs.getString(3), rs.getString(4));
+                });
+        } catch (DataAccessException e) {
+            logger.warn("Mana value, color identity and legalities not loaded: {}", e.getMessage());
+        }
+    }
+    
+    public Path getFile() {
+        return Path.of(snapshotDir, "catalog-snapshot.bin");
+    }
+    
+    /**
+     * Map the snapshot file if it matches the current catalog version, otherwise return null
+     */
+    private CatalogSnapshot loadFile() {
+        Path file = getFile();
+        if (!persist || !Files.exists(file)) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long fileVersion = CatalogSnapshotFile.readVersion(file);
+            long catalogVersion = catalogSyncMonitor.readLastSyncMillis();
+            if (fileVersion != catalogVersion) {
+                logger.info("Catalog snapshot file {} is stale (version {}, catalog {}); rebuilding",
+                        file, fileVersion, catalogVersion);
+                return null;
+            }
+            CatalogSnapshot loaded = CatalogSnapshotFile.read(file);
+            logger.info("Catalog snapshot {} mapped from {} with {} cards in {} ms",
+                    loaded.getVersion(), file, loaded.size(), System.currentTimeMillis() - start);
+            return loaded;
+            
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable catalog snapshot file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+}
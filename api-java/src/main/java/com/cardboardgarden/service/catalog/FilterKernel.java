@@ -0,0 +1,14 @@
+package com.cardboardgarden.service.catalog;
+
+/**
+ * Evaluates a {@link ScanPredicate} over every card of a snapshot.
+ */
+public interface FilterKernel {
+    
+    /**
+     * Set bit i of the result (word i/64) for every ordinal i below size that matches
+     */
+    long[] scan(CatalogSnapshot.ScanColumns columns, int size, ScanPredicate predicate);
+    
+    String getName();
+}
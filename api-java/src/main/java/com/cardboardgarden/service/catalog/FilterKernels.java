@@ -0,0 +1,32 @@
+package com.cardboardgarden.service.catalog;
+
+/**
+ * Picks the fastest available {@link FilterKernel}: the Vector API kernel when the JVM was started
+ * with {@code --add-modules jdk.incubator.vector}, the scalar loop otherwise.
+ */
+public final class FilterKernels {
+    
+    private static final FilterKernel BEST = select();
+    
+    private FilterKernels() {
+    }
+    
+    public static FilterKernel best() {
+        return BEST;
+    }
+    
+    public static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+    
+    private static FilterKernel select() {
+        if (isVectorAvailable() && !Boolean.getBoolean("cardboardgarden.scalar-kernel")) {
+            try {
+                return new VectorFilterKernel();
+            } catch (LinkageError e) {
+                // Module present but not readable from this class loader
+            }
+        }
+        return new ScalarFilterKernel();
+    }
+}
@@ -0,0 +1,248 @@
+package com.cardboardgarden.service.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant card name lookup ("did you mean") over one {@link CatalogSnapshot}.
+ *
+ * Names are folded (diacritics removed, lower case, punctuation dropped) and kept sorted, one entry
+ * per Oracle card (its newest printing) plus one for every face of split and double-faced
+ * cards. A query walks the sorted names computing Damerau-Levenshtein rows character by character,
+ * reusing the rows of the shared prefix with the previous name and skipping every name below a
+ * prefix once no row entry is within the distance limit, which is the trie walk of a Levenshtein
+ * automaton without building the trie. A query also matches as a prefix ("thalia gaurdian" finds
+ * "thalia guardian of thraben").
+ */
+public final class FuzzyNameIndex {
+    
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_QUERY_LENGTH = 64;
+    
+    private final String[] keys;
+    private final int[] ordinals;
+    private final int maxKeyLength;
+    
+    private FuzzyNameIndex(String[] keys, int[] ordinals) {
+        this.keys = keys;
+        this.ordinals = ordinals;
+        int longest = 0;
+        for (String key : keys) {
+            longest = Math.max(longest, key.length());
+        }
+        this.maxKeyLength = longest;
+    }
+    
+    /**
+     * A matched card: the snapshot ordinal of its newest printing, the printed name and the edit distance
+     */
+    public record Match(int ordinal, String name, int distance, boolean prefix) {
+    }
+    
+    public static FuzzyNameIndex build(CatalogSnapshot catalog) {
+        // One representative per Oracle card: the newest printing (highest id on ties)
+        Map<String, Integer> newest = new HashMap<>();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            String name = catalog.getName(ordinal);
+            if (name == null) {
+                continue;
+            }
+            String oracleId = catalog.getOracleId(ordinal);
+            String group = oracleId != null ? oracleId : "name:" + name;
+            Integer current = newest.get(group);
+            if (current == null || catalog.getReleasedDay(ordinal) >= catalog.getReleasedDay(current)) {
+                newest.put(group, ordinal);
+            }
+        }
+        
+        List<Object[]> entries = new ArrayList<>(newest.size() * 2);
+        for (int ordinal : newest.values()) {
+            String name = catalog.getName(ordinal);
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(fold(name));
+            int separator = name.indexOf("//");
+            if (separator > 0) {
+                keys.add(fold(name.substring(0, separator)));
+            }
+            for (CardFace face : catalog.getFaces(ordinal)) {
+                if (face.name() != null) {
+                    keys.add(fold(face.name()));
+                }
+            }
+            for (String key : keys) {
+                if (!key.isEmpty()) {
+                    entries.add(new Object[] {key, ordinal});
+                }
+            }
+        }
+        entries.sort(Comparator.comparing((Object[] entry) -> (String) entry[0]).thenComparing(entry -> (Integer) entry[1]));
+        
+        String[] keys = new String[entries.size()];
+        int[] ordinals = new int[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (String) entries.get(i)[0];
+            ordinals[i] = (Integer) entries.get(i)[1];
+        }
+        return new FuzzyNameIndex(keys, ordinals);
+    }
+    
+    /**
+     * Fold a name for matching: "Lim-Dûl's Vault" and "lim dul s vault" both become "lim duls vault"
+     */
+    public static String fold(String name) {
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace("æ", "ae")
+                .replace("œ", "oe")
+                .replace("ß", "ss");
+        StringBuilder result = new StringBuilder(folded.length());
+        boolean space = true;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                result.append(c);
+                space = false;
+            } else if ((c == ' ' || c == '-' || c == '/' || c == ',') && !space) {
+                result.append(' ');
+                space = true;
+            }
+        }
+        int length = result.length();
+        return space && length > 0 ? result.substring(0, length - 1) : result.toString();
+    }
+    
+    /**
+     * Distance limit for a folded query: exact for very short queries, up to 2 edits for longer ones
+     */
+    public static int maxDistance(String folded) {
+        return folded.length() <= 3 ? 0 : folded.length() <= 6 ? 1 : 2;
+    }
+    
+    public int size() {
+        return keys.length;
+    }
+    
+    /**
+     * Candidates ranked by distance, whole-name matches before prefix matches, then shorter names
+     */
+    public List<Match> find(CatalogSnapshot catalog, String query, int limit) {
+        String q = fold(query);
+        if (q.isEmpty() || q.length() > MAX_QUERY_LENGTH || keys.length == 0) {
+            return List.of();
+        }
+        int k = maxDistance(q);
+        int n = q.length();
+        int[][] rows = new int[maxKeyLength + 1][n + 1];
+        for (int j = 0; j <= n; j++) {
+            rows[0][j] = j;
+        }
+        
+        Map<Integer, int[]> best = new HashMap<>();
+        String previous = "";
+        int computed = 0;
+        int i = 0;
+        while (i < keys.length) {
+            String key = keys[i];
+            int depth = Math.min(commonPrefix(previous, key), computed);
+            int prefixDistance = Integer.MAX_VALUE;
+            for (int d = 1; d <= depth; d++) {
+                prefixDistance = Math.min(prefixDistance, rows[d][n]);
+            }
+            
+            boolean pruned = false;
+            int end = key.length();
+            for (int d = depth + 1; d <= key.length(); d++) {
+                int rowMin = fillRow(rows, d, key, q);
+                prefixDistance = Math.min(prefixDistance, rows[d][n]);
+                if (rowMin > k) {
+                    if (prefixDistance > k) {
+                        // No name starting with key[0..d) can come within k edits
+                        computed = d - 1;
+                        previous = key;
+                        i = skipPrefix(key.substring(0, d), i + 1);
+                        pruned = true;
+                    } else {
+                        // Already a prefix match; going deeper cannot improve it
+                        end = d;
+                    }
+                    break;
+                }
+            }
+            if (pruned) {
+                continue;
+            }
+            
+            computed = end;
+            previous = key;
+            int whole = end == key.length() ? rows[end][n] : Integer.MAX_VALUE;
+            if (whole <= k || prefixDistance <= k) {
+                boolean prefix = whole > k || prefixDistance < whole;
+                int distance = prefix ? prefixDistance : whole;
+                int[] current = best.get(ordinals[i]);
+                if (current == null || rank(distance, prefix) < rank(current[0], current[1] == 1)) {
+                    best.put(ordinals[i], new int[] {distance, prefix ? 1 : 0});
+                }
+            }
+            i++;
+        }
+        
+        List<Match> matches = new ArrayList<>(best.size());
+        best.forEach((ordinal, match) ->
+                matches.add(new Match(ordinal, catalog.getName(ordinal), match[0], match[1] == 1)));
+        matches.sort(Comparator.comparingInt((Match match) -> rank(match.distance(), match.prefix()))
+                .thenComparingInt(match -> match.name().length())
+                .thenComparing(Match::name));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+    
+    /**
+     * Optimal-string-alignment row for key[0..d) against the query; returns the row minimum
+     */
+    private static int fillRow(int[][] rows, int d, String key, String q) {
+        int[] row = rows[d];
+        int[] above = rows[d - 1];
+        char c = key.charAt(d - 1);
+        row[0] = d;
+        int min = d;
+        for (int j = 1; j <= q.length(); j++) {
+            int cost = c == q.charAt(j - 1) ? 0 : 1;
+            int value = Math.min(Math.min(above[j] + 1, row[j - 1] + 1), above[j - 1] + cost);
+            if (d > 1 && j > 1 && c == q.charAt(j - 2) && key.charAt(d - 2) == q.charAt(j - 1)) {
+                value = Math.min(value, rows[d - 2][j - 2] + 1);
+            }
+            row[j] = value;
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+    
+    private static int rank(int distance, boolean prefix) {
+        return distance * 2 + (prefix ? 1 : 0);
+    }
+    
+    /**
+     * First index at or after from whose key does not start with prefix
+     */
+    private int skipPrefix(String prefix, int from) {
+        int index = Arrays.binarySearch(keys, from, keys.length, prefix + Character.MAX_VALUE);
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
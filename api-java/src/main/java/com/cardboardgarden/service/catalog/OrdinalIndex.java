@@ -0,0 +1,71 @@
+package com.cardboardgarden.service.catalog;
+
+import java.nio.IntBuffer;
+import java.util.List;
+
+/**
+ * Immutable one-to-many map from a dense key (a dictionary code) to card ordinals,
+ * stored as a start offset per key plus one flat ordinal array (CSR layout).
+ */
+public final class OrdinalIndex {
+    
+    private final IntBuffer starts;
+    private final IntBuffer ordinals;
+    
+    public OrdinalIndex(IntBuffer starts, IntBuffer ordinals) {
+        this.starts = starts;
+        this.ordinals = ordinals;
+    }
+    
+    /**
+     * Build from per-key ordinal lists (already in the order they should be returned)
+     */
+    public static OrdinalIndex of(List<int[]> ordinalsByKey) {
+        int[] starts = new int[ordinalsByKey.size() + 1];
+        for (int key = 0; key < ordinalsByKey.size(); key++) {
+            int[] values = ordinalsByKey.get(key);
+            starts[key + 1] = starts[key] + (values != null ? values.length : 0);
+        }
+        int[] ordinals = new int[starts[starts.length - 1]];
+        for (int key = 0; key < ordinalsByKey.size(); key++) {
+            int[] values = ordinalsByKey.get(key);
+            if (values != null) {
+                System.arraycopy(values, 0, ordinals, starts[key], values.length);
+            }
+        }
+        return new OrdinalIndex(IntBuffer.wrap(starts), IntBuffer.wrap(ordinals));
+    }
+    
+    public int keyCount() {
+        return starts.limit() - 1;
+    }
+    
+    public int size(int key) {
+        return key < 0 ? 0 : starts.get(key + 1) - starts.get(key);
+    }
+    
+    /**
+     * The i-th ordinal stored under a key
+     */
+    public int get(int key, int i) {
+        return ordinals.get(starts.get(key) + i);
+    }
+    
+    public int[] toArray(int key) {
+        if (key < 0) {
+            return new int[0];
+        }
+        int start = starts.get(key);
+        int[] values = new int[starts.get(key + 1) - start];
+        ordinals.get(start, values);
+        return values;
+    }
+    
+    public IntBuffer getStarts() {
+        return starts.duplicate();
+    }
+    
+    public IntBuffer getOrdinals() {
+        return ordinals.duplicate();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cardboardgarden.service.catalog;
+
+/**
+ * Row-at-a-time {@link FilterKernel}; used when the Vector API module is not available and for the
+ * tail of vectorized scans.
+ */
+public class ScalarFilterKernel implements FilterKernel {
+    
+    @Override
+    public long[] scan(CatalogSnapshot.ScanColumns columns, int size, ScanPredicate predicate) {
+        long[] matches = new long[(size + 63) >>> 6];
+        scanRange(columns, 0, size, predicate, matches);
+        return matches;
+    }
+    
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+    
+    /**
+     * Evaluate ordinals from (inclusive) to to (exclusive), OR-ing matches into the bitset
+     */
+    static void scanRange(CatalogSnapshot.ScanColumns columns, int from, int to, ScanPredicate predicate,
+                          long[] matches) {
+        int[] manaValue = columns.manaValue();
+        int[] colorIdentity = columns.colorIdentity();
+        int[] legalities = columns.legalities();
+        int[] rarity = columns.rarity();
+        int min = predicate.minManaValue();
+        int max = predicate.maxManaValue();
+        int excluded = predicate.excludedColors();
+        int required = predicate.requiredColors();
+        int legal = predicate.requiredLegal();
+        int[] rarities = predicate.rarityCodes();
+        
+        for (int i = from; i < to; i++) {
+            int colors = colorIdentity[i];
+            boolean match = manaValue[i] >= min & manaValue[i] <= max
+                    & (colors & excluded) == 0
+                    & (colors & required) == required
+                    & (legalities[i] & legal) == legal;
+            if (match && rarities != null) {
+                match = false;
+                for (int code : rarities) {
+                    match |= rarity[i] == code;
+                }
+            }
+            if (match) {
+                matches[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+}
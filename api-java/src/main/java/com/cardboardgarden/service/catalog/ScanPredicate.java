@@ -0,0 +1,31 @@
+package com.cardboardgarden.service.catalog;
+
+/**
+ * Numeric part of a catalog filter, evaluated by a {@link FilterKernel} over
+ * {@link CatalogSnapshot.ScanColumns}. Every condition is optional; an all-default predicate matches
+ * every card.
+ *
+ * @param minManaValue   lowest mana value, or Integer.MIN_VALUE
+ * @param maxManaValue   highest mana value, or Integer.MAX_VALUE
+ * @param excludedColors identity bits a card must not have (identity "within" a color set)
+ * @param requiredColors identity bits a card must all have
+ * @param requiredLegal  format bits a card must be legal in
+ * @param rarityCodes    accepted rarity dictionary codes, or null for any rarity
+ */
+public record ScanPredicate(int minManaValue, int maxManaValue, int excludedColors, int requiredColors,
+                            int requiredLegal, int[] rarityCodes) {
+    
+    public static final ScanPredicate ANY = new ScanPredicate(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 0, 0, null);
+    
+    public boolean hasManaValue() {
+        return minManaValue != Integer.MIN_VALUE || maxManaValue != Integer.MAX_VALUE;
+    }
+    
+    public boolean hasColors() {
+        return excludedColors != 0 || requiredColors != 0;
+    }
+    
+    public boolean isAny() {
+        return !hasManaValue() && !hasColors() && requiredLegal == 0 && rarityCodes == null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cardboardgarden.service.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable set of distinct strings, each identified by a dense int code.
+ *
+ * Values are stored as one UTF-8 blob plus an offset per entry, sorted by unsigned byte order,
+ * so a lookup is a binary search over bytes and the whole structure can live in any ByteBuffer
+ * (heap or memory-mapped) without per-entry objects.
+ */
+public final class StringDictionary {
+    
+    private final ByteBuffer data;
+    private final IntBuffer offsets;
+    
+    public StringDictionary(ByteBuffer data, IntBuffer offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+    
+    /**
+     * Dictionary of the distinct non-null values
+     */
+    public static StringDictionary of(Collection<String> values) {
+        Set<String> distinct = new LinkedHashSet<>(values);
+        distinct.remove(null);
+        byte[][] encoded = new byte[distinct.size()][];
+        int i = 0;
+        int total = 0;
+        for (String value : distinct) {
+            encoded[i] = value.getBytes(StandardCharsets.UTF_8);
+            total += encoded[i++].length;
+        }
+        Arrays.sort(encoded, Arrays::compareUnsigned);
+        
+        ByteBuffer data = ByteBuffer.allocate(total);
+        int[] offsets = new int[encoded.length + 1];
+        for (i = 0; i < encoded.length; i++) {
+            data.put(encoded[i]);
+            offsets[i + 1] = data.position();
+        }
+        data.flip();
+        return new StringDictionary(data, IntBuffer.wrap(offsets));
+    }
+    
+    public int size() {
+        return offsets.limit() - 1;
+    }
+    
+    public String get(int code) {
+        int start = offsets.get(code);
+        int length = offsets.get(code + 1) - start;
+        byte[] bytes = new byte[length];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Code of a value, or -1 when absent
+     */
+    public int find(String value) {
+        if (value == null) {
+            return -1;
+        }
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+    
+    public IntBuffer getOffsets() {
+        return offsets.duplicate();
+    }
+    
+    private int compare(int code, byte[] key) {
+        int start = offsets.get(code);
+        int length = offsets.get(code + 1) - start;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(data.get(start + i) & 0xff, key[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+}
@@ -0,0 +1,93 @@
+package com.cardboardgarden.service.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable per-card text (one value per ordinal) stored as a single UTF-8 blob plus offsets,
+ * for high-cardinality columns such as oracle text where a dictionary would not save anything.
+ * Null values are stored as empty strings.
+ */
+public final class TextColumn {
+    
+    private final ByteBuffer data;
+    private final IntBuffer offsets;
+    
+    public TextColumn(ByteBuffer data, IntBuffer offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+    
+    public static TextColumn of(List<String> values) {
+        byte[][] encoded = new byte[values.size()][];
+        int total = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            String value = values.get(i);
+            encoded[i] = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            total += encoded[i].length;
+        }
+        
+        ByteBuffer data = ByteBuffer.allocate(total);
+        int[] offsets = new int[encoded.length + 1];
+        for (int i = 0; i < encoded.length; i++) {
+            data.put(encoded[i]);
+            offsets[i + 1] = data.position();
+        }
+        data.flip();
+        return new TextColumn(data, IntBuffer.wrap(offsets));
+    }
+    
+    public int size() {
+        return offsets.limit() - 1;
+    }
+    
+    public String get(int ordinal) {
+        int start = offsets.get(ordinal);
+        byte[] bytes = new byte[offsets.get(ordinal + 1) - start];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Lower-cased UTF-8 needle for {@link #containsIgnoreCase}
+     */
+    public static byte[] needle(String text) {
+        return text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Substring test on the raw bytes, folding ASCII letters only (no String is created)
+     */
+    public boolean containsIgnoreCase(int ordinal, byte[] needle) {
+        int start = offsets.get(ordinal);
+        int last = offsets.get(ordinal + 1) - needle.length;
+        if (needle.length == 0) {
+            return true;
+        }
+        for (int position = start; position <= last; position++) {
+            int i = 0;
+            while (i < needle.length && lower(data.get(position + i)) == needle[i]) {
+                i++;
+            }
+            if (i == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+    
+    public IntBuffer getOffsets() {
+        return offsets.duplicate();
+    }
+    
+    private static byte lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+}
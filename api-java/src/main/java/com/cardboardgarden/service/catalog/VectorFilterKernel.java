@@ -0,0 +1,69 @@
+package com.cardboardgarden.service.catalog;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link FilterKernel} on the JDK Vector API: each step compares a full register of ordinals
+ * and stores the lane mask straight into the result bitset. Only loaded when the
+ * jdk.incubator.vector module is present (see {@link FilterKernels}).
+ */
+public class VectorFilterKernel implements FilterKernel {
+    
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    
+    @Override
+    public long[] scan(CatalogSnapshot.ScanColumns columns, int size, ScanPredicate predicate) {
+        long[] matches = new long[(size + 63) >>> 6];
+        int[] manaValue = columns.manaValue();
+        int[] colorIdentity = columns.colorIdentity();
+        int[] legalities = columns.legalities();
+        int[] rarity = columns.rarity();
+        boolean checkManaValue = predicate.hasManaValue();
+        boolean checkColors = predicate.hasColors();
+        boolean checkLegal = predicate.requiredLegal() != 0;
+        int[] rarities = predicate.rarityCodes();
+        int required = predicate.requiredColors();
+        int legal = predicate.requiredLegal();
+        
+        // Lane counts (4, 8, 16) divide 64, so a step never straddles two result words
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(size);
+        for (int i = 0; i < bound; i += lanes) {
+            VectorMask<Integer> mask = SPECIES.maskAll(true);
+            if (checkManaValue) {
+                IntVector values = IntVector.fromArray(SPECIES, manaValue, i);
+                mask = mask.and(values.compare(VectorOperators.GE, predicate.minManaValue()))
+                        .and(values.compare(VectorOperators.LE, predicate.maxManaValue()));
+            }
+            if (checkColors) {
+                IntVector colors = IntVector.fromArray(SPECIES, colorIdentity, i);
+                mask = mask.and(colors.and(predicate.excludedColors()).compare(VectorOperators.EQ, 0))
+                        .and(colors.and(required).compare(VectorOperators.EQ, required));
+            }
+            if (checkLegal) {
+                IntVector formats = IntVector.fromArray(SPECIES, legalities, i);
+                mask = mask.and(formats.and(legal).compare(VectorOperators.EQ, legal));
+            }
+            if (rarities != null) {
+                IntVector codes = IntVector.fromArray(SPECIES, rarity, i);
+                VectorMask<Integer> any = SPECIES.maskAll(false);
+                for (int code : rarities) {
+                    any = any.or(codes.compare(VectorOperators.EQ, code));
+                }
+                mask = mask.and(any);
+            }
+            matches[i >>> 6] |= mask.toLong() << (i & 63);
+        }
+        
+        ScalarFilterKernel.scanRange(columns, bound, size, predicate, matches);
+        return matches;
+    }
+    
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
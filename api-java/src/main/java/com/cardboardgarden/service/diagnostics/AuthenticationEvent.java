@@ -0,0 +1,32 @@
+package com.cardboardgarden.service.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Bearer token authentication of one request, split into its phases
+ */
+@Name("cardboardgarden.Authentication")
+@Label("Authentication")
+@Category({"Cardboard Garden", "Security"})
+@StackTrace(false)
+public class AuthenticationEvent extends Event {
+    
+    @Label("Parse and Verify Time")
+    @Description("Decoding the token, checking its signature and expiry (one step in the JWT library)")
+    @Timespan
+    public long verifyTime;
+    
+    @Label("User Lookup Time")
+    @Timespan
+    public long userLookupTime;
+    
+    @Label("Outcome")
+    @Description("authenticated, invalid or error")
+    public String outcome;
+}
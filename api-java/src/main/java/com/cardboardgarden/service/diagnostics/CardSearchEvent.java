@@ -0,0 +1,28 @@
+package com.cardboardgarden.service.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A card search answered from the catalog snapshot: filter scans, suggestions and fuzzy searches
+ */
+@Name("cardboardgarden.CardSearch")
+@Label("Card Search")
+@Category({"Cardboard Garden", "Search"})
+@StackTrace(false)
+public class CardSearchEvent extends Event {
+    
+    @Label("Kind")
+    @Description("filter, suggest or fuzzy")
+    public String kind;
+    
+    @Label("Query")
+    public String query;
+    
+    @Label("Result Count")
+    public long resultCount;
+}
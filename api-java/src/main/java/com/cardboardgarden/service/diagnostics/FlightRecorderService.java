@@ -0,0 +1,109 @@
+package com.cardboardgarden.service.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Always-on Java Flight Recorder recording, so a latency spike can be profiled after the fact.
+ *
+ * The recording uses the JDK's low-overhead "default" settings plus the application's own events
+ * ({@link CardSearchEvent}, {@link AuthenticationEvent}, {@link RepositoryCallEvent},
+ * {@link ImportBatchEvent}) and keeps its disk repository bounded by age and size; older chunks
+ * are discarded as new ones are written.
+ */
+@Service
+public class FlightRecorderService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+    
+    @Value("${app.jfr.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.jfr.settings:default}")
+    private String settings;
+    
+    @Value("${app.jfr.max-age-minutes:60}")
+    private long maxAgeMinutes;
+    
+    @Value("${app.jfr.max-size-mb:250}")
+    private long maxSizeMb;
+    
+    @Value("${app.jfr.dump-dir:${java.io.tmpdir}/cardboard-garden}")
+    private String dumpDir;
+    
+    private Recording recording;
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("Java Flight Recorder is not available in this JVM; continuous recording disabled");
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName("cardboard-garden");
+            recording.setToDisk(true);
+            recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+            recording.setMaxSize(maxSizeMb * 1024 * 1024);
+            recording.start();
+            logger.info("Continuous flight recording started ({} settings, last {} minutes, at most {} MB)",
+                    settings, maxAgeMinutes, maxSizeMb);
+        } catch (Exception e) {
+            logger.warn("Failed to start continuous flight recording: {}", e.getMessage());
+            recording = null;
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    public boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+    
+    public long getMaxAgeMinutes() {
+        return maxAgeMinutes;
+    }
+    
+    /**
+     * Write the most recent part of the recording to a new file, which the caller deletes.
+     *
+     * Retention works on whole chunks, so the file can start somewhat before the requested window.
+     */
+    public Path dump(Duration window) throws IOException {
+        if (!isRecording()) {
+            throw new IllegalStateException("Continuous flight recording is not running");
+        }
+        Path dir = Path.of(dumpDir);
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, "flight-", ".jfr");
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.setMaxAge(window);
+            snapshot.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
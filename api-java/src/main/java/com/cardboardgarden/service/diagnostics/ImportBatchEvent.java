@@ -0,0 +1,29 @@
+package com.cardboardgarden.service.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One batched upsert of a collection import
+ */
+@Name("cardboardgarden.ImportBatch")
+@Label("Collection Import Batch")
+@Category({"Cardboard Garden", "Collection"})
+@StackTrace(false)
+public class ImportBatchEvent extends Event {
+    
+    @Label("User Id")
+    public long userId;
+    
+    @Label("Format")
+    public String format;
+    
+    @Label("Batch")
+    public int batch;
+    
+    @Label("Rows")
+    public int rows;
+}
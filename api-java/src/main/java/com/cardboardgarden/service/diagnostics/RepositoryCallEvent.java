@@ -0,0 +1,26 @@
+package com.cardboardgarden.service.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A call to a Spring Data repository method, including the SQL it ran and entity mapping
+ */
+@Name("cardboardgarden.RepositoryCall")
+@Label("Repository Call")
+@Category({"Cardboard Garden", "Database"})
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+    
+    @Label("Repository")
+    public String repository;
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("Failed")
+    public boolean failed;
+}
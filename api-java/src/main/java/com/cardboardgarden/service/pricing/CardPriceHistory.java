@@ -0,0 +1,127 @@
+package com.cardboardgarden.service.pricing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cached price history of one card, one series per price type (usd, usd_foil, eur, tix...).
+ * Each series takes its points from a single price_source, fixed when the series is created, so
+ * it never switches between sources from one day to the next.
+ *
+ * Recent points live in an appendable heap encoder; older points are kept as a block in the
+ * {@link PriceSpillStore}. Values are stored in cents so that the XOR encoding sees integral doubles.
+ */
+public class CardPriceHistory {
+    
+    private final Long cardId;
+    private final Map<String, Series> series = new HashMap<>();
+    private volatile long checkedAt = System.currentTimeMillis();
+    
+    public CardPriceHistory(Long cardId) {
+        this.cardId = cardId;
+    }
+    
+    /**
+     * Attach a spilled block of older points, taken from the given source, for a price type
+     */
+    public synchronized void setCold(String priceType, String source, PriceSpillStore.SpilledBlock cold) {
+        Series s = series.computeIfAbsent(priceType, type -> new Series(source));
+        s.cold = cold;
+    }
+    
+    /**
+     * Append a recent point; points from another source than the series' own, and points at or
+     * before the last known day of the series, are ignored
+     */
+    public synchronized void append(String priceType, String source, int day, double cents) {
+        Series s = series.computeIfAbsent(priceType, type -> new Series(source));
+        if (!s.source.equals(source)) {
+            return;
+        }
+        if (s.cold != null && day <= s.cold.lastDay()) {
+            return;
+        }
+        if (s.hot == null) {
+            s.hot = new PriceSeriesEncoder();
+        } else if (day <= s.hot.getLastDay()) {
+            return;
+        }
+        s.hot.append(day, cents);
+    }
+    
+    /**
+     * Decode the requested range of one series, reading the spilled part only when the range reaches it
+     */
+    public synchronized void query(String priceType, int fromDay, int toDay, PriceSpillStore spillStore,
+                                   PriceBlock.PointConsumer consumer) {
+        Series s = series.get(priceType);
+        if (s == null) {
+            return;
+        }
+        if (s.cold != null && fromDay <= s.cold.lastDay()) {
+            spillStore.read(s.cold).decode(fromDay, toDay, consumer);
+        }
+        if (s.hot != null) {
+            s.hot.toBlock().decode(fromDay, toDay, consumer);
+        }
+    }
+    
+    /**
+     * Source of a price type's series, or null when the card has no such series yet
+     */
+    public synchronized String getSource(String priceType) {
+        Series s = series.get(priceType);
+        return s != null ? s.source : null;
+    }
+    
+    /**
+     * Last day with a known price in each series
+     */
+    public synchronized Map<String, Integer> getLastDays() {
+        Map<String, Integer> lastDays = new HashMap<>();
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            if (s.hot != null && s.hot.getCount() > 0) {
+                lastDays.put(entry.getKey(), s.hot.getLastDay());
+            } else if (s.cold != null) {
+                lastDays.put(entry.getKey(), s.cold.lastDay());
+            }
+        }
+        return lastDays;
+    }
+    
+    /**
+     * Approximate heap used by the encoded recent points
+     */
+    public synchronized long getHeapBytes() {
+        long bytes = 0;
+        for (Series s : series.values()) {
+            if (s.hot != null) {
+                bytes += (s.hot.getBitLength() + 7) / 8;
+            }
+        }
+        return bytes;
+    }
+    
+    public Long getCardId() {
+        return cardId;
+    }
+    
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+    
+    public void setCheckedAt(long checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+    
+    private static final class Series {
+        private final String source;
+        private PriceSpillStore.SpilledBlock cold;
+        private PriceSeriesEncoder hot;
+        
+        private Series(String source) {
+            this.source = source;
+        }
+    }
+}
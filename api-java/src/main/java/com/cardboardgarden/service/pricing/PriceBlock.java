@@ -0,0 +1,143 @@
+package com.cardboardgarden.service.pricing;
+
+/**
+ * Immutable, compressed run of price points produced by {@link PriceSeriesEncoder}.
+ */
+public final class PriceBlock {
+    
+    /**
+     * Receives decoded points in day order
+     */
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(int day, double value);
+    }
+    
+    private final long[] words;
+    private final int bitLength;
+    private final int count;
+    private final int firstDay;
+    private final int lastDay;
+    
+    public PriceBlock(long[] words, int bitLength, int count, int firstDay, int lastDay) {
+        this.words = words;
+        this.bitLength = bitLength;
+        this.count = count;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+    }
+    
+    /**
+     * Decode the points with fromDay <= day <= toDay
+     */
+    public void decode(int fromDay, int toDay, PointConsumer consumer) {
+        if (count == 0 || toDay < firstDay || fromDay > lastDay) {
+            return;
+        }
+        
+        Reader reader = new Reader(words);
+        int day = (int) reader.read(32);
+        long valueBits = reader.read(64);
+        int delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        
+        for (int i = 0; ; i++) {
+            if (day > toDay) {
+                return;
+            }
+            if (day >= fromDay) {
+                consumer.accept(day, Double.longBitsToDouble(valueBits));
+            }
+            if (i + 1 == count) {
+                return;
+            }
+            
+            delta += readDeltaOfDelta(reader);
+            day += delta;
+            
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.read(5);
+                    int significant = (int) reader.read(6);
+                    if (significant == 0) {
+                        significant = 64;
+                    }
+                    trailing = 64 - leading - significant;
+                }
+                valueBits ^= reader.read(64 - leading - trailing) << trailing;
+            }
+        }
+    }
+    
+    private static int readDeltaOfDelta(Reader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return (int) reader.read(7) - 63;
+        }
+        if (!reader.readBit()) {
+            return (int) reader.read(9) - 255;
+        }
+        if (!reader.readBit()) {
+            return (int) reader.read(12) - 2047;
+        }
+        return (int) reader.read(32);
+    }
+    
+    public long[] getWords() {
+        return words;
+    }
+    
+    public int getBitLength() {
+        return bitLength;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public int getFirstDay() {
+        return firstDay;
+    }
+    
+    public int getLastDay() {
+        return lastDay;
+    }
+    
+    /**
+     * MSB-first bit reader over the packed words
+     */
+    private static final class Reader {
+        
+        private final long[] words;
+        private int position;
+        
+        Reader(long[] words) {
+            this.words = words;
+        }
+        
+        boolean readBit() {
+            long word = words[position >>> 6];
+            boolean bit = ((word >>> (63 - (position & 63))) & 1L) != 0;
+            position++;
+            return bit;
+        }
+        
+        long read(int bits) {
+            int index = position >>> 6;
+            int free = 64 - (position & 63);
+            long result;
+            
+            if (bits <= free) {
+                result = words[index] >>> (free - bits);
+            } else {
+                int overflow = bits - free;
+                result = (words[index] << overflow) | (words[index + 1] >>> (64 - overflow));
+            }
+            position += bits;
+            return bits == 64 ? result : result & ((1L << bits) - 1);
+        }
+    }
+}
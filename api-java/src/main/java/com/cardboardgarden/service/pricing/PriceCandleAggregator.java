@@ -0,0 +1,65 @@
+package com.cardboardgarden.service.pricing;
+
+import com.cardboardgarden.dto.PriceCandle;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds decoded points (in cents) into OHLC candles at the requested resolution
+ */
+public class PriceCandleAggregator implements PriceBlock.PointConsumer {
+    
+    private final PriceResolution resolution;
+    private final List<PriceCandle> candles = new ArrayList<>();
+    
+    private LocalDate bucket;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private int points;
+    
+    public PriceCandleAggregator(PriceResolution resolution) {
+        this.resolution = resolution;
+    }
+    
+    @Override
+    public void accept(int day, double cents) {
+        LocalDate start = resolution.bucketStart(LocalDate.ofEpochDay(day));
+        if (!start.equals(bucket)) {
+            flush();
+            bucket = start;
+            open = cents;
+            high = cents;
+            low = cents;
+            points = 0;
+        }
+        high = Math.max(high, cents);
+        low = Math.min(low, cents);
+        close = cents;
+        points++;
+    }
+    
+    /**
+     * Candles collected so far, including the open bucket
+     */
+    public List<PriceCandle> finish() {
+        flush();
+        bucket = null;
+        return candles;
+    }
+    
+    private void flush() {
+        if (bucket != null && points > 0) {
+            candles.add(new PriceCandle(bucket, toPrice(open), toPrice(high), toPrice(low), toPrice(close), points));
+            points = 0;
+        }
+    }
+    
+    private static BigDecimal toPrice(double cents) {
+        return BigDecimal.valueOf((long) cents, 2);
+    }
+}
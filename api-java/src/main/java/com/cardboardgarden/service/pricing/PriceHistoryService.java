@@ -0,0 +1,263 @@
+package com.cardboardgarden.service.pricing;
+
+import com.cardboardgarden.dto.PriceCandle;
+import com.cardboardgarden.entity.CardPrice;
+import com.cardboardgarden.repository.CardPriceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves card price history from a compressed in-memory cache.
+ *
+ * The first request for a card reads its card_prices rows once; afterwards only rows newer than
+ * the last cached day of the series that lags furthest behind are fetched, at most once per refresh
+ * interval. Points older than the hot window are spilled to a memory-mapped file and stay there
+ * across cache evictions, since history that old never changes.
+ *
+ * When several sources publish the same price type, a card's series uses the first of them in
+ * app.prices.sources (sources not listed come after, alphabetically) and ignores the others.
+ */
+@Service
+public class PriceHistoryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryService.class);
+    
+    /**
+     * Values of card_prices.price_type
+     */
+    public static final Set<String> PRICE_TYPES = Set.of("usd", "usd_foil", "usd_etched", "eur", "eur_foil", "tix");
+    
+    @Autowired
+    private CardPriceRepository cardPriceRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.prices.hot-days:120}")
+    private int hotDays;
+    
+    @Value("${app.prices.cache-size:20000}")
+    private long cacheSize;
+    
+    @Value("${app.prices.refresh-minutes:60}")
+    private long refreshMinutes;
+    
+    @Value("${app.prices.spill-dir:${java.io.tmpdir}/cardboard-garden}")
+    private String spillDir;
+    
+    @Value("${app.prices.spill-max-mb:256}")
+    private long spillMaxMb;
+    
+    @Value("${app.prices.sources:tcgplayer,cardmarket,cardhoarder,scryfall,manual}")
+    private List<String> sourcePreference;
+    
+    private final Map<Long, Map<String, SpilledSeries>> spilled = new ConcurrentHashMap<>();
+    private Cache<Long, CardPriceHistory> cache;
+    private PriceSpillStore spillStore;
+    
+    @PostConstruct
+    public void init() throws IOException {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "prices.history");
+        long maxBytes = Math.min(spillMaxMb * 1024 * 1024, Integer.MAX_VALUE);
+        spillStore = new PriceSpillStore(Path.of(spillDir, "price-history.dat"), maxBytes);
+    }
+    
+    @PreDestroy
+    public void close() {
+        try {
+            spillStore.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close price spill store", e);
+        }
+    }
+    
+    /**
+     * Price candles for a card between two dates (inclusive)
+     */
+    public List<PriceCandle> getCandles(Long cardId, String priceType, LocalDate from, LocalDate to,
+                                        PriceResolution resolution) {
+        CardPriceHistory history = getHistory(cardId);
+        PriceCandleAggregator aggregator = new PriceCandleAggregator(resolution);
+        history.query(priceType, (int) from.toEpochDay(), (int) to.toEpochDay(), spillStore, aggregator);
+        return aggregator.finish();
+    }
+    
+    /**
+     * Cached history for a card, loading or topping it up from the database as needed
+     */
+    public CardPriceHistory getHistory(Long cardId) {
+        CardPriceHistory history = cache.get(cardId, this::load);
+        
+        long now = System.currentTimeMillis();
+        if (now - history.getCheckedAt() > refreshMinutes * 60_000) {
+            history.setCheckedAt(now);
+            Map<String, Integer> lastDays = history.getLastDays();
+            // Series only take points after their own last day, so fetching from the earliest one loses nothing
+            List<CardPrice> rows = lastDays.isEmpty()
+                    ? cardPriceRepository.findByCardIdOrderByPriceDate(cardId)
+                    : cardPriceRepository.findByCardIdAndPriceDateAfter(cardId,
+                            LocalDate.ofEpochDay(Collections.min(lastDays.values())));
+            appendRows(history, rows);
+        }
+        
+        return history;
+    }
+    
+    public long getCachedCardCount() {
+        return cache.estimatedSize();
+    }
+    
+    public double getCacheHitRate() {
+        return cache.stats().hitRate();
+    }
+    
+    public long getSpilledBytes() {
+        return spillStore.getBytesUsed();
+    }
+    
+    private CardPriceHistory load(Long cardId) {
+        CardPriceHistory history = new CardPriceHistory(cardId);
+        Map<String, SpilledSeries> cold = spilled.get(cardId);
+        
+        if (cold != null) {
+            // Old history is already on disk; only fetch what came after it
+            int after = Integer.MAX_VALUE;
+            for (Map.Entry<String, SpilledSeries> entry : cold.entrySet()) {
+                SpilledSeries series = entry.getValue();
+                history.setCold(entry.getKey(), series.source(), series.block());
+                after = Math.min(after, series.block().lastDay());
+            }
+            appendRows(history, cardPriceRepository.findByCardIdAndPriceDateAfter(cardId, LocalDate.ofEpochDay(after)));
+            return history;
+        }
+        
+        List<CardPrice> all = cardPriceRepository.findByCardIdOrderByPriceDate(cardId);
+        Map<String, String> sources = chooseSources(history, all);
+        Map<String, List<CardPrice>> byType = new LinkedHashMap<>();
+        for (CardPrice row : all) {
+            if (row.getPriceValue() != null && row.getPriceSource().equals(sources.get(row.getPriceType()))) {
+                byType.computeIfAbsent(row.getPriceType(), type -> new ArrayList<>()).add(row);
+            }
+        }
+        
+        int cutoff = (int) LocalDate.now().minusDays(hotDays).toEpochDay();
+        Map<String, SpilledSeries> spilledTypes = new HashMap<>();
+        boolean spilledAll = true;
+        
+        for (Map.Entry<String, List<CardPrice>> entry : byType.entrySet()) {
+            String priceType = entry.getKey();
+            String source = sources.get(priceType);
+            List<CardPrice> rows = entry.getValue();
+            int hotStart = 0;
+            
+            PriceSeriesEncoder coldEncoder = new PriceSeriesEncoder();
+            while (hotStart < rows.size() && rows.get(hotStart).getPriceDate().toEpochDay() < cutoff) {
+                appendDistinct(coldEncoder, rows.get(hotStart));
+                hotStart++;
+            }
+            
+            if (coldEncoder.getCount() > 0) {
+                PriceSpillStore.SpilledBlock block = spill(coldEncoder.toBlock());
+                if (block != null) {
+                    history.setCold(priceType, source, block);
+                    spilledTypes.put(priceType, new SpilledSeries(source, block));
+                } else {
+                    // Spill file is full; keep everything on the heap
+                    hotStart = 0;
+                    spilledAll = false;
+                }
+            }
+            
+            for (int i = hotStart; i < rows.size(); i++) {
+                CardPrice row = rows.get(i);
+                history.append(priceType, source, (int) row.getPriceDate().toEpochDay(), toCents(row));
+            }
+        }
+        
+        if (spilledAll && !spilledTypes.isEmpty()) {
+            spilled.put(cardId, spilledTypes);
+        }
+        return history;
+    }
+    
+    private void appendRows(CardPriceHistory history, List<CardPrice> rows) {
+        Map<String, String> sources = chooseSources(history, rows);
+        for (CardPrice row : rows) {
+            if (row.getPriceValue() != null && row.getPriceSource().equals(sources.get(row.getPriceType()))) {
+                history.append(row.getPriceType(), row.getPriceSource(), (int) row.getPriceDate().toEpochDay(), toCents(row));
+            }
+        }
+    }
+    
+    /**
+     * Source of each price type: the one its series already uses, else the most preferred among the rows
+     */
+    private Map<String, String> chooseSources(CardPriceHistory history, List<CardPrice> rows) {
+        Comparator<String> preference = Comparator.<String>comparingInt(source -> {
+            int rank = sourcePreference.indexOf(source);
+            return rank >= 0 ? rank : sourcePreference.size();
+        }).thenComparing(Comparator.naturalOrder());
+        
+        Map<String, String> sources = new HashMap<>();
+        for (CardPrice row : rows) {
+            String current = sources.get(row.getPriceType());
+            if (current == null) {
+                String fixed = history.getSource(row.getPriceType());
+                sources.put(row.getPriceType(), fixed != null ? fixed : row.getPriceSource());
+            } else if (history.getSource(row.getPriceType()) == null
+                    && preference.compare(row.getPriceSource(), current) < 0) {
+                sources.put(row.getPriceType(), row.getPriceSource());
+            }
+        }
+        return sources;
+    }
+    
+    private PriceSpillStore.SpilledBlock spill(PriceBlock block) {
+        try {
+            return spillStore.write(block);
+        } catch (IOException e) {
+            logger.warn("Failed to spill price history block", e);
+            return null;
+        }
+    }
+    
+    private static void appendDistinct(PriceSeriesEncoder encoder, CardPrice row) {
+        int day = (int) row.getPriceDate().toEpochDay();
+        if (encoder.getCount() == 0 || day > encoder.getLastDay()) {
+            encoder.append(day, toCents(row));
+        }
+    }
+    
+    private static double toCents(CardPrice row) {
+        return Math.rint(row.getPriceValue().doubleValue() * 100);
+    }
+    
+    private record SpilledSeries(String source, PriceSpillStore.SpilledBlock block) {
+    }
+}
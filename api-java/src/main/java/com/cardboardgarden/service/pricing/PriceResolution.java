@@ -0,0 +1,45 @@
+package com.cardboardgarden.service.pricing;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes supported by price history range queries
+ */
+public enum PriceResolution {
+    
+    DAILY {
+        @Override
+        public LocalDate bucketStart(LocalDate date) {
+            return date;
+        }
+    },
+    WEEKLY {
+        @Override
+        public LocalDate bucketStart(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    },
+    MONTHLY {
+        @Override
+        public LocalDate bucketStart(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+    };
+    
+    /**
+     * First day of the bucket containing the given date
+     */
+    public abstract LocalDate bucketStart(LocalDate date);
+    
+    /**
+     * Parse a request parameter, accepting any case
+     */
+    public static PriceResolution fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return DAILY;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,133 @@
+package com.cardboardgarden.service.pricing;
+
+import java.util.Arrays;
+
+/**
+ * Appendable Gorilla-style encoder for a daily price series.
+ *
+ * Days are stored as delta-of-delta (a steady daily feed costs one bit per point),
+ * values are XORed against the previous value and only the meaningful bits are kept.
+ * Bits are packed MSB-first into a growing long[].
+ */
+public class PriceSeriesEncoder {
+    
+    private long[] words = new long[8];
+    private int bitLength;
+    private int count;
+    
+    private int firstDay;
+    private int lastDay;
+    private int lastDelta;
+    private long lastValueBits;
+    private int lastLeading = -1;
+    private int lastTrailing;
+    
+    /**
+     * Append a point; days must be strictly increasing
+     */
+    public void append(int day, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        
+        if (count == 0) {
+            firstDay = day;
+            writeBits(day, 32);
+            writeBits(valueBits, 64);
+        } else {
+            if (day <= lastDay) {
+                throw new IllegalArgumentException("Price days must be strictly increasing: " + day + " <= " + lastDay);
+            }
+            int delta = day - lastDay;
+            writeDeltaOfDelta(delta - lastDelta);
+            writeValue(valueBits);
+            lastDelta = delta;
+        }
+        
+        lastDay = day;
+        lastValueBits = valueBits;
+        count++;
+    }
+    
+    /**
+     * Immutable copy of everything encoded so far
+     */
+    public PriceBlock toBlock() {
+        int wordCount = (bitLength + 63) >>> 6;
+        return new PriceBlock(Arrays.copyOf(words, wordCount), bitLength, count, firstDay, lastDay);
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public int getLastDay() {
+        return lastDay;
+    }
+    
+    public int getBitLength() {
+        return bitLength;
+    }
+    
+    private void writeDeltaOfDelta(int dod) {
+        if (dod == 0) {
+            writeBits(0b0, 1);
+        } else if (dod >= -63 && dod <= 64) {
+            writeBits(0b10, 2);
+            writeBits(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            writeBits(0b110, 3);
+            writeBits(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            writeBits(0b1110, 4);
+            writeBits(dod + 2047, 12);
+        } else {
+            writeBits(0b1111, 4);
+            writeBits(dod, 32);
+        }
+    }
+    
+    private void writeValue(long valueBits) {
+        long xor = valueBits ^ lastValueBits;
+        if (xor == 0) {
+            writeBits(0b0, 1);
+            return;
+        }
+        writeBits(0b1, 1);
+        
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        
+        if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+            // Fits in the previous meaningful window
+            writeBits(0b0, 1);
+            writeBits(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+        } else {
+            int significant = 64 - leading - trailing;
+            writeBits(0b1, 1);
+            writeBits(leading, 5);
+            writeBits(significant == 64 ? 0 : significant, 6);
+            writeBits(xor >>> trailing, significant);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+    }
+    
+    private void writeBits(long value, int bits) {
+        int required = (bitLength + bits + 63) >>> 6;
+        if (required > words.length) {
+            words = Arrays.copyOf(words, Math.max(required, words.length * 2));
+        }
+        
+        long v = bits == 64 ? value : value & ((1L << bits) - 1);
+        int index = bitLength >>> 6;
+        int free = 64 - (bitLength & 63);
+        
+        if (bits <= free) {
+            words[index] |= v << (free - bits);
+        } else {
+            int overflow = bits - free;
+            words[index] |= v >>> overflow;
+            words[index + 1] |= v << (64 - overflow);
+        }
+        bitLength += bits;
+    }
+}
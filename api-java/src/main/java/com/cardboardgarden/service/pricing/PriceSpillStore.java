@@ -0,0 +1,95 @@
+package com.cardboardgarden.service.pricing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only, memory-mapped file holding encoded price blocks that are too old to keep on the heap.
+ *
+ * Blocks are written once and never modified, so readers only need the offset handed back by
+ * {@link #write(PriceBlock)}. The mapping grows by doubling; the file is recreated on every start.
+ */
+public class PriceSpillStore implements Closeable {
+    
+    private static final long INITIAL_SIZE = 16L * 1024 * 1024;
+    
+    private final Path file;
+    private final long maxBytes;
+    private final FileChannel channel;
+    private volatile MappedByteBuffer mapping;
+    private long writePosition;
+    
+    public PriceSpillStore(Path file, long maxBytes) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(file.getParent());
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(INITIAL_SIZE, maxBytes));
+    }
+    
+    /**
+     * Persist a block, returning its location or null when the store is full
+     */
+    public synchronized SpilledBlock write(PriceBlock block) throws IOException {
+        long[] words = block.getWords();
+        long bytes = (long) words.length * Long.BYTES;
+        
+        if (writePosition + bytes > maxBytes) {
+            return null;
+        }
+        if (writePosition + bytes > mapping.capacity()) {
+            long size = mapping.capacity();
+            while (size < writePosition + bytes) {
+                size *= 2;
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, maxBytes));
+        }
+        
+        MappedByteBuffer target = mapping;
+        int position = (int) writePosition;
+        for (int i = 0; i < words.length; i++) {
+            target.putLong(position + i * Long.BYTES, words[i]);
+        }
+        
+        SpilledBlock spilled = new SpilledBlock(writePosition, words.length, block.getBitLength(),
+                block.getCount(), block.getFirstDay(), block.getLastDay());
+        writePosition += bytes;
+        return spilled;
+    }
+    
+    /**
+     * Map a spilled block back into a decodable block
+     */
+    public PriceBlock read(SpilledBlock spilled) {
+        MappedByteBuffer source = mapping;
+        long[] words = new long[spilled.wordCount()];
+        int position = (int) spilled.offset();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = source.getLong(position + i * Long.BYTES);
+        }
+        return new PriceBlock(words, spilled.bitLength(), spilled.count(), spilled.firstDay(), spilled.lastDay());
+    }
+    
+    public synchronized long getBytesUsed() {
+        return writePosition;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+    
+    /**
+     * Location and header of a block in the spill file
+     */
+    public record SpilledBlock(long offset, int wordCount, int bitLength, int count, int firstDay, int lastDay) {
+    }
+}
@@ -0,0 +1,280 @@
+package com.cardboardgarden.service.protobuf;
+
+import com.cardboardgarden.entity.Card;
+import com.cardboardgarden.service.catalog.CardFace;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written Protobuf encoding of cards and card envelopes, following src/main/proto/card.proto.
+ *
+ * Encoding straight from the entity avoids building generated message objects for every card;
+ * field numbers must stay in sync with the schema.
+ */
+public final class CardProtobufCodec {
+    
+    private CardProtobufCodec() {
+    }
+    
+    /**
+     * Encode a card envelope map (success, message, card, cards, paging fields, batch results,
+     * suggestions, faces)
+     */
+    public static void writeEnvelope(Map<String, ?> envelope, OutputStream output) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(output);
+        writeBool(out, 1, envelope.get("success"));
+        writeString(out, 2, envelope.get("message"));
+        if (envelope.get("card") instanceof Card card) {
+            out.writeByteArray(3, encodeCard(card));
+        }
+        if (envelope.get("cards") instanceof List<?> cards) {
+            for (Object card : cards) {
+                out.writeByteArray(4, encodeCard((Card) card));
+            }
+        }
+        writeLong(out, 5, envelope.get("totalElements"));
+        writeLong(out, 6, envelope.get("totalPages"));
+        writeLong(out, 7, envelope.get("currentPage"));
+        writeLong(out, 8, envelope.get("pageSize"));
+        writeString(out, 9, envelope.get("setCode"));
+        writeString(out, 10, envelope.get("rarity"));
+        if (envelope.get("results") instanceof List<?> results) {
+            for (Object result : results) {
+                out.writeByteArray(11, encodeBatchResult((Map<?, ?>) result));
+            }
+        }
+        writeLong(out, 12, envelope.get("requested"));
+        writeLong(out, 13, envelope.get("found"));
+        writeLong(out, 14, envelope.get("notFound"));
+        writeBool(out, 15, envelope.get("fuzzy"));
+        if (envelope.get("suggestions") instanceof List<?> suggestions) {
+            for (Object suggestion : suggestions) {
+                out.writeByteArray(16, encodeSuggestion((Map<?, ?>) suggestion));
+            }
+        }
+        if (envelope.get("faces") instanceof List<?> faces) {
+            for (Object face : faces) {
+                out.writeByteArray(17, encodeFace((CardFace) face));
+            }
+        }
+        out.flush();
+    }
+    
+    public static byte[] encodeCard(Card card) throws IOException {
+        byte[] buffer = new byte[cardSize(card)];
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        if (card.getId() != null) {
+            out.writeInt64(1, card.getId());
+        }
+        writeString(out, 2, card.getName());
+        writeString(out, 3, card.getManaCost());
+        writeString(out, 4, card.getTypeLine());
+        writeString(out, 5, card.getOracleText());
+        writeString(out, 6, card.getFlavorText());
+        writeString(out, 7, card.getPower());
+        writeString(out, 8, card.getToughness());
+        writeString(out, 9, card.getLoyalty());
+        writeString(out, 10, card.getOracleId());
+        writeString(out, 11, card.getSetCode());
+        writeString(out, 12, card.getSetName());
+        writeString(out, 13, card.getCollectorNumber());
+        writeString(out, 14, card.getRarity());
+        writeString(out, 15, card.getArtist());
+        writeString(out, 16, card.getImageUriSmall());
+        writeString(out, 17, card.getImageUriNormal());
+        writeString(out, 18, card.getImageUriLarge());
+        writeString(out, 19, card.getScryfallUri());
+        writeString(out, 20, card.getReleasedAt());
+        writeString(out, 21, card.getLayout());
+        writeString(out, 22, card.getCardFaces());
+        writeString(out, 23, card.getCreatedAt());
+        writeString(out, 24, card.getUpdatedAt());
+        out.checkNoSpaceLeft();
+        return buffer;
+    }
+    
+    /**
+     * Decode the cards of an envelope (single card or list); for clients and benchmarks
+     */
+    public static List<Card> readCards(byte[] envelope) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(envelope);
+        List<Card> cards = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (field == 3 || field == 4) {
+                cards.add(decodeCard(in.readByteArray()));
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return cards;
+    }
+    
+    /**
+     * Decode the faces of an envelope; for clients and benchmarks
+     */
+    public static List<CardFace> readFaces(byte[] envelope) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(envelope);
+        List<CardFace> faces = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == 17) {
+                faces.add(decodeFace(in.readByteArray()));
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return faces;
+    }
+    
+    public static Card decodeCard(byte[] bytes) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(bytes);
+        Card card = new Card();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> card.setId(in.readInt64());
+                case 2 -> card.setName(in.readStringRequireUtf8());
+                case 3 -> card.setManaCost(in.readStringRequireUtf8());
+                case 4 -> card.setTypeLine(in.readStringRequireUtf8());
+                case 5 -> card.setOracleText(in.readStringRequireUtf8());
+                case 6 -> card.setFlavorText(in.readStringRequireUtf8());
+                case 7 -> card.setPower(in.readStringRequireUtf8());
+                case 8 -> card.setToughness(in.readStringRequireUtf8());
+                case 9 -> card.setLoyalty(in.readStringRequireUtf8());
+                case 10 -> card.setOracleId(in.readStringRequireUtf8());
+                case 11 -> card.setSetCode(in.readStringRequireUtf8());
+                case 12 -> card.setSetName(in.readStringRequireUtf8());
+                case 13 -> card.setCollectorNumber(in.readStringRequireUtf8());
+                case 14 -> card.setRarity(in.readStringRequireUtf8());
+                case 15 -> card.setArtist(in.readStringRequireUtf8());
+                case 16 -> card.setImageUriSmall(in.readStringRequireUtf8());
+                case 17 -> card.setImageUriNormal(in.readStringRequireUtf8());
+                case 18 -> card.setImageUriLarge(in.readStringRequireUtf8());
+                case 19 -> card.setScryfallUri(in.readStringRequireUtf8());
+                case 20 -> card.setReleasedAt(LocalDateTime.parse(in.readStringRequireUtf8()));
+                case 21 -> card.setLayout(in.readStringRequireUtf8());
+                case 22 -> card.setCardFaces(in.readStringRequireUtf8());
+                case 23 -> card.setCreatedAt(LocalDateTime.parse(in.readStringRequireUtf8()));
+                case 24 -> card.setUpdatedAt(LocalDateTime.parse(in.readStringRequireUtf8()));
+                default -> in.skipField(tag);
+            }
+        }
+        return card;
+    }
+    
+    private static byte[] encodeFace(CardFace face) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        writeString(out, 1, face.name());
+        writeString(out, 2, face.manaCost());
+        writeString(out, 3, face.typeLine());
+        writeString(out, 4, face.oracleText());
+        writeString(out, 5, face.imageUriSmall());
+        writeString(out, 6, face.imageUriNormal());
+        writeString(out, 7, face.imageUriLarge());
+        out.flush();
+        return bytes.toByteArray();
+    }
+    
+    private static CardFace decodeFace(byte[] bytes) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(bytes);
+        String[] fields = new String[7];
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (field >= 1 && field <= fields.length) {
+                fields[field - 1] = in.readStringRequireUtf8();
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return new CardFace(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+    }
+    
+    private static byte[] encodeBatchResult(Map<?, ?> result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        writeLong(out, 1, result.get("id"));
+        writeString(out, 2, result.get("name"));
+        writeString(out, 3, result.get("set"));
+        writeString(out, 4, result.get("collectorNumber"));
+        writeBool(out, 5, result.get("found"));
+        if (result.get("card") instanceof Card card) {
+            out.writeByteArray(6, encodeCard(card));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+    
+    private static byte[] encodeSuggestion(Map<?, ?> suggestion) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        writeString(out, 1, suggestion.get("name"));
+        writeLong(out, 2, suggestion.get("cardId"));
+        writeLong(out, 3, suggestion.get("distance"));
+        writeBool(out, 4, suggestion.get("prefix"));
+        out.flush();
+        return bytes.toByteArray();
+    }
+    
+    private static int cardSize(Card card) {
+        int size = card.getId() != null ? CodedOutputStream.computeInt64Size(1, card.getId()) : 0;
+        size += stringSize(2, card.getName());
+        size += stringSize(3, card.getManaCost());
+        size += stringSize(4, card.getTypeLine());
+        size += stringSize(5, card.getOracleText());
+        size += stringSize(6, card.getFlavorText());
+        size += stringSize(7, card.getPower());
+        size += stringSize(8, card.getToughness());
+        size += stringSize(9, card.getLoyalty());
+        size += stringSize(10, card.getOracleId());
+        size += stringSize(11, card.getSetCode());
+        size += stringSize(12, card.getSetName());
+        size += stringSize(13, card.getCollectorNumber());
+        size += stringSize(14, card.getRarity());
+        size += stringSize(15, card.getArtist());
+        size += stringSize(16, card.getImageUriSmall());
+        size += stringSize(17, card.getImageUriNormal());
+        size += stringSize(18, card.getImageUriLarge());
+        size += stringSize(19, card.getScryfallUri());
+        size += stringSize(20, card.getReleasedAt());
+        size += stringSize(21, card.getLayout());
+        size += stringSize(22, card.getCardFaces());
+        size += stringSize(23, card.getCreatedAt());
+        size += stringSize(24, card.getUpdatedAt());
+        return size;
+    }
+    
+    private static int stringSize(int field, Object value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value.toString()) : 0;
+    }
+    
+    private static void writeString(CodedOutputStream out, int field, Object value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value.toString());
+        }
+    }
+    
+    private static void writeLong(CodedOutputStream out, int field, Object value) throws IOException {
+        if (value instanceof Number number) {
+            out.writeInt64(field, number.longValue());
+        }
+    }
+    
+    private static void writeBool(CodedOutputStream out, int field, Object value) throws IOException {
+        if (Boolean.TRUE.equals(value)) {
+            out.writeBool(field, true);
+        }
+    }
+}
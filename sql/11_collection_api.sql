@@ -0,0 +1,75 @@
+-- =============================================================================
+-- COLLECTION API SUPPORT
+-- Collection table used by the Java API (same layout as tcg_shared.collection)
+-- plus the unique key that bulk imports upsert against
+-- =============================================================================
+
+USE cardboard_garden;
+
+CREATE TABLE IF NOT EXISTS collection (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    game_id INT NOT NULL,
+    external_card_id INT NOT NULL,
+    condition_id INT NOT NULL DEFAULT 2, -- Near Mint
+    quantity INT NOT NULL DEFAULT 1,
+    purchase_price DECIMAL(10,2),
+    purchase_date DATE,
+    notes TEXT,
+    is_foil BOOLEAN NOT NULL DEFAULT FALSE,
+    is_first_edition BOOLEAN DEFAULT FALSE,
+    location VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id),
+    INDEX idx_external_card_id (external_card_id)
+);
+
+-- Existing rows: give every entry a condition and finish so the unique key below applies
+-- (NULLs never collide in a MySQL unique index)
+UPDATE collection SET condition_id = 2 WHERE condition_id IS NULL;
+UPDATE collection SET is_foil = FALSE WHERE is_foil IS NULL;
+
+-- Merge existing duplicates: the lowest id keeps the summed quantity, the other rows go
+START TRANSACTION;
+
+UPDATE collection c
+JOIN (
+    SELECT MIN(id) AS keep_id, LEAST(SUM(quantity), 2147483647) AS total_quantity
+    FROM collection
+    GROUP BY user_id, game_id, external_card_id, condition_id, is_foil
+    HAVING COUNT(*) > 1
+) duplicates ON c.id = duplicates.keep_id
+SET c.quantity = duplicates.total_quantity;
+
+DELETE c FROM collection c
+JOIN collection kept
+  ON kept.user_id = c.user_id
+ AND kept.game_id = c.game_id
+ AND kept.external_card_id = c.external_card_id
+ AND kept.condition_id = c.condition_id
+ AND kept.is_foil = c.is_foil
+ AND kept.id < c.id;
+
+COMMIT;
+
+-- One row per user/game/card/condition/finish; imports add to the quantity.
+-- Only added once, so the script can be re-run
+SET @has_key = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'collection'
+      AND index_name = 'unique_user_game_card_condition_foil'
+);
+SET @sql = IF(@has_key = 0,
+    'ALTER TABLE collection ADD UNIQUE KEY unique_user_game_card_condition_foil (user_id, game_id, external_card_id, condition_id, is_foil)',
+    'SELECT ''unique_user_game_card_condition_foil already exists'' AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Show results
+SELECT user_id, COUNT(*) AS entries, SUM(quantity) AS total_quantity
+FROM collection
+GROUP BY user_id;